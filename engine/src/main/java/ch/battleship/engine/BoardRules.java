@@ -0,0 +1,135 @@
+package ch.battleship.engine;
+
+/**
+ * Regeln für Platzieren und Schiessen, unabhängig davon, wo der Board-Zustand liegt.
+ * Unterklassen legen die Ablage fest ({@link BoardState} in eigenen Arrays, der kompakte
+ * Spielspeicher der Benchmarks in Slots fester Grösse); ein Board wird über eine frei gewählte Nummer {@code board} angesprochen.
+ * <p>
+ * Felder sind {@code y * width + x}. Nicht threadsicher.
+ */
+public abstract class BoardRules {
+
+    // ------------------------------------------------------------------------------------
+    // Ablage (Unterklassen)
+    // ------------------------------------------------------------------------------------
+
+    protected abstract int width(int board);
+
+    protected abstract int height(int board);
+
+    protected abstract int shipCount(int board);
+
+    protected abstract int shipStart(int board, int ship);
+
+    protected abstract int shipSize(int board, int ship);
+
+    protected abstract boolean shipVertical(int board, int ship);
+
+    /**
+     * Index des Schiffs auf dem Feld, -1 bei Wasser.
+     */
+    protected abstract int shipOn(int board, int cell);
+
+    /**
+     * Hängt ein Schiff an und belegt seine Felder; Lage und Überlappung sind bereits geprüft.
+     *
+     * @return Index des Schiffs
+     */
+    protected abstract int addShip(int board, int type, int start, int size, boolean vertical);
+
+    protected abstract boolean isShot(int board, int cell);
+
+    protected abstract void markShot(int board, int cell);
+
+    protected abstract int remaining(int board);
+
+    protected abstract void setRemaining(int board, int count);
+
+    // ------------------------------------------------------------------------------------
+    // Regeln
+    // ------------------------------------------------------------------------------------
+
+    /**
+     * Innerhalb des Boards und ohne Überlappung.
+     */
+    public final boolean canPlace(int board, int size, int x, int y, boolean vertical) {
+        if (size < 1 || x < 0 || y < 0) {
+            return false;
+        }
+        int width = width(board);
+        if (vertical ? x >= width || y + size > height(board) : x + size > width || y >= height(board)) {
+            return false;
+        }
+        int step = vertical ? width : 1;
+        for (int i = 0, cell = y * width + x; i < size; i++, cell += step) {
+            if (shipOn(board, cell) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Platziert ein Schiff und liefert seinen Index.
+     */
+    public final int place(int board, int type, int size, int x, int y, boolean vertical) {
+        if (!canPlace(board, size, x, y, vertical)) {
+            throw new IllegalStateException("Cannot place ship at given position");
+        }
+        int ship = addShip(board, type, y * width(board) + x, size, vertical);
+        setRemaining(board, remaining(board) + size);
+        return ship;
+    }
+
+    /**
+     * Schiesst auf ein Feld. Ein zweiter Schuss auf dasselbe Feld ändert nichts und liefert
+     * {@link ShotOutcome#ALREADY_SHOT}.
+     */
+    public final ShotOutcome fire(int board, int x, int y) {
+        int cell = cell(board, x, y);
+        if (isShot(board, cell)) {
+            return ShotOutcome.ALREADY_SHOT;
+        }
+        markShot(board, cell);
+
+        int ship = shipOn(board, cell);
+        if (ship < 0) {
+            return ShotOutcome.MISS;
+        }
+        setRemaining(board, remaining(board) - 1);
+        return isSunk(board, ship) ? ShotOutcome.SUNK : ShotOutcome.HIT;
+    }
+
+    public final boolean isShot(int board, int x, int y) {
+        return isShot(board, cell(board, x, y));
+    }
+
+    /**
+     * Versenkt, wenn alle Felder des Schiffs beschossen sind (O(Schiffslänge)).
+     */
+    public final boolean isSunk(int board, int ship) {
+        int step = shipVertical(board, ship) ? width(board) : 1;
+        int size = shipSize(board, ship);
+        for (int i = 0, cell = shipStart(board, ship); i < size; i++, cell += step) {
+            if (!isShot(board, cell)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * true, sobald alle Schiffsfelder getroffen wurden. Ein Board ohne Schiffe gilt nicht als zerstört.
+     */
+    public final boolean isFleetDestroyed(int board) {
+        return shipCount(board) > 0 && remaining(board) == 0;
+    }
+
+    private int cell(int board, int x, int y) {
+        int width = width(board);
+        if (x < 0 || y < 0 || x >= width || y >= height(board)) {
+            throw new IllegalArgumentException("Coordinate (" + x + "," + y + ") is outside the board");
+        }
+        return y * width + x;
+    }
+}
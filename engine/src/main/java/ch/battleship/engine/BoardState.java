@@ -0,0 +1,238 @@
+package ch.battleship.engine;
+
+import java.util.Arrays;
+
+/**
+ * Zustand eines Boards in primitiven Arrays: Schiffe, Belegung Feld → Schiff und beschossene Felder.
+ * Eingaben sind nur Zahlen, Platzieren und Schiessen sind O(Schiffslänge) und
+ * allozieren nichts (ausser beim Wachsen der Schiffsliste). Die Regeln selbst liegen in {@link BoardRules}.
+ * <p>
+ * Schiffstypen kennt die Engine nicht: {@code type} wird nur mitgeführt, die Länge gibt der Aufrufer an.
+ * Nicht threadsicher.
+ */
+public final class BoardState {
+
+    public static final int MAX_SIDE = 256;
+    public static final int MAX_SHIPS = 1024;
+
+    // ein einziges Board, die Nummer wird ignoriert
+    private static final int BOARD = 0;
+
+    private final int width;
+    private final int height;
+    // Index des Schiffs + 1, 0 = Wasser
+    private final short[] cells;
+    private final long[] shots;
+
+    // pro Schiff, in Platzierungsreihenfolge
+    private int shipCount;
+    private byte[] types = new byte[8];
+    private int[] starts = new int[8];
+    private short[] sizes = new short[8];
+    private final long[] vertical = new long[MAX_SHIPS / Long.SIZE];
+
+    private int remainingShipCells;
+
+    private final Rules rules = new Rules();
+
+    public BoardState(int width, int height) {
+        if (width < 1 || height < 1 || width > MAX_SIDE || height > MAX_SIDE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + MAX_SIDE);
+        }
+        this.width = width;
+        this.height = height;
+        this.cells = new short[width * height];
+        this.shots = new long[(width * height + 63) >>> 6];
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Innerhalb des Boards und ohne Überlappung.
+     */
+    public boolean canPlace(int size, int x, int y, boolean vertical) {
+        return rules.canPlace(BOARD, size, x, y, vertical);
+    }
+
+    /**
+     * Platziert ein Schiff und liefert seinen Index.
+     */
+    public int place(int type, int size, int x, int y, boolean vertical) {
+        return rules.place(BOARD, type, size, x, y, vertical);
+    }
+
+    /**
+     * Schiesst auf ein Feld. Ein zweiter Schuss auf dasselbe Feld ändert nichts und liefert
+     * {@link ShotOutcome#ALREADY_SHOT}; bereits gespeicherte Schüsse lassen sich also gefahrlos erneut einspielen.
+     */
+    public ShotOutcome fire(int x, int y) {
+        return rules.fire(BOARD, x, y);
+    }
+
+    public boolean isShot(int x, int y) {
+        return rules.isShot(BOARD, x, y);
+    }
+
+    /**
+     * Übernimmt gespeicherte Schüsse, ohne sie erneut abzugeben: Bitset mit Bit {@code y * width + x}
+     * (Wort i enthält die Felder 64·i bis 64·i + 63, fehlende Wörter sind leer) und die Zahl der
+     * noch nicht getroffenen Schiffsfelder. O(Felder / 64); nur nach dem Platzieren der Schiffe.
+     */
+    public void restoreShots(long[] shotWords, int remainingShipCells) {
+        if (shotWords.length > shots.length) {
+            throw new IllegalArgumentException("Shot bitset does not fit a " + width + "x" + height + " board");
+        }
+        if (remainingShipCells < 0 || remainingShipCells > this.remainingShipCells) {
+            throw new IllegalArgumentException("Invalid number of remaining ship cells: " + remainingShipCells);
+        }
+        Arrays.fill(shots, 0);
+        System.arraycopy(shotWords, 0, shots, 0, shotWords.length);
+        this.remainingShipCells = remainingShipCells;
+    }
+
+    /**
+     * Index des Schiffs auf dem Feld, -1 bei Wasser oder ausserhalb des Boards.
+     */
+    public int shipAt(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return -1;
+        }
+        return cells[y * width + x] - 1;
+    }
+
+    public int shipCount() {
+        return shipCount;
+    }
+
+    public int shipType(int ship) {
+        return types[checkShip(ship)] & 0xFF;
+    }
+
+    public int shipSize(int ship) {
+        return sizes[checkShip(ship)];
+    }
+
+    public int shipX(int ship) {
+        return starts[checkShip(ship)] % width;
+    }
+
+    public int shipY(int ship) {
+        return starts[checkShip(ship)] / width;
+    }
+
+    public boolean isVertical(int ship) {
+        return (vertical[checkShip(ship) >>> 6] & 1L << ship) != 0;
+    }
+
+    public boolean isSunk(int ship) {
+        return rules.isSunk(BOARD, checkShip(ship));
+    }
+
+    public int remainingShipCells() {
+        return remainingShipCells;
+    }
+
+    /**
+     * true, sobald alle Schiffsfelder getroffen wurden. Ein Board ohne Schiffe gilt nicht als zerstört.
+     */
+    public boolean isFleetDestroyed() {
+        return rules.isFleetDestroyed(BOARD);
+    }
+
+    private int checkShip(int ship) {
+        if (ship < 0 || ship >= shipCount) {
+            throw new IndexOutOfBoundsException("No ship with index " + ship);
+        }
+        return ship;
+    }
+
+    private final class Rules extends BoardRules {
+
+        @Override
+        protected int width(int board) {
+            return width;
+        }
+
+        @Override
+        protected int height(int board) {
+            return height;
+        }
+
+        @Override
+        protected int shipCount(int board) {
+            return shipCount;
+        }
+
+        @Override
+        protected int shipStart(int board, int ship) {
+            return starts[ship];
+        }
+
+        @Override
+        protected int shipSize(int board, int ship) {
+            return sizes[ship];
+        }
+
+        @Override
+        protected boolean shipVertical(int board, int ship) {
+            return (vertical[ship >>> 6] & 1L << ship) != 0;
+        }
+
+        @Override
+        protected int shipOn(int board, int cell) {
+            return cells[cell] - 1;
+        }
+
+        @Override
+        protected int addShip(int board, int type, int start, int size, boolean vertical) {
+            if (shipCount == MAX_SHIPS) {
+                throw new IllegalStateException("Board already has " + MAX_SHIPS + " ships");
+            }
+            int ship = shipCount++;
+            if (ship == types.length) {
+                int capacity = Math.min(ship * 2, MAX_SHIPS);
+                types = Arrays.copyOf(types, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+            }
+            types[ship] = (byte) type;
+            starts[ship] = start;
+            sizes[ship] = (short) size;
+            if (vertical) {
+                BoardState.this.vertical[ship >>> 6] |= 1L << ship;
+            }
+
+            int step = vertical ? width : 1;
+            for (int i = 0, cell = start; i < size; i++, cell += step) {
+                cells[cell] = (short) (ship + 1);
+            }
+            return ship;
+        }
+
+        @Override
+        protected boolean isShot(int board, int cell) {
+            return (shots[cell >>> 6] & 1L << cell) != 0;
+        }
+
+        @Override
+        protected void markShot(int board, int cell) {
+            shots[cell >>> 6] |= 1L << cell;
+        }
+
+        @Override
+        protected int remaining(int board) {
+            return remainingShipCells;
+        }
+
+        @Override
+        protected void setRemaining(int board, int count) {
+            remainingShipCells = count;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package ch.battleship.engine;
+
+/**
+ * Ergebnis von {@link BoardState#fire}.
+ */
+public enum ShotOutcome {
+    MISS,
+    HIT,
+    SUNK,
+    ALREADY_SHOT
+}
@@ -0,0 +1,46 @@
+package ch.battleship.engine;
+
+/**
+ * Zugreihenfolge über die noch lebenden Spieler, als Bitmaske (Bit i = Sitz i lebt).
+ */
+public final class TurnOrder {
+
+    public static final int MAX_PLAYERS = Long.SIZE;
+
+    private TurnOrder() {
+    }
+
+    public static long join(long alive, int seat) {
+        return alive | bit(seat);
+    }
+
+    public static long eliminate(long alive, int seat) {
+        return alive & ~bit(seat);
+    }
+
+    public static boolean isAlive(long alive, int seat) {
+        return (alive & bit(seat)) != 0;
+    }
+
+    public static int playersLeft(long alive) {
+        return Long.bitCount(alive);
+    }
+
+    /**
+     * Nächster lebender Sitz nach {@code seat}, zyklisch; -1, wenn niemand mehr lebt.
+     */
+    public static int next(long alive, int seat) {
+        if (alive == 0) {
+            return -1;
+        }
+        long later = alive & (-2L << seat);
+        return Long.numberOfTrailingZeros(later != 0 ? later : alive);
+    }
+
+    private static long bit(int seat) {
+        if (seat < 0 || seat >= MAX_PLAYERS) {
+            throw new IllegalArgumentException("Seat must be between 0 and " + (MAX_PLAYERS - 1));
+        }
+        return 1L << seat;
+    }
+}
@@ -0,0 +1,80 @@
+package ch.battleship.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BoardStateTest {
+
+    @Test
+    void place_shouldRejectOverlapAndShipsOutsideTheBoard() {
+        BoardState board = new BoardState(10, 10);
+        assertThat(board.place(3, 5, 0, 0, false)).isZero();
+        assertThat(board.place(1, 3, 9, 7, true)).isEqualTo(1);
+
+        assertThat(board.canPlace(2, 4, 0, true)).isFalse();
+        assertThat(board.canPlace(2, 9, 8, true)).isFalse();
+        assertThat(board.canPlace(2, 9, 0, false)).isFalse();
+        assertThat(board.canPlace(2, 5, 0, false)).isTrue();
+        assertThatThrownBy(() -> board.place(0, 2, 9, 6, true)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(board.shipAt(4, 0)).isZero();
+        assertThat(board.shipAt(9, 9)).isEqualTo(1);
+        assertThat(board.shipAt(5, 0)).isEqualTo(-1);
+        assertThat(board.shipAt(-1, 0)).isEqualTo(-1);
+        assertThat(board.shipType(1)).isEqualTo(1);
+        assertThat(board.isVertical(1)).isTrue();
+        assertThat(board.remainingShipCells()).isEqualTo(8);
+    }
+
+    @Test
+    void fire_shouldSinkShipAndDestroyFleet_andIgnoreRepeatedShots() {
+        BoardState board = new BoardState(10, 10);
+        board.place(0, 2, 3, 3, true);
+
+        assertThat(board.fire(0, 0)).isEqualTo(ShotOutcome.MISS);
+        assertThat(board.fire(3, 3)).isEqualTo(ShotOutcome.HIT);
+        assertThat(board.fire(3, 3)).isEqualTo(ShotOutcome.ALREADY_SHOT);
+        assertThat(board.isFleetDestroyed()).isFalse();
+        assertThat(board.fire(3, 4)).isEqualTo(ShotOutcome.SUNK);
+
+        assertThat(board.isSunk(0)).isTrue();
+        assertThat(board.isFleetDestroyed()).isTrue();
+        assertThat(board.isShot(0, 0)).isTrue();
+        assertThat(board.isShot(1, 0)).isFalse();
+        assertThatThrownBy(() -> board.fire(10, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void place_shouldGrowBeyondInitialCapacity_onLargeBoards() {
+        BoardState board = new BoardState(BoardState.MAX_SIDE, BoardState.MAX_SIDE);
+        for (int i = 0; i < 100; i++) {
+            board.place(i % 5, 1 + i % 5, (i % 40) * 6, (i / 40) * 2, false);
+        }
+
+        assertThat(board.shipCount()).isEqualTo(100);
+        assertThat(board.shipX(99)).isEqualTo(19 * 6);
+        assertThat(board.shipY(99)).isEqualTo(4);
+        assertThat(board.shipSize(99)).isEqualTo(5);
+        assertThat(board.fire(19 * 6 + 4, 4)).isEqualTo(ShotOutcome.HIT);
+    }
+
+    @Test
+    void restoreShots_shouldContinueFromStoredBitset_withoutReplayingShots() {
+        BoardState board = new BoardState(10, 10);
+        board.place(0, 2, 3, 3, true);
+        // (0,0) Wasser, (3,3) Treffer
+        board.restoreShots(new long[] {1L | 1L << 33}, 1);
+
+        assertThat(board.isShot(0, 0)).isTrue();
+        assertThat(board.remainingShipCells()).isEqualTo(1);
+        assertThat(board.fire(3, 3)).isEqualTo(ShotOutcome.ALREADY_SHOT);
+        assertThat(board.fire(3, 4)).isEqualTo(ShotOutcome.SUNK);
+        assertThat(board.isFleetDestroyed()).isTrue();
+
+        assertThatThrownBy(() -> new BoardState(10, 10).restoreShots(new long[0], 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BoardState(8, 8).restoreShots(new long[2], 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
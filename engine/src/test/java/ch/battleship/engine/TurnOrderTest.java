@@ -0,0 +1,25 @@
+package ch.battleship.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TurnOrderTest {
+
+    @Test
+    void next_shouldSkipEliminatedSeats_andWrapAround() {
+        long alive = 0;
+        for (int seat : new int[]{0, 1, 2, 63}) {
+            alive = TurnOrder.join(alive, seat);
+        }
+        alive = TurnOrder.eliminate(alive, 1);
+
+        assertThat(TurnOrder.playersLeft(alive)).isEqualTo(3);
+        assertThat(TurnOrder.next(alive, 0)).isEqualTo(2);
+        assertThat(TurnOrder.next(alive, 2)).isEqualTo(63);
+        assertThat(TurnOrder.next(alive, 63)).isZero();
+        assertThat(TurnOrder.isAlive(alive, 1)).isFalse();
+        assertThat(TurnOrder.next(0, 5)).isEqualTo(-1);
+        assertThatThrownBy(() -> TurnOrder.join(0, 64)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
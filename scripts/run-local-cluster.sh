@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Startet mehrere Instanzen lokal (Profil "cluster"), je eine pro Port.
+# Verwendung: scripts/run-local-cluster.sh [port ...]   (Standard: 8080 8081 8082)
+# Beenden mit Ctrl+C – alle Instanzen werden gestoppt.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORTS=("$@")
+if [ ${#PORTS[@]} -eq 0 ]; then
+  PORTS=(8080 8081 8082)
+fi
+
+JAR=$(ls target/battleship-backend-*.jar 2>/dev/null | grep -v '\.original$' | head -n 1 || true)
+if [ -z "$JAR" ]; then
+  ./mvnw -q -DskipTests package
+  JAR=$(ls target/battleship-backend-*.jar | grep -v '\.original$' | head -n 1)
+fi
+
+MEMBERS=$(printf 'http://localhost:%s,' "${PORTS[@]}")
+MEMBERS=${MEMBERS%,}
+
+mkdir -p target/cluster-logs
+PIDS=()
+trap 'kill "${PIDS[@]}" 2>/dev/null || true' EXIT
+
+for PORT in "${PORTS[@]}"; do
+  java -jar "$JAR" \
+    --spring.profiles.active=cluster \
+    --server.port="$PORT" \
+    --battleship.cluster.members="$MEMBERS" \
+    > "target/cluster-logs/node-$PORT.log" 2>&1 &
+  PIDS+=($!)
+  echo "Knoten $PORT gestartet (Log: target/cluster-logs/node-$PORT.log)"
+  # nacheinander starten, damit nur ein Knoten das Schema anlegt
+  until curl -sf "http://localhost:$PORT/api/health/ready" > /dev/null; do sleep 1; done
+done
+
+echo "Cluster bereit: $MEMBERS"
+wait
@@ -0,0 +1,86 @@
+#!/usr/bin/env bash
+# Misst Startzeit (bis /api/health/ready antwortet) und Time-to-first-Request
+# (erstes POST /api/games + GET /api/games/{code}) für zwei Varianten:
+#   cold – java -jar, Schema-Update beim Start (bisheriges Verhalten)
+#   fast – entpacktes Jar, Spring AOT, AOT-Cache (JDK 25+) bzw. CDS-Archiv, Schema-Validierung
+#
+# Voraussetzung: ./mvnw -Pfast-startup -DskipTests package
+# Verwendung:    scripts/startup-benchmark.sh [runs]   (Standard: 5)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+WORK=target/startup-bench
+JAR=target/battleship-backend-0.0.1-SNAPSHOT.jar
+DB_URL="jdbc:h2:file:$(pwd)/$WORK/db/battleshipdb"
+
+if [ ! -f "$JAR" ]; then
+  echo "Jar fehlt – zuerst ./mvnw -Pfast-startup -DskipTests package" >&2
+  exit 1
+fi
+
+rm -rf "$WORK"
+mkdir -p "$WORK"
+
+JAVA_MAJOR=$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+
+# 1) Flyway-Migrationen einmalig ausführen, damit beide Varianten auf fertigem Schema starten
+java -Dspring.context.exit=onRefresh -jar "$JAR" \
+  --spring.datasource.url="$DB_URL" --spring.jpa.show-sql=false > "$WORK/prepare.log" 2>&1
+
+# 2) Entpacken und Trainingslauf für das Archiv
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK/extracted" > /dev/null
+FAST_JAR="$WORK/extracted/$(basename "$JAR")"
+if [ "$JAVA_MAJOR" -ge 25 ]; then
+  ARCHIVE_TRAIN=(-XX:AOTCacheOutput="$WORK/extracted/app.aot")
+  ARCHIVE_USE=(-XX:AOTCache="$WORK/extracted/app.aot")
+else
+  ARCHIVE_TRAIN=(-XX:ArchiveClassesAtExit="$WORK/extracted/app.jsa")
+  ARCHIVE_USE=(-XX:SharedArchiveFile="$WORK/extracted/app.jsa")
+fi
+java "${ARCHIVE_TRAIN[@]}" -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+  -Dspring.profiles.active=prod -jar "$FAST_JAR" \
+  --spring.datasource.url="$DB_URL" > "$WORK/training.log" 2>&1
+
+now_ms() { date +%s%3N; }
+
+# misst einen Start; gibt "startup_ms first_request_ms" aus
+measure() {
+  local start ready first pid code
+  start=$(now_ms)
+  # ohne Aufwärmphase: gemessen wird nur der Start selbst
+  "$@" --server.port="$PORT" --spring.datasource.url="$DB_URL" --battleship.warmup.enabled=false > "$WORK/run.log" 2>&1 &
+  pid=$!
+  until curl -sf "http://localhost:$PORT/api/health/ready" > /dev/null; do
+    if ! kill -0 "$pid" 2>/dev/null; then echo "Start fehlgeschlagen, siehe $WORK/run.log" >&2; exit 1; fi
+    sleep 0.01
+  done
+  ready=$(now_ms)
+  code=$(curl -sf -X POST "http://localhost:$PORT/api/games" | sed -E 's/.*"gameCode":"([^"]+)".*/\1/')
+  curl -sf "http://localhost:$PORT/api/games/$code" > /dev/null
+  first=$(now_ms)
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$((ready - start)) $((first - ready))"
+}
+
+median() { sort -n | awk '{a[NR]=$1} END {print a[int((NR+1)/2)]}'; }
+
+run_variant() {
+  local name=$1; shift
+  local results=()
+  for _ in $(seq 1 "$RUNS"); do
+    results+=("$(measure "$@")")
+  done
+  local startup first
+  startup=$(printf '%s\n' "${results[@]}" | awk '{print $1}' | median)
+  first=$(printf '%s\n' "${results[@]}" | awk '{print $2}' | median)
+  printf '%-6s startup_ms=%-6s first_request_ms=%s\n' "$name" "$startup" "$first"
+}
+
+echo "JDK $JAVA_MAJOR, $RUNS Läufe, Median:"
+run_variant cold java -jar "$JAR" --spring.jpa.show-sql=false
+run_variant fast java "${ARCHIVE_USE[@]}" -Dspring.aot.enabled=true -Dspring.profiles.active=prod \
+  -jar "$FAST_JAR"
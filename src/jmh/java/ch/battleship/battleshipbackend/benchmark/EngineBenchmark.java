@@ -0,0 +1,101 @@
+package ch.battleship.battleshipbackend.benchmark;
+
+import ch.battleship.battleshipbackend.domain.Board;
+import ch.battleship.battleshipbackend.domain.Coordinate;
+import ch.battleship.battleshipbackend.domain.Game;
+import ch.battleship.battleshipbackend.domain.GameConfiguration;
+import ch.battleship.battleshipbackend.domain.Player;
+import ch.battleship.battleshipbackend.domain.Ship;
+import ch.battleship.battleshipbackend.domain.enums.GameStatus;
+import ch.battleship.battleshipbackend.domain.enums.Orientation;
+import ch.battleship.battleshipbackend.domain.enums.ShipType;
+import ch.battleship.engine.BoardState;
+import ch.battleship.engine.TurnOrder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static ch.battleship.battleshipbackend.benchmark.LiveGameStoreBenchmark.FLEET;
+
+/**
+ * Ein komplettes Spiel mit {@code players} Spielern auf 10×10 (Standardflotte, jeder schiesst
+ * Feld für Feld auf den nächsten verbliebenen Gegner): einmal direkt auf der Engine
+ * ({@link BoardState}, {@link TurnOrder}), einmal über die Domänen-Entities ohne Datenbank.
+ * Die Differenz ist der Aufwand der Abbildung.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EngineBenchmark {
+
+    @Param({"2", "8"})
+    public int players;
+
+    @Benchmark
+    public int engine() {
+        BoardState[] boards = new BoardState[players];
+        long alive = 0;
+        for (int seat = 0; seat < players; seat++) {
+            boards[seat] = new BoardState(10, 10);
+            for (int i = 0; i < FLEET.length; i++) {
+                boards[seat].place(FLEET[i].ordinal(), FLEET[i].getSize(), 0, i, false);
+            }
+            alive = TurnOrder.join(alive, seat);
+        }
+
+        int[] fired = new int[players];
+        int seat = 0;
+        while (TurnOrder.playersLeft(alive) > 1) {
+            int target = TurnOrder.next(alive, seat);
+            int cell = fired[target]++;
+            boards[target].fire(cell % 10, cell / 10);
+            if (boards[target].isFleetDestroyed()) {
+                alive = TurnOrder.eliminate(alive, target);
+            }
+            seat = TurnOrder.next(alive, seat);
+        }
+        return seat;
+    }
+
+    @Benchmark
+    public Player entities() {
+        Game game = new Game("ZZZZZZZZ", GameConfiguration.of(players, 10, 10));
+        Board[] boards = new Board[players];
+        for (int seat = 0; seat < players; seat++) {
+            Player player = new Player("player" + seat);
+            game.addPlayer(player);
+            boards[seat] = new Board(10, 10, player);
+            for (ShipType type : FLEET) {
+                boards[seat].placeShip(new Ship(type), new Coordinate(0, boards[seat].getPlacements().size()),
+                        Orientation.HORIZONTAL);
+            }
+            game.addBoard(boards[seat]);
+        }
+        game.start();
+
+        int[] fired = new int[players];
+        while (game.getStatus() == GameStatus.RUNNING) {
+            Player shooter = game.getCurrentTurn();
+            int target = shooter.getSeat();
+            do {
+                target = (target + 1) % players;
+            } while (game.isEliminated(game.getPlayers().get(target)));
+            int cell = fired[target]++;
+            game.fireShot(shooter, boards[target], new Coordinate(cell % 10, cell / 10));
+        }
+        return game.getWinner();
+    }
+}
@@ -0,0 +1,177 @@
+package ch.battleship.battleshipbackend.benchmark;
+
+import ch.battleship.battleshipbackend.benchmark.live.GameStateStore;
+import ch.battleship.battleshipbackend.benchmark.live.OffHeapGameStore;
+import ch.battleship.battleshipbackend.domain.Board;
+import ch.battleship.battleshipbackend.domain.Coordinate;
+import ch.battleship.battleshipbackend.domain.Game;
+import ch.battleship.battleshipbackend.domain.GameConfiguration;
+import ch.battleship.battleshipbackend.domain.Player;
+import ch.battleship.battleshipbackend.domain.Ship;
+import ch.battleship.battleshipbackend.domain.enums.GameStatus;
+import ch.battleship.battleshipbackend.domain.enums.Orientation;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GC-Pausen und Durchsatz bei {@code games} gleichzeitig offenen Spielen, je nach Ablage:
+ * JPA-Entities in einer Map ({@code entities}), {@link ch.battleship.battleshipbackend.benchmark.live.LiveGameStore}
+ * ({@code heap}) oder {@link OffHeapGameStore} ({@code offheap}).
+ * <p>
+ * Pro Operation wird ein offenes Spiel nachgeschlagen und ein neues Spiel komplett durchgespielt
+ * (kurzlebiger Müll wie im Betrieb; nur mit einem Thread). Ausgegeben werden die Dauer eines vollen GC mit dem jeweiligen
+ * Live-Set sowie pro Messiteration Anzahl, Summe und Maximum der GC-Pausen
+ * (ohne nebenläufige Phasen). Ergänzend: {@code -prof gc}.
+ * <p>
+ * {@code -Djmh.args="GameStoreGcBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:+UseG1GC"})
+public class GameStoreGcBenchmark {
+
+    @Param({"200000"})
+    public int games;
+
+    @Param({"entities", "heap", "offheap"})
+    public String storage;
+
+    private Map<String, Game> entities;
+    private GameStateStore store;
+    private String[] codes;
+
+    private final AtomicLong pauses = new AtomicLong();
+    private final AtomicLong pauseMillis = new AtomicLong();
+    private final AtomicLong maxPauseMillis = new AtomicLong();
+
+    @Setup
+    public void setUp() throws Exception {
+        codes = new String[games];
+        for (int i = 0; i < games; i++) {
+            codes[i] = LiveGameStoreBenchmark.code(i);
+        }
+        if (storage.equals("entities")) {
+            entities = new HashMap<>();
+            for (String code : codes) {
+                entities.put(code, LiveGameStoreBenchmark.entityGame(code));
+            }
+        } else {
+            // ein Slot Reserve für das durchgespielte Spiel
+            store = LiveGameStoreBenchmark.newStore(storage, games + 1);
+            for (String code : codes) {
+                LiveGameStoreBenchmark.fillLive(store, store.create(code, 10, 10));
+            }
+        }
+
+        long start = System.nanoTime();
+        System.gc();
+        System.out.printf("%n%s: full GC with %,d open games took %,d ms, %,d MB heap in use%n",
+                storage, games, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) >> 20);
+
+        // Benachrichtigungen kommen asynchron: den vollen GC nicht mitzählen
+        Thread.sleep(500);
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) gc).addNotificationListener(pauseListener(), null, null);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPauses() {
+        pauses.set(0);
+        pauseMillis.set(0);
+        maxPauseMillis.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPauses() {
+        System.out.printf("%n%s: %,d GC pauses, %,d ms total, %,d ms max%n",
+                storage, pauses.get(), pauseMillis.get(), maxPauseMillis.get());
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (store instanceof OffHeapGameStore offHeap) {
+            offHeap.close();
+        }
+    }
+
+    @Benchmark
+    public Object lookupAndPlay() {
+        String code = codes[ThreadLocalRandom.current().nextInt(games)];
+        if (entities != null) {
+            entities.get(code).getStatus();
+            return playEntityGame();
+        }
+        store.status(store.slotOf(code).orElseThrow());
+        // Codes mit 9 Zeichen kommen im Live-Set nicht vor
+        return LiveGameStoreBenchmark.playGame(store, "ZZZZZZZZZ");
+    }
+
+    private static Player playEntityGame() {
+        Game game = new Game("ZZZZZZZZZ", GameConfiguration.defaultConfig());
+        Board[] boards = new Board[2];
+        for (int p = 0; p < 2; p++) {
+            Player player = new Player(p == 0 ? "alice" : "bob");
+            game.addPlayer(player);
+            boards[p] = new Board(10, 10, player);
+            for (int i = 0; i < LiveGameStoreBenchmark.FLEET.length; i++) {
+                boards[p].placeShip(new Ship(LiveGameStoreBenchmark.FLEET[i]), new Coordinate(0, i), Orientation.HORIZONTAL);
+            }
+            game.addBoard(boards[p]);
+        }
+        game.start();
+        for (int cell = 0; game.getStatus() == GameStatus.RUNNING; cell++) {
+            game.fireShot(game.getPlayers().get(0), boards[1], new Coordinate(cell % 10, cell / 10));
+            if (game.getStatus() == GameStatus.RUNNING) {
+                game.fireShot(game.getPlayers().get(1), boards[0], new Coordinate(9 - cell % 10, 9 - cell / 10));
+            }
+        }
+        return game.getWinner();
+    }
+
+    // nur Stop-the-World-Pausen zählen, nicht die nebenläufigen Zyklen
+    private NotificationListener pauseListener() {
+        return (notification, handback) -> {
+            if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            if (info.getGcName().contains("Concurrent")) {
+                return;
+            }
+            long millis = info.getGcInfo().getDuration();
+            pauses.incrementAndGet();
+            pauseMillis.addAndGet(millis);
+            maxPauseMillis.accumulateAndGet(millis, Math::max);
+        };
+    }
+}
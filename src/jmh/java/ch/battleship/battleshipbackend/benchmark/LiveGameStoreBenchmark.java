@@ -0,0 +1,204 @@
+package ch.battleship.battleshipbackend.benchmark;
+
+import ch.battleship.battleshipbackend.benchmark.live.GameStateStore;
+import ch.battleship.battleshipbackend.benchmark.live.LiveGameStore;
+import ch.battleship.battleshipbackend.benchmark.live.OffHeapGameStore;
+import ch.battleship.battleshipbackend.domain.Board;
+import ch.battleship.battleshipbackend.domain.Coordinate;
+import ch.battleship.battleshipbackend.domain.Game;
+import ch.battleship.battleshipbackend.domain.GameConfiguration;
+import ch.battleship.battleshipbackend.domain.Player;
+import ch.battleship.battleshipbackend.domain.Ship;
+import ch.battleship.battleshipbackend.domain.enums.GameStatus;
+import ch.battleship.battleshipbackend.domain.enums.Orientation;
+import ch.battleship.battleshipbackend.domain.enums.ShipType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap-Bedarf und Durchsatz von {@link LiveGameStore} ({@code heap}) und {@link OffHeapGameStore}
+ * ({@code offheap}) mit {@code games} gleichzeitigen 10×10-Spielen (Standardflotte auf beiden Boards,
+ * je 40 Schüsse). Beim Setup wird der belegte Heap pro Spiel ausgegeben, zum Vergleich auch für
+ * dieselben Spiele als JPA-Entities – ohne Ids und Zeitstempel, die echte Entity-Grösse liegt also
+ * noch darüber. GC-Pausen vergleicht {@link GameStoreGcBenchmark}.
+ * <p>
+ * Braucht genug Heap: {@code -Djmh.args="-jvmArgs -Xmx4g LiveGameStore"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LiveGameStoreBenchmark {
+
+    // Standardflotte "2x2,2x3,1x4,1x5", untereinander ab (0, 0)
+    static final ShipType[] FLEET = {
+            ShipType.DESTROYER, ShipType.DESTROYER, ShipType.CRUISER,
+            ShipType.CRUISER, ShipType.BATTLESHIP, ShipType.CARRIER};
+
+    private static final int SHOTS_PER_GAME = 40;
+    private static final int ENTITY_SAMPLE = 20_000;
+
+    @Param({"1000000"})
+    public int games;
+
+    @Param({"heap", "offheap"})
+    public String storage;
+
+    private GameStateStore store;
+    private String[] codes;
+    private int next;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        codes = new String[games];
+        for (int i = 0; i < games; i++) {
+            codes[i] = code(i);
+        }
+
+        long before = usedHeap();
+        // ein Slot Reserve für playGame()
+        store = newStore(storage, games + 1);
+        for (int i = 0; i < games; i++) {
+            fillLive(store, store.create(codes[i], 10, 10));
+        }
+        long live = usedHeap() - before;
+        if (store instanceof OffHeapGameStore offHeap) {
+            System.out.printf("%nOffHeapGameStore: %,d bytes/slot off-heap, %,.2f GB total%n",
+                    offHeap.slotSize(), offHeap.slotSize() * (double) offHeap.capacity() / 1e9);
+        }
+
+        before = usedHeap();
+        List<Game> entities = new ArrayList<>(ENTITY_SAMPLE);
+        for (int i = 0; i < ENTITY_SAMPLE; i++) {
+            entities.add(entityGame(codes[i]));
+        }
+        long entityBytes = usedHeap() - before;
+
+        double livePerGame = (double) live / games;
+        double entityPerGame = (double) entityBytes / entities.size();
+        System.out.printf("%n%s: %,d games, %,.0f heap bytes/game, %,.2f GB total%n",
+                store.getClass().getSimpleName(), games, livePerGame, live / 1e9);
+        System.out.printf("JPA entities:  %,.0f bytes/game, %,.2f GB for %,d games (extrapolated)%n",
+                entityPerGame, entityPerGame * games / 1e9, games);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (store instanceof OffHeapGameStore offHeap) {
+            offHeap.close();
+        }
+    }
+
+    @Benchmark
+    public GameStatus lookup() {
+        String code = codes[next++ % games];
+        int slot = store.slotOf(code).orElseThrow();
+        return store.status(slot);
+    }
+
+    @Benchmark
+    public int playGame() {
+        return playGame(store, "ZZZZZZZZ");
+    }
+
+    static GameStateStore newStore(String storage, int capacity) {
+        return switch (storage) {
+            case "heap" -> new LiveGameStore(capacity, 100);
+            case "offheap" -> new OffHeapGameStore(capacity, 100);
+            default -> throw new IllegalArgumentException("Unknown storage: " + storage);
+        };
+    }
+
+    // komplettes Spiel: anlegen, Flotten setzen, bis zum Ende schiessen, freigeben
+    static int playGame(GameStateStore store, String code) {
+        int slot = store.create(code, 10, 10);
+        store.join(slot);
+        store.join(slot);
+        placeFleet(store, slot, 0);
+        placeFleet(store, slot, 1);
+        for (int cell = 0; store.status(slot) == GameStatus.RUNNING; cell++) {
+            store.fireShot(slot, 0, cell % 10, cell / 10);
+            if (store.status(slot) == GameStatus.RUNNING) {
+                store.fireShot(slot, 1, 9 - cell % 10, 9 - cell / 10);
+            }
+        }
+        int winner = store.winner(slot);
+        store.release(slot);
+        return winner;
+    }
+
+    static void fillLive(GameStateStore store, int slot) {
+        store.join(slot);
+        store.join(slot);
+        placeFleet(store, slot, 0);
+        placeFleet(store, slot, 1);
+        // abwechselnd von hinten schiessen: Wasser, das Spiel bleibt offen
+        for (int i = 0; i < SHOTS_PER_GAME; i++) {
+            int cell = 99 - i / 2;
+            store.fireShot(slot, i % 2, cell % 10, cell / 10);
+        }
+    }
+
+    private static void placeFleet(GameStateStore store, int slot, int board) {
+        for (int i = 0; i < FLEET.length; i++) {
+            store.placeShip(slot, board, FLEET[i], 0, i, Orientation.HORIZONTAL);
+        }
+    }
+
+    static Game entityGame(String code) {
+        Game game = new Game(code, GameConfiguration.defaultConfig());
+        List<Board> boards = new ArrayList<>();
+        for (String name : new String[]{"alice", "bob"}) {
+            Player player = new Player(name);
+            game.addPlayer(player);
+            Board board = new Board(10, 10, player);
+            for (int i = 0; i < FLEET.length; i++) {
+                board.placeShip(new Ship(FLEET[i]), new Coordinate(0, i), Orientation.HORIZONTAL);
+            }
+            game.addBoard(board);
+            boards.add(board);
+        }
+        game.start();
+        for (int i = 0; i < SHOTS_PER_GAME; i++) {
+            int cell = 99 - i / 2;
+            game.fireShot(game.getPlayers().get(i % 2), boards.get(1 - i % 2), new Coordinate(cell % 10, cell / 10));
+        }
+        return game;
+    }
+
+    static String code(int i) {
+        String alphabet = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+        char[] code = new char[8];
+        for (int j = 7; j >= 0; j--) {
+            code[j] = alphabet.charAt(i & 31);
+            i >>>= 5;
+        }
+        return new String(code);
+    }
+
+    static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,118 @@
+package ch.battleship.battleshipbackend.benchmark;
+
+import ch.battleship.battleshipbackend.domain.enums.Orientation;
+import ch.battleship.battleshipbackend.domain.enums.ShipType;
+import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+import ch.battleship.battleshipbackend.service.cache.GameResponseCache;
+import ch.battleship.battleshipbackend.service.cache.WireFormat;
+import ch.battleship.battleshipbackend.web.api.dto.BoardDto;
+import ch.battleship.battleshipbackend.web.api.dto.BoardStateDto;
+import ch.battleship.battleshipbackend.web.api.dto.GameDto;
+import ch.battleship.battleshipbackend.web.api.dto.PlayerDto;
+import ch.battleship.battleshipbackend.web.api.dto.ShipPlacementDto;
+import ch.battleship.battleshipbackend.web.api.dto.ShotDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vergleicht JSON, CBOR und Smile für GameDto, BoardStateDto (späte Spielphase) und ShotDto.
+ * Serialisiert über GameResponseCache.encode – denselben Weg wie die GET-Endpunkte.
+ * Die Payload-Grössen werden beim Setup ausgegeben.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public WireFormat format;
+
+    private GameResponseCache encoder;
+    private ObjectMapper mapper;
+
+    private GameDto game;
+    private BoardStateDto boardState;
+    private ShotDto shot;
+    private byte[] boardStateBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper json = new ObjectMapper();
+        encoder = new GameResponseCache(json, 1);
+        mapper = switch (format) {
+            case JSON -> json;
+            case CBOR -> json.copyWith(new CBORFactory());
+            case SMILE -> json.copyWith(new SmileFactory());
+        };
+
+        PlayerDto attacker = new PlayerDto(UUID.randomUUID(), "attacker");
+        PlayerDto defender = new PlayerDto(UUID.randomUUID(), "defender");
+        BoardDto attackerBoard = new BoardDto(UUID.randomUUID(), 10, 10, attacker.id(), attacker.username());
+        BoardDto defenderBoard = new BoardDto(UUID.randomUUID(), 10, 10, defender.id(), defender.username());
+
+        game = new GameDto(UUID.randomUUID(), UUID.randomUUID().toString(), "RUNNING", 10, 10, 2,
+                List.of(attacker, defender), List.of(attackerBoard, defenderBoard), List.of(), attacker.id(), null);
+
+        // späte Spielphase: 80 von 100 Feldern beschossen
+        List<ShotDto> shots = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            ShotResult result = i % 4 == 0 ? ShotResult.HIT : ShotResult.MISS;
+            shots.add(new ShotDto(UUID.randomUUID(), attacker.id(), defenderBoard.id(), i % 10, i / 10, result));
+        }
+        List<ShipPlacementDto> ships = List.of(
+                new ShipPlacementDto(ShipType.DESTROYER, 0, 0, Orientation.HORIZONTAL, 2),
+                new ShipPlacementDto(ShipType.DESTROYER, 0, 1, Orientation.HORIZONTAL, 2),
+                new ShipPlacementDto(ShipType.CRUISER, 0, 2, Orientation.HORIZONTAL, 3),
+                new ShipPlacementDto(ShipType.CRUISER, 0, 3, Orientation.HORIZONTAL, 3),
+                new ShipPlacementDto(ShipType.BATTLESHIP, 0, 4, Orientation.HORIZONTAL, 4),
+                new ShipPlacementDto(ShipType.CARRIER, 0, 5, Orientation.HORIZONTAL, 5));
+        boardState = new BoardStateDto(defenderBoard.id(), 10, 10, defender.id(), defender.username(), ships, shots);
+        shot = shots.get(0);
+
+        boardStateBytes = encodeBoardState();
+        System.out.printf("%n%s payload bytes: game=%d boardState=%d shot=%d%n", format,
+                encodeGame().length, boardStateBytes.length, encodeShot().length);
+    }
+
+    @Benchmark
+    public byte[] encodeGame() {
+        return encoder.encode(1, game, format).body();
+    }
+
+    @Benchmark
+    public byte[] encodeBoardState() {
+        return encoder.encode(1, boardState, format).body();
+    }
+
+    @Benchmark
+    public byte[] encodeShot() {
+        return encoder.encode(1, shot, format).body();
+    }
+
+    @Benchmark
+    public BoardStateDto decodeBoardState() throws IOException {
+        return mapper.readValue(boardStateBytes, BoardStateDto.class);
+    }
+}
@@ -0,0 +1,595 @@
+package ch.battleship.battleshipbackend.benchmark.live;
+
+import ch.battleship.battleshipbackend.domain.enums.GameStatus;
+import ch.battleship.battleshipbackend.domain.enums.Orientation;
+import ch.battleship.battleshipbackend.domain.enums.ShipType;
+import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+import ch.battleship.battleshipbackend.service.code.GameCodeGenerator;
+import ch.battleship.engine.BoardRules;
+import ch.battleship.engine.TurnOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Speicher für laufende Spiele mit zwei Spielern in Slots fester Grösse – ohne ein Objekt pro Spiel.
+ * <p>
+ * Hier liegen Spielablauf (wie {@code Game.fireShot}), Slot-Vergabe und das Verzeichnis
+ * gameCode → Slot; Platzieren und Schiessen laufen über {@link BoardRules}, der Zug über
+ * {@link TurnOrder}. Wo die Felder eines Slots liegen, bestimmt die Unterklasse
+ * ({@link LiveGameStore} auf dem Heap, {@link OffHeapGameStore} ausserhalb). Spieler und Boards
+ * sind Indizes 0 und 1, Board i gehört Spieler i; die Zuordnung zu UUIDs bleibt Sache des Aufrufers.
+ * <p>
+ * Spielcodes müssen Base-32-Codes von {@link GameCodeGenerator} sein (höchstens 12 Zeichen),
+ * im Verzeichnis stehen sie als long (offene Adressierung in zwei primitiven Arrays).
+ * Ein Slot bleibt bis {@link #release(int)} gültig. Änderungen an einem Spiel laufen unter einer
+ * von {@value #LOCK_STRIPES} Sperren, Verzeichnis und Slot-Vergabe unter einer Lese-/Schreibsperre.
+ * <p>
+ * Liegt bei den Benchmarks: der Server speichert laufende Spiele weiterhin als Entities.
+ */
+public abstract class GameStateStore {
+
+    public static final int PLAYERS = 2;
+    public static final int MAX_SHIPS = 8;
+    // x und y je < 16: Feldnummer passt in 8 Bit
+    public static final int MAX_BOARD_SIDE = 16;
+
+    static final int LOCK_STRIPES = 1024;
+
+    // Byte-Felder pro Slot
+    protected static final int STATUS = 0;
+    protected static final int WIDTH = 1;
+    protected static final int HEIGHT = 2;
+    protected static final int PLAYER_COUNT = 3;
+    protected static final int TURN = 4;
+    protected static final int WINNER = 5;
+    protected static final int BYTE_FIELDS = 6;
+
+    private static final GameStatus[] STATUSES = GameStatus.values();
+    private static final ShipType[] SHIP_TYPES = ShipType.values();
+    private static final ShotResult[] RESULTS = ShotResult.values();
+    private static final byte NONE = -1;
+
+    protected final int capacity;
+    protected final int maxCells;
+    // long-Wörter pro Bitset (Board)
+    protected final int words;
+    // jedes Feld höchstens einmal pro Board; ALREADY_SHOT wird nicht protokolliert
+    protected final int logCapacity;
+
+    // unter index
+    private final int[] freeSlots;
+    private int freeCount;
+    private final long[] indexKeys;
+    private final int[] indexSlots;
+    private final int indexMask;
+    private final ReentrantReadWriteLock index = new ReentrantReadWriteLock();
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    // Board-Nummer für die Engine: slot * PLAYERS + board
+    private final Rules rules = new Rules();
+
+    /**
+     * @param capacity höchstens gleichzeitig gespeicherte Spiele
+     * @param maxCells grösstes Board (Breite × Höhe); bestimmt Masken- und Protokollgrösse pro Slot
+     */
+    protected GameStateStore(int capacity, int maxCells) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (maxCells < 1 || maxCells > MAX_BOARD_SIDE * MAX_BOARD_SIDE) {
+            throw new IllegalArgumentException("maxCells must be between 1 and " + MAX_BOARD_SIDE * MAX_BOARD_SIDE);
+        }
+        this.capacity = capacity;
+        this.maxCells = maxCells;
+        this.words = (maxCells + 63) / 64;
+        this.logCapacity = PLAYERS * maxCells;
+
+        freeSlots = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            freeSlots[i] = capacity - 1 - i;
+        }
+        freeCount = capacity;
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) * 2;
+        indexKeys = new long[tableSize];
+        indexSlots = new int[tableSize];
+        indexMask = tableSize - 1;
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    // ------------------------------------------------------------------------------------
+    // Ablage der Slot-Felder (Unterklassen)
+    // ------------------------------------------------------------------------------------
+
+    protected abstract long getCode(int slot);
+
+    protected abstract void setCode(int slot, long code);
+
+    protected abstract byte getByte(int slot, int field);
+
+    protected abstract void setByte(int slot, int field, byte value);
+
+    protected abstract short getShotCount(int slot);
+
+    protected abstract void setShotCount(int slot, short count);
+
+    protected abstract short getRemaining(int slot, int board);
+
+    protected abstract void setRemaining(int slot, int board, short cells);
+
+    protected abstract byte getShipCount(int slot, int board);
+
+    protected abstract void setShipCount(int slot, int board, byte count);
+
+    // Startfeld | Länge << 8 | vertikal << 12 | Typ << 13
+    protected abstract int getShip(int slot, int board, int index);
+
+    protected abstract void setShip(int slot, int board, int index, int ship);
+
+    protected abstract long getShipWord(int slot, int board, int word);
+
+    protected abstract void setShipWord(int slot, int board, int word, long bits);
+
+    protected abstract long getShotWord(int slot, int board, int word);
+
+    protected abstract void setShotWord(int slot, int board, int word, long bits);
+
+    // Feld | Board << 8 | Ergebnis << 9
+    protected abstract short getLogEntry(int slot, int index);
+
+    protected abstract void setLogEntry(int slot, int index, short entry);
+
+    // ------------------------------------------------------------------------------------
+    // Slots
+    // ------------------------------------------------------------------------------------
+
+    /**
+     * Legt ein neues Spiel (WAITING, ohne Spieler) an.
+     *
+     * @return Slot des Spiels
+     */
+    public int create(String gameCode, int boardWidth, int boardHeight) {
+        if (boardWidth < 1 || boardHeight < 1 || boardWidth > MAX_BOARD_SIDE || boardHeight > MAX_BOARD_SIDE
+                || boardWidth * boardHeight > maxCells) {
+            throw new IllegalArgumentException("Board size not supported by this store");
+        }
+        long key = pack(gameCode);
+
+        index.writeLock().lock();
+        try {
+            if (find(key) >= 0) {
+                throw new IllegalArgumentException("Game already exists: " + gameCode);
+            }
+            if (freeCount == 0) {
+                throw new IllegalStateException("Game state store is full");
+            }
+            int slot = freeSlots[--freeCount];
+            synchronized (lockOf(slot)) {
+                setCode(slot, key);
+                setByte(slot, STATUS, (byte) GameStatus.WAITING.ordinal());
+                setByte(slot, WIDTH, (byte) boardWidth);
+                setByte(slot, HEIGHT, (byte) boardHeight);
+                setByte(slot, PLAYER_COUNT, (byte) 0);
+                setByte(slot, TURN, NONE);
+                setByte(slot, WINNER, NONE);
+                setShotCount(slot, (short) 0);
+                for (int board = 0; board < PLAYERS; board++) {
+                    setRemaining(slot, board, (short) 0);
+                    setShipCount(slot, board, (byte) 0);
+                    for (int w = 0; w < words; w++) {
+                        setShipWord(slot, board, w, 0);
+                        setShotWord(slot, board, w, 0);
+                    }
+                }
+            }
+            insert(key, slot);
+            return slot;
+        } finally {
+            index.writeLock().unlock();
+        }
+    }
+
+    public OptionalInt slotOf(String gameCode) {
+        long key;
+        try {
+            key = pack(gameCode);
+        } catch (IllegalArgumentException e) {
+            return OptionalInt.empty();
+        }
+        index.readLock().lock();
+        try {
+            int slot = find(key);
+            return slot < 0 ? OptionalInt.empty() : OptionalInt.of(slot);
+        } finally {
+            index.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gibt den Slot frei; danach darf er nicht mehr verwendet werden.
+     */
+    public void release(int slot) {
+        index.writeLock().lock();
+        try {
+            long key;
+            synchronized (lockOf(slot)) {
+                key = getCode(slot);
+                if (key == 0 || find(key) != slot) {
+                    throw new IllegalArgumentException("Slot is not in use: " + slot);
+                }
+                setCode(slot, 0);
+            }
+            remove(key);
+            freeSlots[freeCount++] = slot;
+        } finally {
+            index.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        index.readLock().lock();
+        try {
+            return capacity - freeCount;
+        } finally {
+            index.readLock().unlock();
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // ------------------------------------------------------------------------------------
+    // Spielablauf
+    // ------------------------------------------------------------------------------------
+
+    /**
+     * Nimmt einen Spieler auf; mit dem zweiten startet das Spiel und Spieler 0 beginnt.
+     *
+     * @return Index des neuen Spielers (= Index seines Boards)
+     */
+    public int join(int slot) {
+        synchronized (lockOf(slot)) {
+            if (getByte(slot, STATUS) != GameStatus.WAITING.ordinal()) {
+                throw new IllegalStateException("Cannot join a game that is not in WAITING state");
+            }
+            int player = getByte(slot, PLAYER_COUNT);
+            setByte(slot, PLAYER_COUNT, (byte) (player + 1));
+            if (player + 1 == PLAYERS) {
+                setByte(slot, STATUS, (byte) GameStatus.RUNNING.ordinal());
+                setByte(slot, TURN, (byte) 0);
+            }
+            return player;
+        }
+    }
+
+    public void placeShip(int slot, int board, ShipType type, int x, int y, Orientation orientation) {
+        synchronized (lockOf(slot)) {
+            if (board < 0 || board >= getByte(slot, PLAYER_COUNT)) {
+                throw new IllegalStateException("Board does not belong to this game");
+            }
+            if (getByte(slot, STATUS) == GameStatus.FINISHED.ordinal()) {
+                throw new IllegalStateException("Cannot place ship in a finished game");
+            }
+            int count = getShipCount(slot, board);
+            if (count == MAX_SHIPS) {
+                throw new IllegalStateException("Board already has " + MAX_SHIPS + " ships");
+            }
+            rules.place(slot * PLAYERS + board, type.ordinal(), type.getSize(), x, y,
+                    orientation == Orientation.VERTICAL);
+        }
+    }
+
+    /**
+     * Schuss von {@code shooter} auf das Board des Gegners. Der Zug geht danach an den Gegner,
+     * ausser der Schuss versenkt dessen letztes Schiff.
+     */
+    public ShotResult fireShot(int slot, int shooter, int x, int y) {
+        synchronized (lockOf(slot)) {
+            if (getByte(slot, STATUS) != GameStatus.RUNNING.ordinal()) {
+                throw new IllegalStateException("Cannot fire shot when game is not RUNNING");
+            }
+            if (getByte(slot, TURN) != shooter) {
+                throw new IllegalStateException("It is not the turn of this player");
+            }
+            int w = getByte(slot, WIDTH);
+            if (x < 0 || x >= w || y < 0 || y >= getByte(slot, HEIGHT)) {
+                throw new IllegalArgumentException("Shot coordinate out of board bounds");
+            }
+
+            int target = PLAYERS - 1 - shooter;
+            ShotResult result = ShotResult.from(rules.fire(slot * PLAYERS + target, x, y));
+            if (result != ShotResult.ALREADY_SHOT) {
+                short count = getShotCount(slot);
+                setLogEntry(slot, count, (short) ((y * w + x) | target << 8 | result.ordinal() << 9));
+                setShotCount(slot, (short) (count + 1));
+            }
+
+            // wie Game: Spieler mit zerstörter Flotte scheiden aus, der letzte verbliebene gewinnt
+            long alive = 0;
+            for (int player = 0; player < PLAYERS; player++) {
+                if (!rules.isFleetDestroyed(slot * PLAYERS + player)) {
+                    alive = TurnOrder.join(alive, player);
+                }
+            }
+            if (TurnOrder.playersLeft(alive) == 1) {
+                setByte(slot, STATUS, (byte) GameStatus.FINISHED.ordinal());
+                setByte(slot, WINNER, (byte) shooter);
+                setByte(slot, TURN, NONE);
+            } else {
+                setByte(slot, TURN, (byte) TurnOrder.next(alive, shooter));
+            }
+            return result;
+        }
+    }
+
+    // ------------------------------------------------------------------------------------
+    // Lesen
+    // ------------------------------------------------------------------------------------
+
+    public String gameCode(int slot) {
+        synchronized (lockOf(slot)) {
+            return unpack(getCode(slot));
+        }
+    }
+
+    public GameStatus status(int slot) {
+        synchronized (lockOf(slot)) {
+            return STATUSES[getByte(slot, STATUS)];
+        }
+    }
+
+    public int playerCount(int slot) {
+        synchronized (lockOf(slot)) {
+            return getByte(slot, PLAYER_COUNT);
+        }
+    }
+
+    /**
+     * @return Spieler am Zug, -1 ohne Zugreihenfolge
+     */
+    public int currentTurn(int slot) {
+        synchronized (lockOf(slot)) {
+            return getByte(slot, TURN);
+        }
+    }
+
+    /**
+     * @return Gewinner, -1 solange das Spiel läuft
+     */
+    public int winner(int slot) {
+        synchronized (lockOf(slot)) {
+            return getByte(slot, WINNER);
+        }
+    }
+
+    public int remainingShipCells(int slot, int board) {
+        synchronized (lockOf(slot)) {
+            return getRemaining(slot, board);
+        }
+    }
+
+    /**
+     * Alle Schüsse (ohne ALREADY_SHOT) in Reihenfolge.
+     */
+    public List<LiveShot> shots(int slot) {
+        synchronized (lockOf(slot)) {
+            int w = getByte(slot, WIDTH);
+            int count = getShotCount(slot);
+            List<LiveShot> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int entry = getLogEntry(slot, i);
+                int cell = entry & 0xFF;
+                int target = entry >>> 8 & 1;
+                result.add(new LiveShot(PLAYERS - 1 - target, target, cell % w, cell / w, RESULTS[entry >>> 9 & 3]));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Schiffe eines Boards in Platzierungsreihenfolge.
+     */
+    public List<LiveShip> ships(int slot, int board) {
+        synchronized (lockOf(slot)) {
+            int w = getByte(slot, WIDTH);
+            int count = getShipCount(slot, board);
+            List<LiveShip> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int ship = getShip(slot, board, i);
+                int start = ship & 0xFF;
+                result.add(new LiveShip(SHIP_TYPES[ship >>> 13 & 7], start % w, start / w,
+                        (ship >>> 12 & 1) == 1 ? Orientation.VERTICAL : Orientation.HORIZONTAL));
+            }
+            return result;
+        }
+    }
+
+    public record LiveShot(int shooter, int targetBoard, int x, int y, ShotResult result) { }
+
+    public record LiveShip(ShipType type, int x, int y, Orientation orientation) { }
+
+    // ------------------------------------------------------------------------------------
+    // intern
+    // ------------------------------------------------------------------------------------
+
+    private Object lockOf(int slot) {
+        return locks[slot & (LOCK_STRIPES - 1)];
+    }
+
+    private boolean hasShip(int slot, int board, int cell) {
+        return (getShipWord(slot, board, cell >>> 6) & 1L << cell) != 0;
+    }
+
+    // Spielregeln der Engine auf den Feldern eines Slots; Aufrufer halten die Sperre des Slots
+    private final class Rules extends BoardRules {
+
+        @Override
+        protected int width(int board) {
+            return getByte(board / PLAYERS, WIDTH);
+        }
+
+        @Override
+        protected int height(int board) {
+            return getByte(board / PLAYERS, HEIGHT);
+        }
+
+        @Override
+        protected int shipCount(int board) {
+            return getShipCount(board / PLAYERS, board % PLAYERS);
+        }
+
+        @Override
+        protected int shipStart(int board, int ship) {
+            return getShip(board / PLAYERS, board % PLAYERS, ship) & 0xFF;
+        }
+
+        @Override
+        protected int shipSize(int board, int ship) {
+            return getShip(board / PLAYERS, board % PLAYERS, ship) >>> 8 & 0xF;
+        }
+
+        @Override
+        protected boolean shipVertical(int board, int ship) {
+            return (getShip(board / PLAYERS, board % PLAYERS, ship) >>> 12 & 1) == 1;
+        }
+
+        // höchstens MAX_SHIPS Schiffe: das Bitset entscheidet, erst bei einem Treffer wird gesucht
+        @Override
+        protected int shipOn(int board, int cell) {
+            int slot = board / PLAYERS;
+            int player = board % PLAYERS;
+            if (!hasShip(slot, player, cell)) {
+                return -1;
+            }
+            int w = getByte(slot, WIDTH);
+            int count = getShipCount(slot, player);
+            for (int i = 0; i < count; i++) {
+                int ship = getShip(slot, player, i);
+                int start = ship & 0xFF;
+                int length = ship >>> 8 & 0xF;
+                int step = (ship >>> 12 & 1) == 1 ? w : 1;
+                int offset = cell - start;
+                // Schiffe liegen innerhalb einer Zeile bzw. Spalte
+                if (offset >= 0 && offset % step == 0 && offset / step < length) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("Ship cell without ship");
+        }
+
+        @Override
+        protected int addShip(int board, int type, int start, int size, boolean vertical) {
+            int slot = board / PLAYERS;
+            int player = board % PLAYERS;
+            int step = vertical ? getByte(slot, WIDTH) : 1;
+            for (int i = 0, cell = start; i < size; i++, cell += step) {
+                setShipWord(slot, player, cell >>> 6, getShipWord(slot, player, cell >>> 6) | 1L << cell);
+            }
+            int ship = getShipCount(slot, player);
+            setShip(slot, player, ship, start | size << 8 | (vertical ? 1 : 0) << 12 | type << 13);
+            setShipCount(slot, player, (byte) (ship + 1));
+            return ship;
+        }
+
+        @Override
+        protected boolean isShot(int board, int cell) {
+            return (getShotWord(board / PLAYERS, board % PLAYERS, cell >>> 6) & 1L << cell) != 0;
+        }
+
+        @Override
+        protected void markShot(int board, int cell) {
+            int slot = board / PLAYERS;
+            int player = board % PLAYERS;
+            setShotWord(slot, player, cell >>> 6, getShotWord(slot, player, cell >>> 6) | 1L << cell);
+        }
+
+        @Override
+        protected int remaining(int board) {
+            return getRemaining(board / PLAYERS, board % PLAYERS);
+        }
+
+        @Override
+        protected void setRemaining(int board, int count) {
+            GameStateStore.this.setRemaining(board / PLAYERS, board % PLAYERS, (short) count);
+        }
+    }
+
+    // Code als long: Länge in den obersten 4 Bit, dann 5 Bit pro Zeichen (nie 0)
+    static long pack(String gameCode) {
+        int length = gameCode.length();
+        if (length < 1 || length > 12) {
+            throw new IllegalArgumentException("Game code cannot be stored: " + gameCode);
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = GameCodeGenerator.ALPHABET.indexOf(gameCode.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Game code cannot be stored: " + gameCode);
+            }
+            value = value << 5 | digit;
+        }
+        return (long) length << 60 | value;
+    }
+
+    static String unpack(long key) {
+        int length = (int) (key >>> 60);
+        char[] code = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            code[i] = GameCodeGenerator.ALPHABET.charAt((int) (key & 31));
+            key >>>= 5;
+        }
+        return new String(code);
+    }
+
+    // offene Adressierung mit linearem Sondieren, Tabelle höchstens halb voll
+    private int find(long key) {
+        for (int i = hash(key); ; i = (i + 1) & indexMask) {
+            if (indexKeys[i] == 0) {
+                return -1;
+            }
+            if (indexKeys[i] == key) {
+                return indexSlots[i];
+            }
+        }
+    }
+
+    private void insert(long key, int slot) {
+        int i = hash(key);
+        while (indexKeys[i] != 0) {
+            i = (i + 1) & indexMask;
+        }
+        indexKeys[i] = key;
+        indexSlots[i] = slot;
+    }
+
+    // Löschen ohne Grabsteine: nachfolgende Einträge der Kette nachrücken lassen
+    private void remove(long key) {
+        int i = hash(key);
+        while (indexKeys[i] != key) {
+            i = (i + 1) & indexMask;
+        }
+        int gap = i;
+        for (int j = (gap + 1) & indexMask; indexKeys[j] != 0; j = (j + 1) & indexMask) {
+            int home = hash(indexKeys[j]);
+            // j darf nach gap, wenn home nicht zyklisch in (gap, j] liegt
+            if (((j - home) & indexMask) >= ((j - gap) & indexMask)) {
+                indexKeys[gap] = indexKeys[j];
+                indexSlots[gap] = indexSlots[j];
+                gap = j;
+            }
+        }
+        indexKeys[gap] = 0;
+    }
+
+    private int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & indexMask;
+    }
+}
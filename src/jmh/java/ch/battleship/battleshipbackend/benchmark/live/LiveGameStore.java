@@ -0,0 +1,127 @@
+package ch.battleship.battleshipbackend.benchmark.live;
+
+/**
+ * {@link GameStateStore} auf dem Heap, spaltenweise in primitiven Arrays (ein Array pro Feld,
+ * Index = Slot). Ein 10×10-Spiel belegt so knapp 600 Bytes statt mehrerer Kilobytes an Entities
+ * (siehe {@code LiveGameStoreBenchmark}); der GC sieht nur eine Handvoll grosser Arrays.
+ */
+public final class LiveGameStore extends GameStateStore {
+
+    // pro Slot
+    private final long[] codes;
+    private final byte[][] bytes;
+    private final short[] shotCount;
+    // pro Slot × Board
+    private final short[] remaining;
+    private final byte[] shipCount;
+    // pro Slot × Board × Wort
+    private final long[] shipCells;
+    private final long[] shotCells;
+    // pro Slot × Board × Schiff
+    private final int[] ships;
+    // pro Slot × Schuss
+    private final short[] shotLog;
+
+    public LiveGameStore(int capacity, int maxCells) {
+        super(capacity, maxCells);
+        codes = new long[capacity];
+        bytes = new byte[BYTE_FIELDS][capacity];
+        shotCount = new short[capacity];
+        remaining = new short[capacity * PLAYERS];
+        shipCount = new byte[capacity * PLAYERS];
+        shipCells = new long[Math.multiplyExact(capacity * PLAYERS, words)];
+        shotCells = new long[Math.multiplyExact(capacity * PLAYERS, words)];
+        ships = new int[Math.multiplyExact(capacity * PLAYERS, MAX_SHIPS)];
+        shotLog = new short[Math.multiplyExact(capacity, logCapacity)];
+    }
+
+    @Override
+    protected long getCode(int slot) {
+        return codes[slot];
+    }
+
+    @Override
+    protected void setCode(int slot, long code) {
+        codes[slot] = code;
+    }
+
+    @Override
+    protected byte getByte(int slot, int field) {
+        return bytes[field][slot];
+    }
+
+    @Override
+    protected void setByte(int slot, int field, byte value) {
+        bytes[field][slot] = value;
+    }
+
+    @Override
+    protected short getShotCount(int slot) {
+        return shotCount[slot];
+    }
+
+    @Override
+    protected void setShotCount(int slot, short count) {
+        shotCount[slot] = count;
+    }
+
+    @Override
+    protected short getRemaining(int slot, int board) {
+        return remaining[slot * PLAYERS + board];
+    }
+
+    @Override
+    protected void setRemaining(int slot, int board, short cells) {
+        remaining[slot * PLAYERS + board] = cells;
+    }
+
+    @Override
+    protected byte getShipCount(int slot, int board) {
+        return shipCount[slot * PLAYERS + board];
+    }
+
+    @Override
+    protected void setShipCount(int slot, int board, byte count) {
+        shipCount[slot * PLAYERS + board] = count;
+    }
+
+    @Override
+    protected int getShip(int slot, int board, int index) {
+        return ships[(slot * PLAYERS + board) * MAX_SHIPS + index];
+    }
+
+    @Override
+    protected void setShip(int slot, int board, int index, int ship) {
+        ships[(slot * PLAYERS + board) * MAX_SHIPS + index] = ship;
+    }
+
+    @Override
+    protected long getShipWord(int slot, int board, int word) {
+        return shipCells[(slot * PLAYERS + board) * words + word];
+    }
+
+    @Override
+    protected void setShipWord(int slot, int board, int word, long bits) {
+        shipCells[(slot * PLAYERS + board) * words + word] = bits;
+    }
+
+    @Override
+    protected long getShotWord(int slot, int board, int word) {
+        return shotCells[(slot * PLAYERS + board) * words + word];
+    }
+
+    @Override
+    protected void setShotWord(int slot, int board, int word, long bits) {
+        shotCells[(slot * PLAYERS + board) * words + word] = bits;
+    }
+
+    @Override
+    protected short getLogEntry(int slot, int index) {
+        return shotLog[slot * logCapacity + index];
+    }
+
+    @Override
+    protected void setLogEntry(int slot, int index, short entry) {
+        shotLog[slot * logCapacity + index] = entry;
+    }
+}
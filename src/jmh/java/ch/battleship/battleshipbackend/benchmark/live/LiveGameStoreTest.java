@@ -0,0 +1,110 @@
+package ch.battleship.battleshipbackend.benchmark.live;
+
+import ch.battleship.battleshipbackend.benchmark.live.GameStateStore.LiveShip;
+import ch.battleship.battleshipbackend.benchmark.live.GameStateStore.LiveShot;
+import ch.battleship.battleshipbackend.domain.enums.GameStatus;
+import ch.battleship.battleshipbackend.domain.enums.Orientation;
+import ch.battleship.battleshipbackend.domain.enums.ShipType;
+import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LiveGameStoreTest {
+
+    @Test
+    void fireShot_shouldFollowGameRules_untilFleetIsDestroyed() {
+        playDestroyerDuel(new LiveGameStore(4, 100));
+    }
+
+    @Test
+    void fireShot_shouldFollowGameRules_offHeap() {
+        try (OffHeapGameStore store = new OffHeapGameStore(4, 100)) {
+            assertThat(store.slotSize() % Long.BYTES).isZero();
+            playDestroyerDuel(store);
+
+            // freigegebener Slot wird für das nächste Spiel zurückgesetzt
+            store.release(store.slotOf("7K3QW9ZD").orElseThrow());
+            int slot = store.create("7K3QW9ZE", 10, 10);
+            assertThat(store.status(slot)).isEqualTo(GameStatus.WAITING);
+            assertThat(store.remainingShipCells(slot, 1)).isZero();
+            assertThat(store.shots(slot)).isEmpty();
+            assertThat(store.ships(slot, 1)).isEmpty();
+        }
+    }
+
+    @Test
+    void create_shouldFindAndReuseSlots_acrossManyCodes() {
+        LiveGameStore store = new LiveGameStore(1000, 100);
+        Random random = new Random(42);
+        Map<String, Integer> slots = new HashMap<>();
+
+        // zufällig anlegen und freigeben, Verzeichnis muss dabei konsistent bleiben
+        for (int round = 0; round < 20_000; round++) {
+            if (slots.size() < 1000 && (slots.isEmpty() || random.nextBoolean())) {
+                String code = code(random);
+                if (!slots.containsKey(code)) {
+                    slots.put(code, store.create(code, 10, 10));
+                }
+            } else {
+                String code = slots.keySet().iterator().next();
+                store.release(slots.remove(code));
+                assertThat(store.slotOf(code)).isEmpty();
+            }
+        }
+
+        assertThat(store.size()).isEqualTo(slots.size());
+        slots.forEach((code, slot) -> {
+            assertThat(store.slotOf(code)).hasValue(slot);
+            assertThat(store.gameCode(slot)).isEqualTo(code);
+        });
+        assertThat(store.slotOf("not-a-code")).isEmpty();
+    }
+
+    private static void playDestroyerDuel(GameStateStore store) {
+        int slot = store.create("7K3QW9ZD", 10, 10);
+        assertThat(store.join(slot)).isZero();
+        assertThat(store.join(slot)).isEqualTo(1);
+        assertThat(store.status(slot)).isEqualTo(GameStatus.RUNNING);
+
+        store.placeShip(slot, 0, ShipType.DESTROYER, 0, 0, Orientation.HORIZONTAL);
+        store.placeShip(slot, 1, ShipType.DESTROYER, 3, 3, Orientation.VERTICAL);
+        assertThatThrownBy(() -> store.placeShip(slot, 1, ShipType.CRUISER, 2, 4, Orientation.HORIZONTAL))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> store.placeShip(slot, 1, ShipType.CARRIER, 7, 0, Orientation.HORIZONTAL))
+                .isInstanceOf(IllegalStateException.class);
+
+        // Spieler 0 beginnt, danach wechselt der Zug an den Besitzer des beschossenen Boards
+        assertThatThrownBy(() -> store.fireShot(slot, 1, 0, 0)).isInstanceOf(IllegalStateException.class);
+        assertThat(store.fireShot(slot, 0, 3, 3)).isEqualTo(ShotResult.HIT);
+        assertThat(store.fireShot(slot, 1, 9, 9)).isEqualTo(ShotResult.MISS);
+        assertThat(store.fireShot(slot, 0, 3, 3)).isEqualTo(ShotResult.ALREADY_SHOT);
+        assertThat(store.fireShot(slot, 1, 0, 0)).isEqualTo(ShotResult.HIT);
+        assertThat(store.fireShot(slot, 0, 3, 4)).isEqualTo(ShotResult.SUNK);
+
+        assertThat(store.status(slot)).isEqualTo(GameStatus.FINISHED);
+        assertThat(store.winner(slot)).isZero();
+        assertThat(store.currentTurn(slot)).isEqualTo(-1);
+        assertThat(store.remainingShipCells(slot, 1)).isZero();
+        assertThat(store.shots(slot)).containsExactly(
+                new LiveShot(0, 1, 3, 3, ShotResult.HIT),
+                new LiveShot(1, 0, 9, 9, ShotResult.MISS),
+                new LiveShot(1, 0, 0, 0, ShotResult.HIT),
+                new LiveShot(0, 1, 3, 4, ShotResult.SUNK));
+        assertThat(store.ships(slot, 1)).containsExactly(new LiveShip(ShipType.DESTROYER, 3, 3, Orientation.VERTICAL));
+    }
+
+    private static String code(Random random) {
+        String alphabet = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+        char[] code = new char[8];
+        for (int i = 0; i < code.length; i++) {
+            // kleiner Zeichenvorrat: viele Kollisionen in der Hash-Tabelle
+            code[i] = alphabet.charAt(random.nextInt(i < 5 ? 1 : 32));
+        }
+        return new String(code);
+    }
+}
@@ -0,0 +1,162 @@
+package ch.battleship.battleshipbackend.benchmark.live;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * {@link GameStateStore} ausserhalb des Heaps: alle Slots liegen hintereinander in einem
+ * {@link MemorySegment} aus einer geteilten {@link Arena}, jeder Slot mit fester Grösse.
+ * Auf dem Heap bleiben nur Verzeichnis und Freiliste (primitive Arrays), der GC muss die
+ * Spielzustände also weder markieren noch kopieren – auch bei Millionen laufender Spiele.
+ * <p>
+ * Aufbau eines Slots (Offsets in Bytes):
+ * <pre>
+ *  0  gameCode (long)
+ *  8  status, width, height, players, turn, winner (je byte)
+ * 14  shotCount (short)
+ * 16  remaining[2] (short)
+ * 20  shipCount[2] (byte)
+ * 24  ships[2][8] (int)
+ * 88  shipCells[2][words] (long), danach shotCells[2][words] (long)
+ *  …  shotLog[2 × maxCells] (short), auf 8 Bytes aufgerundet
+ * </pre>
+ * Der Speicher wird erst mit {@link #close()} freigegeben; danach darf der Store nicht mehr
+ * verwendet werden.
+ */
+public final class OffHeapGameStore extends GameStateStore implements AutoCloseable {
+
+    private static final long CODE = 0;
+    private static final long BYTES = 8;
+    private static final long SHOT_COUNT = 14;
+    private static final long REMAINING = 16;
+    private static final long SHIP_COUNT = 20;
+    private static final long SHIPS = 24;
+    private static final long MASKS = SHIPS + (long) PLAYERS * MAX_SHIPS * Integer.BYTES;
+
+    private final Arena arena;
+    private final MemorySegment slots;
+    private final long slotSize;
+    private final long shotMasks;
+    private final long shotLog;
+
+    public OffHeapGameStore(int capacity, int maxCells) {
+        super(capacity, maxCells);
+        shotMasks = MASKS + (long) PLAYERS * words * Long.BYTES;
+        shotLog = shotMasks + (long) PLAYERS * words * Long.BYTES;
+        slotSize = (shotLog + (long) logCapacity * Short.BYTES + 7) & ~7L;
+
+        arena = Arena.ofShared();
+        slots = arena.allocate(Math.multiplyExact(slotSize, (long) capacity), Long.BYTES);
+        slots.fill((byte) 0);
+    }
+
+    /**
+     * Bytes pro Slot im Segment.
+     */
+    public long slotSize() {
+        return slotSize;
+    }
+
+    /**
+     * Gibt das Segment frei.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private long base(int slot) {
+        return slot * slotSize;
+    }
+
+    @Override
+    protected long getCode(int slot) {
+        return slots.get(ValueLayout.JAVA_LONG, base(slot) + CODE);
+    }
+
+    @Override
+    protected void setCode(int slot, long code) {
+        slots.set(ValueLayout.JAVA_LONG, base(slot) + CODE, code);
+    }
+
+    @Override
+    protected byte getByte(int slot, int field) {
+        return slots.get(ValueLayout.JAVA_BYTE, base(slot) + BYTES + field);
+    }
+
+    @Override
+    protected void setByte(int slot, int field, byte value) {
+        slots.set(ValueLayout.JAVA_BYTE, base(slot) + BYTES + field, value);
+    }
+
+    @Override
+    protected short getShotCount(int slot) {
+        return slots.get(ValueLayout.JAVA_SHORT, base(slot) + SHOT_COUNT);
+    }
+
+    @Override
+    protected void setShotCount(int slot, short count) {
+        slots.set(ValueLayout.JAVA_SHORT, base(slot) + SHOT_COUNT, count);
+    }
+
+    @Override
+    protected short getRemaining(int slot, int board) {
+        return slots.get(ValueLayout.JAVA_SHORT, base(slot) + REMAINING + (long) board * Short.BYTES);
+    }
+
+    @Override
+    protected void setRemaining(int slot, int board, short cells) {
+        slots.set(ValueLayout.JAVA_SHORT, base(slot) + REMAINING + (long) board * Short.BYTES, cells);
+    }
+
+    @Override
+    protected byte getShipCount(int slot, int board) {
+        return slots.get(ValueLayout.JAVA_BYTE, base(slot) + SHIP_COUNT + board);
+    }
+
+    @Override
+    protected void setShipCount(int slot, int board, byte count) {
+        slots.set(ValueLayout.JAVA_BYTE, base(slot) + SHIP_COUNT + board, count);
+    }
+
+    @Override
+    protected int getShip(int slot, int board, int index) {
+        return slots.get(ValueLayout.JAVA_INT, base(slot) + SHIPS + (long) (board * MAX_SHIPS + index) * Integer.BYTES);
+    }
+
+    @Override
+    protected void setShip(int slot, int board, int index, int ship) {
+        slots.set(ValueLayout.JAVA_INT, base(slot) + SHIPS + (long) (board * MAX_SHIPS + index) * Integer.BYTES, ship);
+    }
+
+    @Override
+    protected long getShipWord(int slot, int board, int word) {
+        return slots.get(ValueLayout.JAVA_LONG, base(slot) + MASKS + (long) (board * words + word) * Long.BYTES);
+    }
+
+    @Override
+    protected void setShipWord(int slot, int board, int word, long bits) {
+        slots.set(ValueLayout.JAVA_LONG, base(slot) + MASKS + (long) (board * words + word) * Long.BYTES, bits);
+    }
+
+    @Override
+    protected long getShotWord(int slot, int board, int word) {
+        return slots.get(ValueLayout.JAVA_LONG, base(slot) + shotMasks + (long) (board * words + word) * Long.BYTES);
+    }
+
+    @Override
+    protected void setShotWord(int slot, int board, int word, long bits) {
+        slots.set(ValueLayout.JAVA_LONG, base(slot) + shotMasks + (long) (board * words + word) * Long.BYTES, bits);
+    }
+
+    @Override
+    protected short getLogEntry(int slot, int index) {
+        return slots.get(ValueLayout.JAVA_SHORT, base(slot) + shotLog + (long) index * Short.BYTES);
+    }
+
+    @Override
+    protected void setLogEntry(int slot, int index, short entry) {
+        slots.set(ValueLayout.JAVA_SHORT, base(slot) + shotLog + (long) index * Short.BYTES, entry);
+    }
+}
@@ -0,0 +1,120 @@
+package ch.battleship.battleshipbackend.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bestimmt, welcher Knoten für einen gameCode zuständig ist.
+ * Ohne aktivierten Cluster ist dieser Knoten für alle Spiele zuständig.
+ * <p>
+ * Mitglieder können nur aus {@code battleship.cluster.members} kommen; Knoten weisen sich
+ * untereinander mit dem gemeinsamen {@code battleship.cluster.secret} aus.
+ */
+@Service
+public class ClusterMembership {
+
+    private final boolean enabled;
+    private final String self;
+    private final int virtualNodes;
+    // konfigurierte Mitglieder inkl. self; nur aus diesen lässt sich der Ring neu bilden
+    private final Set<String> allowed;
+    private final byte[] secret;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile ConsistentHashRing ring;
+
+    public ClusterMembership(@Value("${battleship.cluster.enabled:false}") boolean enabled,
+                             @Value("${battleship.cluster.self:http://localhost:${server.port:8080}}") String self,
+                             @Value("${battleship.cluster.members:}") List<String> members,
+                             @Value("${battleship.cluster.virtual-nodes:128}") int virtualNodes,
+                             @Value("${battleship.cluster.secret:}") String secret,
+                             ApplicationEventPublisher eventPublisher) {
+        if (enabled && secret.isBlank()) {
+            throw new IllegalStateException("battleship.cluster.secret must be set when cluster mode is enabled");
+        }
+        this.enabled = enabled;
+        this.self = normalize(self);
+        this.virtualNodes = virtualNodes;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.eventPublisher = eventPublisher;
+        List<String> initial = withSelf(enabled ? members : List.of());
+        this.allowed = Set.copyOf(initial);
+        this.ring = new ConsistentHashRing(initial, virtualNodes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    public ConsistentHashRing getRing() {
+        return ring;
+    }
+
+    public String ownerOf(String gameCode) {
+        return ring.ownerOf(gameCode);
+    }
+
+    public boolean isLocal(String gameCode) {
+        return !enabled || ring.ownerOf(gameCode).equals(self);
+    }
+
+    // nur für Anfragen an andere Mitglieder (GameForwardingFilter)
+    String getSecret() {
+        return new String(secret, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * true, wenn der Wert das Cluster-Secret ist (Vergleich in konstanter Zeit).
+     * Ohne aktivierten Cluster gibt es kein Secret.
+     */
+    public boolean isClusterSecret(String value) {
+        return enabled && value != null
+                && MessageDigest.isEqual(secret, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Ersetzt die Mitgliederliste dieses Knotens. Muss auf allen Knoten gleich gesetzt werden.
+     * Erlaubt sind nur konfigurierte Mitglieder, sonst liesse sich Verkehr an beliebige URLs umleiten.
+     */
+    public void updateMembers(List<String> members) {
+        if (!enabled) {
+            throw new IllegalStateException("Cluster mode is not enabled");
+        }
+        List<String> next = withSelf(members);
+        for (String member : next) {
+            if (!allowed.contains(member)) {
+                throw new IllegalArgumentException("Not a configured cluster member: " + member);
+            }
+        }
+        ConsistentHashRing updated = new ConsistentHashRing(next, virtualNodes);
+        this.ring = updated;
+        eventPublisher.publishEvent(new ClusterMembershipChangedEvent(updated, self));
+    }
+
+    private List<String> withSelf(List<String> members) {
+        Set<String> all = new LinkedHashSet<>();
+        for (String member : members) {
+            if (!member.isBlank()) {
+                all.add(normalize(member));
+            }
+        }
+        all.add(self);
+        return List.copyOf(all);
+    }
+
+    private static String normalize(String url) {
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,12 @@
+package ch.battleship.battleshipbackend.cluster;
+
+/**
+ * Wird publiziert, wenn sich die Mitglieder des Clusters ändern. Lokale Zustände
+ * (Caches, Zuschauer) von Spielen, die diesem Knoten nicht mehr gehören, werden verworfen.
+ */
+public record ClusterMembershipChangedEvent(ConsistentHashRing ring, String self) {
+
+    public boolean isLocal(String gameCode) {
+        return ring.ownerOf(gameCode).equals(self);
+    }
+}
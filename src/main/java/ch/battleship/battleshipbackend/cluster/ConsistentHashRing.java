@@ -0,0 +1,66 @@
+package ch.battleship.battleshipbackend.cluster;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Unveränderlicher Hash-Ring mit virtuellen Knoten. Jeder Knoten belegt virtualNodes
+ * Positionen; ein Schlüssel gehört dem ersten Knoten im Uhrzeigersinn.
+ * Beim Hinzufügen/Entfernen eines Knotens wandern nur ca. 1/n der Schlüssel.
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring;
+    private final List<String> members;
+    private final int virtualNodes;
+
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("Ring needs at least one member");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+
+        TreeMap<Long, String> positions = new TreeMap<>();
+        for (String member : members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                positions.put(hash(member + "#" + i), member);
+            }
+        }
+        this.ring = positions;
+        this.members = List.copyOf(members);
+        this.virtualNodes = virtualNodes;
+    }
+
+    public String ownerOf(String key) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public List<String> getMembers() {
+        return members;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    // FNV-1a (64 Bit) mit SplitMix64-Finalizer für gute Streuung auch bei ähnlichen Keys
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= (h >>> 30);
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= (h >>> 27);
+        h *= 0x94d049bb133111ebL;
+        h ^= (h >>> 31);
+        return h;
+    }
+}
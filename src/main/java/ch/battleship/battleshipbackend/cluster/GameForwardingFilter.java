@@ -0,0 +1,246 @@
+package ch.battleship.battleshipbackend.cluster;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Leitet Anfragen zu einem Spiel an den zuständigen Knoten weiter (Reverse Proxy).
+ * <p>
+ * Weitergeleitete Anfragen tragen den Header X-Battleship-Forwarded und das Cluster-Secret
+ * in X-Battleship-Cluster-Secret; nur dann werden sie beim Empfänger immer lokal bearbeitet
+ * (keine Schleifen). Von aussen kommend werden beide Header entfernt.
+ * <p>
+ * Kommt keine Verbindung zum Besitzer zustande, werden nur GET und HEAD lokal aus der gemeinsamen
+ * Datenbank beantwortet (die Antwort kann veraltet sein); schreibende Anfragen erhalten 503, denn
+ * lokal ausgeführt sähen die Caches und Event-Abonnenten des Besitzers die Änderung nie.
+ * Scheitert die Weiterleitung erst danach (z.B. Zeitüberschreitung), hat der Besitzer die Anfrage
+ * womöglich schon bearbeitet: 502, ohne lokalen Versuch.
+ * WebSocket-Handshakes lassen sich nicht weiterleiten; sie erhalten 421 und den Besitzer
+ * im Header X-Battleship-Owner.
+ */
+public class GameForwardingFilter extends OncePerRequestFilter {
+
+    public static final String FORWARDED_HEADER = "X-Battleship-Forwarded";
+    public static final String OWNER_HEADER = "X-Battleship-Owner";
+    public static final String SECRET_HEADER = "X-Battleship-Cluster-Secret";
+
+    private static final Logger log = LoggerFactory.getLogger(GameForwardingFilter.class);
+
+    private static final Pattern API_PATH = Pattern.compile("^/api/games/([^/]+)(/.*)?$");
+    private static final Pattern WS_PATH = Pattern.compile("^/ws/games/([^/]+)/.*$");
+
+    // von HttpClient verboten bzw. pro Verbindung gültig
+    private static final Set<String> HOP_BY_HOP = Set.of(
+            "connection", "content-length", "expect", "host", "keep-alive", "proxy-connection",
+            "te", "trailer", "transfer-encoding", "upgrade");
+
+    private final ClusterMembership membership;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+
+    public GameForwardingFilter(ClusterMembership membership, Duration timeout) {
+        this.membership = membership;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        boolean forwarded = request.getHeader(FORWARDED_HEADER) != null
+                && membership.isClusterSecret(request.getHeader(SECRET_HEADER));
+        if (!forwarded && (request.getHeader(FORWARDED_HEADER) != null || request.getHeader(SECRET_HEADER) != null)) {
+            request = new ExternalRequest(request);
+        }
+
+        if (membership.isEnabled() && !forwarded) {
+            Matcher ws = WS_PATH.matcher(path);
+            if (ws.matches() && !membership.isLocal(ws.group(1))) {
+                response.setHeader(OWNER_HEADER, membership.ownerOf(ws.group(1)));
+                response.sendError(421, "Game is owned by another node");
+                return;
+            }
+
+            Matcher api = API_PATH.matcher(path);
+            if (api.matches() && !membership.isLocal(api.group(1))) {
+                CachedBodyRequest cached = new CachedBodyRequest(request);
+                if (forward(cached, response, membership.ownerOf(api.group(1)))) {
+                    return;
+                }
+                request = cached;
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private boolean forward(CachedBodyRequest request, HttpServletResponse response, String owner) throws IOException {
+        String query = request.getQueryString();
+        URI target = URI.create(owner + request.getRequestURI() + (query != null ? "?" + query : ""));
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target).timeout(timeout);
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!HOP_BY_HOP.contains(name.toLowerCase()) && !isClusterHeader(name)) {
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    builder.header(name, value);
+                }
+            }
+        }
+        builder.header(FORWARDED_HEADER, membership.getSelf());
+        builder.header(SECRET_HEADER, membership.getSecret());
+        builder.method(request.getMethod(), request.body.length == 0
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(request.body));
+
+        HttpResponse<InputStream> upstream;
+        try {
+            upstream = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            boolean notSent = isConnectFailure(e);
+            if (notSent && isSafe(request.getMethod())) {
+                log.warn("Owner {} unreachable, handling {} locally: {}", owner, target.getPath(), e.toString());
+                return false;
+            }
+            log.warn("Forwarding {} {} to {} failed: {}", request.getMethod(), target.getPath(), owner, e.toString());
+            response.sendError(notSent ? HttpServletResponse.SC_SERVICE_UNAVAILABLE : HttpServletResponse.SC_BAD_GATEWAY,
+                    "Owner of the game is not reachable");
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Forwarding was interrupted");
+            return true;
+        }
+
+        response.setStatus(upstream.statusCode());
+        upstream.headers().map().forEach((name, values) -> {
+            if (!HOP_BY_HOP.contains(name.toLowerCase())) {
+                values.forEach(value -> response.addHeader(name, value));
+            }
+        });
+        // gestreamt kopieren, damit auch lange Antworten (Streams) durchgereicht werden
+        try (InputStream in = upstream.body()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                response.getOutputStream().write(buffer, 0, read);
+                response.flushBuffer();
+            }
+        }
+        return true;
+    }
+
+    // Verbindung kam nicht zustande: der Besitzer hat die Anfrage sicher nicht erhalten
+    private static boolean isConnectFailure(IOException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConnectException || t instanceof HttpConnectTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSafe(String method) {
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    private static boolean isClusterHeader(String name) {
+        return FORWARDED_HEADER.equalsIgnoreCase(name) || SECRET_HEADER.equalsIgnoreCase(name);
+    }
+
+    // Anfrage von aussen: Cluster-Header sind für alles Weitere unsichtbar
+    private static final class ExternalRequest extends HttpServletRequestWrapper {
+
+        private ExternalRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isClusterHeader(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isClusterHeader(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = Collections.list(super.getHeaderNames());
+            names.removeIf(GameForwardingFilter::isClusterHeader);
+            return Collections.enumeration(names);
+        }
+    }
+
+    // Body einmal lesen, damit er beim lokalen Fallback erneut gelesen werden kann
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+    }
+}
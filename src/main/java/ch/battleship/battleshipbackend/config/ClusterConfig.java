@@ -0,0 +1,30 @@
+package ch.battleship.battleshipbackend.config;
+
+import ch.battleship.battleshipbackend.cluster.ClusterMembership;
+import ch.battleship.battleshipbackend.cluster.GameForwardingFilter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+// Filter wird immer registriert und prüft battleship.cluster.enabled zur Laufzeit –
+// eine @Conditional-Bedingung würde bei Spring AOT schon beim Build eingefroren.
+@Configuration
+public class ClusterConfig {
+
+    @Bean
+    public FilterRegistrationBean<GameForwardingFilter> gameForwardingFilter(
+            ClusterMembership membership,
+            @Value("${battleship.cluster.forward-timeout:PT5S}") Duration timeout) {
+        FilterRegistrationBean<GameForwardingFilter> registration =
+                new FilterRegistrationBean<>(new GameForwardingFilter(membership, timeout));
+        registration.addUrlPatterns("/api/games/*", "/ws/games/*");
+        // vor allen anderen Filtern: nichts lokal anfassen, was weitergeleitet wird
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
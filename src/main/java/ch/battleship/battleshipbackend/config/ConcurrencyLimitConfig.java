@@ -0,0 +1,41 @@
+package ch.battleship.battleshipbackend.config;
+
+import ch.battleship.battleshipbackend.limit.AdaptiveConcurrencyLimit;
+import ch.battleship.battleshipbackend.limit.ConcurrencyLimitFilter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+// Wie beim Cluster-Filter: immer registriert, battleship.limit.enabled wird zur Laufzeit geprüft.
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit(
+            @Value("${battleship.limit.initial:50}") int initial,
+            @Value("${battleship.limit.min:5}") int min,
+            @Value("${battleship.limit.max:500}") int max,
+            @Value("${battleship.limit.latency-threshold:PT0.25S}") Duration latencyThreshold,
+            @Value("${battleship.limit.backoff:0.9}") double backoff,
+            @Value("${battleship.limit.overload-window:PT5S}") Duration overloadWindow) {
+        return new AdaptiveConcurrencyLimit(initial, min, max, latencyThreshold, backoff, overloadWindow);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimit limit,
+            @Value("${battleship.limit.enabled:true}") boolean enabled,
+            @Value("${battleship.limit.retry-after:PT1S}") Duration retryAfter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limit, enabled, retryAfter));
+        registration.addUrlPatterns("/api/games/*", "/api/lobby/*");
+        // nach dem Weiterleiten: gezählt wird nur, was dieser Knoten selbst bearbeitet
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,71 @@
+package ch.battleship.battleshipbackend.config;
+
+import ch.battleship.battleshipbackend.datasource.ReadWriteRoutingDataSource;
+import ch.battleship.battleshipbackend.datasource.ReplicaReadPolicy;
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+// Primary aus spring.datasource.*, optional ein Replica für read-only Transaktionen.
+// Entscheidung zur Laufzeit statt per @Conditional (würde bei Spring AOT eingefroren).
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaReadPolicy replicaReadPolicy,
+                                 @Value("${battleship.datasource.replica.url:}") String url,
+                                 @Value("${battleship.datasource.replica.username:}") String username,
+                                 @Value("${battleship.datasource.replica.password:}") String password) {
+        if (!replicaReadPolicy.isEnabled()) {
+            return primaryDataSource;
+        }
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replica)) {
+            // Replica-Pool ist keine eigene Bean – wird mit dieser geschlossen
+            public void close() {
+                replica.close();
+            }
+        };
+    }
+
+    // Mit Open-Session-in-View hielte die Session sonst die erste Verbindung (evtl. Replica)
+    // für den ganzen Request – auch für eine spätere schreibende Transaktion.
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling(ReplicaReadPolicy replicaReadPolicy) {
+        return properties -> {
+            if (replicaReadPolicy.isEnabled()) {
+                properties.put(AvailableSettings.CONNECTION_HANDLING,
+                        PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+            }
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package ch.battleship.battleshipbackend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+// Streaming-Antworten (Replay) laufen auf virtuellen Threads: eine langsame Wiedergabe
+// blockiert dann keinen Pool-Thread. Timeout begrenzt die Dauer einer einzelnen Antwort.
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    private final Duration timeout;
+
+    public WebAsyncConfig(@Value("${battleship.replay.timeout:PT30M}") Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor()));
+        configurer.setDefaultTimeout(timeout.toMillis());
+    }
+}
@@ -0,0 +1,35 @@
+package ch.battleship.battleshipbackend.config;
+
+import ch.battleship.battleshipbackend.web.websocket.BotWebSocketHandler;
+import ch.battleship.battleshipbackend.web.websocket.SpectatorWebSocketHandler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final SpectatorWebSocketHandler spectatorHandler;
+    private final BotWebSocketHandler botHandler;
+    private final String[] allowedOrigins;
+
+    public WebSocketConfig(SpectatorWebSocketHandler spectatorHandler,
+                           BotWebSocketHandler botHandler,
+                           @Value("${battleship.websocket.allowed-origins:*}") String[] allowedOrigins) {
+        this.spectatorHandler = spectatorHandler;
+        this.botHandler = botHandler;
+        this.allowedOrigins = allowedOrigins;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(spectatorHandler, "/ws/games/*/spectate")
+                .setAllowedOriginPatterns(allowedOrigins);
+        registry.addHandler(botHandler, BotWebSocketHandler.PATH)
+                .setAllowedOriginPatterns(allowedOrigins);
+    }
+}
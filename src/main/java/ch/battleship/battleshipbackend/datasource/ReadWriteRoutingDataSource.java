@@ -0,0 +1,57 @@
+package ch.battleship.battleshipbackend.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Leitet Verbindungen an Primary oder Replica weiter.
+ * <p>
+ * Replica nur, wenn die laufende Transaktion read-only ist <b>und</b> für sie ausdrücklich
+ * freigegeben wurde ({@link #allowReplicaForCurrentTransaction()}). Alles andere – auch
+ * die read-only Defaults von Spring Data – geht an den Primary.
+ * <p>
+ * Muss in eine LazyConnectionDataSourceProxy eingepackt werden: die Transaktion holt ihre
+ * Verbindung beim Begin, das read-only-Flag ist aber erst danach gesetzt.
+ */
+public final class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    // Schlüssel für die Freigabe als Transaktions-Ressource
+    private static final Object REPLICA_ALLOWED = new Object();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.<Object, Object>of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Gibt das Replica für den Rest der laufenden Transaktion frei
+     * (ohne aktive Transaktion wirkungslos).
+     */
+    static void allowReplicaForCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(REPLICA_ALLOWED)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_ALLOWED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_ALLOWED);
+            }
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean replica = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && TransactionSynchronizationManager.hasResource(REPLICA_ALLOWED);
+        return replica ? Route.REPLICA : Route.PRIMARY;
+    }
+}
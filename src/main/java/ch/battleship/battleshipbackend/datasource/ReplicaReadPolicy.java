@@ -0,0 +1,80 @@
+package ch.battleship.battleshipbackend.datasource;
+
+import ch.battleship.battleshipbackend.service.event.GameChangedEvent;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entscheidet, ob ein Lesezugriff auf ein Spiel vom Replica bedient werden darf.
+ * <p>
+ * Das Replica hinkt dem Primary hinterher. Wurde ein Spiel innerhalb von
+ * battleship.datasource.replica.max-staleness geändert, wird es weiter vom Primary gelesen –
+ * so sieht ein Spieler seinen eigenen Schuss sofort. Ohne battleship.datasource.replica.url
+ * läuft alles über den Primary.
+ */
+@Component
+public class ReplicaReadPolicy {
+
+    private final boolean enabled;
+    private final long maxStalenessNanos;
+
+    // gameCode -> Zeitpunkt (nanoTime) der letzten Änderung
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReplicaReadPolicy(@Value("${battleship.datasource.replica.url:}") String replicaUrl,
+                             @Value("${battleship.datasource.replica.max-staleness:PT2S}") Duration maxStaleness) {
+        this.enabled = !replicaUrl.isBlank();
+        this.maxStalenessNanos = maxStaleness.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // beim Publizieren (noch vor dem Commit) vermerken, damit auch das Commit-Fenster abgedeckt ist
+    @EventListener
+    public void onGameChanged(GameChangedEvent event) {
+        if (enabled) {
+            lastWrites.put(event.gameCode(), System.nanoTime());
+        }
+    }
+
+    /**
+     * Gibt das Replica für die laufende read-only Transaktion frei,
+     * sofern das Spiel nicht kürzlich geändert wurde.
+     */
+    public void allowReplicaRead(String gameCode) {
+        if (!enabled) {
+            return;
+        }
+        Long lastWrite = lastWrites.get(gameCode);
+        if (lastWrite != null && System.nanoTime() - lastWrite < maxStalenessNanos) {
+            return;
+        }
+        ReadWriteRoutingDataSource.allowReplicaForCurrentTransaction();
+    }
+
+    /**
+     * Gibt das Replica ohne Prüfung der letzten Änderungen frei – für Auswertungen über alle
+     * Spiele (Export), bei denen ein paar Sekunden Rückstand keine Rolle spielen.
+     */
+    public void allowStaleReplicaRead() {
+        if (enabled) {
+            ReadWriteRoutingDataSource.allowReplicaForCurrentTransaction();
+        }
+    }
+
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.SECONDS)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(t -> now - t >= maxStalenessNanos);
+    }
+}
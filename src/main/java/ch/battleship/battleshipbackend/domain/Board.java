@@ -2,6 +2,8 @@ package ch.battleship.battleshipbackend.domain;
 
 import ch.battleship.battleshipbackend.domain.common.BaseEntity;
 import ch.battleship.battleshipbackend.domain.enums.Orientation;
+import ch.battleship.engine.BoardState;
+import ch.battleship.engine.ShotOutcome;
 
 import jakarta.persistence.*;
 
@@ -10,10 +12,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
 
 @Entity
 @Table(name = "boards")
@@ -32,14 +33,46 @@ public class Board extends BaseEntity {
     @JoinColumn(name = "owner_id")
     private Player owner;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "board_id") // FK in ship_placements
-    private List<ShipPlacement> placements = new ArrayList<>();
+    // ganze Flotte in einer Spalte statt je einer Zeile in ship_placements und ships (siehe Fleet)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "fleet", nullable = false, length = Fleet.MAX_SHIPS * Fleet.BYTES_PER_SHIP)
+    private byte[] fleetData = new byte[0];
+
+    // erst beim ersten Zugriff aus fleetData dekodiert
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Transient
+    private Fleet fleet;
+
+    // beschossene Felder als Bitset (Bit y * width + x, niederwertigstes Bit zuerst): der Zustand
+    // lässt sich so ohne die Schüsse des Spiels wiederherstellen
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "shot_cells", nullable = false,
+            length = Fleet.MAX_BOARD_SIDE * Fleet.MAX_BOARD_SIDE / Byte.SIZE)
+    private byte[] shotData = new byte[0];
+
+    // Anzahl noch nicht getroffener Schiffsfelder; nach jedem Schuss aus dem BoardState der Engine übernommen
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false)
+    private int remainingShipCells;
 
     public Board(int width, int height, Player owner) {
+        if (width < 1 || height < 1 || width > Fleet.MAX_BOARD_SIDE || height > Fleet.MAX_BOARD_SIDE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + Fleet.MAX_BOARD_SIDE);
+        }
         this.width = width;
         this.height = height;
         this.owner = owner;
+        this.shotData = new byte[shotBytes(width, height)];
+    }
+
+    /**
+     * Schiffe in Platzierungsreihenfolge (nur lesend).
+     */
+    public List<ShipPlacement> getPlacements() {
+        return fleet().placements();
     }
 
     /**
@@ -47,43 +80,66 @@ public class Board extends BaseEntity {
      * (Boardgrenzen + keine Überlappung).
      */
     public boolean canPlaceShip(Ship ship, Coordinate start, Orientation orientation) {
-        ShipPlacement candidate = new ShipPlacement(ship, start, orientation);
-        List<Coordinate> newCoords = candidate.getCoveredCoordinates();
-
-        // 1) Board-Grenzen prüfen (wie bisher)
-        for (Coordinate c : newCoords) {
-            if (c.getX() < 0 || c.getX() >= width ||
-                    c.getY() < 0 || c.getY() >= height) {
-                return false;
-            }
-        }
+        return fleet().canPlace(new ShipPlacement(ship, start, orientation));
+    }
 
-        // 2) Überlappung mit existierenden Placements prüfen (funktional)
-        Set<Coordinate> newCoordSet = new HashSet<>(newCoords);
+    /**
+     * Platziert ein Schiff, oder wirft eine IllegalStateException,
+     * wenn die Platzierung nicht erlaubt ist.
+     */
+    public ShipPlacement placeShip(Ship ship, Coordinate start, Orientation orientation) {
+        ShipPlacement placement = new ShipPlacement(ship, start, orientation);
+        Fleet current = fleet();
+        current.add(placement);
+        fleetData = current.encode();
+        remainingShipCells = current.state().remainingShipCells();
+        return placement;
+    }
 
-        boolean overlaps = placements.stream()
-                .flatMap(p -> p.getCoveredCoordinates().stream())
-                .anyMatch(newCoordSet::contains);
+    /**
+     * Schiff auf dem Feld, null bei Wasser (O(1) über die Belegungstabelle).
+     */
+    public ShipPlacement placementAt(Coordinate coordinate) {
+        return fleet().at(coordinate);
+    }
 
-        if (overlaps) {
-            return false;
+    /**
+     * Schuss auf den Zustand in der Engine; ein bereits beschossenes Feld liefert ALREADY_SHOT.
+     * Bitset und verbliebene Schiffsfelder werden gleich mitgeschrieben.
+     */
+    ShotOutcome fire(Coordinate coordinate) {
+        BoardState state = fleet().state();
+        ShotOutcome outcome = state.fire(coordinate.getX(), coordinate.getY());
+        if (outcome != ShotOutcome.ALREADY_SHOT) {
+            int cell = coordinate.getY() * width + coordinate.getX();
+            shotData[cell >>> 3] |= (byte) (1 << (cell & 7));
         }
-
-        return true;
+        remainingShipCells = state.remainingShipCells();
+        return outcome;
     }
 
     /**
-     * Platziert ein Schiff, oder wirft eine IllegalStateException,
-     * wenn die Platzierung nicht erlaubt ist.
+     * true, sobald alle Schiffsfelder getroffen wurden (O(1) über die gespeicherte Spalte,
+     * ohne Flotte oder Schüsse zu laden). Ein Board ohne Schiffe gilt nicht als zerstört.
      */
-    public ShipPlacement placeShip(Ship ship, Coordinate start, Orientation orientation) {
-        if (!canPlaceShip(ship, start, orientation)) {
-            throw new IllegalStateException("Cannot place ship at given position");
+    public boolean isFleetDestroyed() {
+        return remainingShipCells == 0 && fleetData.length > 0;
+    }
+
+    // Flotte dekodieren, danach Schüsse und verbliebene Felder aus den Spalten übernehmen
+    private Fleet fleet() {
+        if (fleet == null) {
+            Fleet decoded = Fleet.of(fleetData, width, height);
+            if (shotData.length < shotBytes(width, height)) {
+                shotData = Arrays.copyOf(shotData, shotBytes(width, height));
+            }
+            decoded.state().restoreShots(BitSet.valueOf(shotData).toLongArray(), remainingShipCells);
+            fleet = decoded;
         }
+        return fleet;
+    }
 
-        ShipPlacement placement = new ShipPlacement(ship, start, orientation);
-        placements.add(placement);
-        return placement;
+    private static int shotBytes(int width, int height) {
+        return (width * height + Byte.SIZE - 1) / Byte.SIZE;
     }
 }
-
@@ -0,0 +1,109 @@
+package ch.battleship.battleshipbackend.domain;
+
+import ch.battleship.battleshipbackend.domain.enums.Orientation;
+import ch.battleship.battleshipbackend.domain.enums.ShipType;
+import ch.battleship.engine.BoardState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Flotte eines Boards. Gespeichert wird sie als eine Spalte mit 3 Bytes pro Schiff in
+ * Platzierungsreihenfolge: {@code Typ << 1 | vertikal}, x, y.
+ * <p>
+ * {@link Board} dekodiert erst beim ersten Zugriff in einen {@link BoardState} der Engine;
+ * Platzierungs- und Trefferprüfung laufen dort über primitive Arrays. Hier bleibt nur die
+ * Abbildung auf die Domänenobjekte.
+ */
+public final class Fleet {
+
+    public static final int BYTES_PER_SHIP = 3;
+    // x und y je ein Byte
+    public static final int MAX_BOARD_SIDE = BoardState.MAX_SIDE;
+    public static final int MAX_SHIPS = BoardState.MAX_SHIPS;
+
+    private static final ShipType[] TYPES = ShipType.values();
+
+    // gleiche Reihenfolge wie die Schiffe in state
+    private final List<ShipPlacement> placements = new ArrayList<>();
+    private final BoardState state;
+
+    Fleet(int width, int height) {
+        this.state = new BoardState(width, height);
+    }
+
+    static Fleet of(byte[] data, int width, int height) {
+        Fleet fleet = new Fleet(width, height);
+        for (ShipPlacement placement : decode(data)) {
+            fleet.add(placement);
+        }
+        return fleet;
+    }
+
+    /**
+     * Liest die Schiffe aus der gespeicherten Spalte.
+     */
+    public static List<ShipPlacement> decode(byte[] data) {
+        if (data == null) {
+            return List.of();
+        }
+        if (data.length % BYTES_PER_SHIP != 0) {
+            throw new IllegalArgumentException("Invalid fleet encoding of length " + data.length);
+        }
+        List<ShipPlacement> placements = new ArrayList<>(data.length / BYTES_PER_SHIP);
+        for (int i = 0; i < data.length; i += BYTES_PER_SHIP) {
+            int header = data[i] & 0xFF;
+            if (header >>> 1 >= TYPES.length) {
+                throw new IllegalArgumentException("Invalid ship type in fleet encoding: " + (header >>> 1));
+            }
+            placements.add(new ShipPlacement(new Ship(TYPES[header >>> 1]),
+                    new Coordinate(data[i + 1] & 0xFF, data[i + 2] & 0xFF),
+                    (header & 1) == 1 ? Orientation.VERTICAL : Orientation.HORIZONTAL));
+        }
+        return placements;
+    }
+
+    byte[] encode() {
+        byte[] data = new byte[placements.size() * BYTES_PER_SHIP];
+        for (int i = 0; i < placements.size(); i++) {
+            ShipPlacement p = placements.get(i);
+            data[i * BYTES_PER_SHIP] = (byte) (p.getShip().getType().ordinal() << 1
+                    | (p.getOrientation() == Orientation.VERTICAL ? 1 : 0));
+            data[i * BYTES_PER_SHIP + 1] = (byte) p.getStart().getX();
+            data[i * BYTES_PER_SHIP + 2] = (byte) p.getStart().getY();
+        }
+        return data;
+    }
+
+    List<ShipPlacement> placements() {
+        return Collections.unmodifiableList(placements);
+    }
+
+    BoardState state() {
+        return state;
+    }
+
+    /**
+     * Innerhalb des Boards und ohne Überlappung.
+     */
+    boolean canPlace(ShipPlacement candidate) {
+        return state.canPlace(candidate.getShip().getSize(), candidate.getStart().getX(), candidate.getStart().getY(),
+                candidate.getOrientation() == Orientation.VERTICAL);
+    }
+
+    void add(ShipPlacement placement) {
+        state.place(placement.getShip().getType().ordinal(), placement.getShip().getSize(),
+                placement.getStart().getX(), placement.getStart().getY(),
+                placement.getOrientation() == Orientation.VERTICAL);
+        placements.add(placement);
+    }
+
+    /**
+     * Schiff auf dem Feld, null bei Wasser oder ausserhalb des Boards.
+     */
+    ShipPlacement at(Coordinate coordinate) {
+        int ship = state.shipAt(coordinate.getX(), coordinate.getY());
+        return ship < 0 ? null : placements.get(ship);
+    }
+}
@@ -3,14 +3,21 @@ package ch.battleship.battleshipbackend.domain;
 import ch.battleship.battleshipbackend.domain.common.BaseEntity;
 import ch.battleship.battleshipbackend.domain.enums.GameStatus;
 import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+import ch.battleship.engine.TurnOrder;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
 
 @Entity
 @Table(name = "games")
@@ -19,6 +26,9 @@ import java.util.List;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Game extends BaseEntity {
 
+    // ein Bit pro Spieler in alivePlayers
+    public static final int MAX_PLAYERS = TurnOrder.MAX_PLAYERS;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private GameStatus status;
@@ -26,80 +36,213 @@ public class Game extends BaseEntity {
     @Column(nullable = false, unique = true, length = 64)
     private String gameCode;
 
+    // Aggregat-Version: steigt bei jeder Änderung (auch an players/boards/shots)
+    @Version
+    private long version;
+
     @Embedded
     private GameConfiguration config;
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "game_id") // FK in players-Tabelle, aber Player kennt Game nicht
+    @OrderBy("seat")
     private List<Player> players = new ArrayList<>();
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "game_id") // FK in boards-Tabelle, Board kennt Game nicht
+    @OrderBy("createdAt")
     private List<Board> boards = new ArrayList<>();
 
+    // Schussreihenfolge wie im Archiv (ArchivedGame.FIRING_ORDER)
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "game_id")
+    @OrderBy("createdAt, id")
     private List<Shot> shots = new ArrayList<>();
 
+    // Spieler, der als nächstes schiessen darf (null = keine Zugreihenfolge aktiv)
+    @ManyToOne
+    @JoinColumn(name = "current_turn_player_id")
+    private Player currentTurn;
+
+    @ManyToOne
+    @JoinColumn(name = "winner_player_id")
+    private Player winner;
+
+    // Letzte Spieleraktion (Erstellen, Beitreten, Schuss) – Basis für Zug- und Idle-Timeouts
+    private Instant lastActivityAt;
+
+    // Bit i = Spieler auf Sitz i hat noch Schiffe; wird bei jedem Ausscheiden nachgeführt
+    @Column(nullable = false)
+    private long alivePlayers;
+
+    // Nachschlagen nach Id und Sitz, erst bei Bedarf aus den Collections aufgebaut
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Index index;
+
     public Game(String gameCode, GameConfiguration config) {
         this.status = GameStatus.WAITING;
         this.gameCode = gameCode;
         this.config = config;
+        this.lastActivityAt = Instant.now();
     }
 
     public void addPlayer(Player player) {
+        if (players.size() == MAX_PLAYERS) {
+            throw new IllegalStateException("Game already has " + MAX_PLAYERS + " players");
+        }
+        player.setSeat(players.size());
         this.players.add(player);
+        this.alivePlayers = TurnOrder.join(alivePlayers, player.getSeat());
+        this.lastActivityAt = Instant.now();
+        this.index = null;
     }
 
     public void addBoard(Board board) {
         this.boards.add(board);
+        this.index = null;
     }
 
     public void addShot(Shot shot) {
         this.shots.add(shot);
     }
 
-    public Shot fireShot(Player shooter, Board targetBoard, Coordinate coordinate) {
-        // 1) Schon geschossen?
-        boolean alreadyShot = shots.stream()
-                .filter(s -> s.getTargetBoard().equals(targetBoard))
-                .anyMatch(s -> s.getCoordinate().equals(coordinate));
-
-        if (alreadyShot) {
-            Shot shot = new Shot(coordinate, ShotResult.ALREADY_SHOT, shooter, targetBoard);
-            addShot(shot);
-            return shot;
+    public Optional<Player> findPlayer(UUID playerId) {
+        Player player = index().playersById.get(playerId);
+        if (player == null && !index.complete) {
+            // Index stammt von vor dem Speichern: neu aufbauen
+            index = null;
+            player = index().playersById.get(playerId);
         }
+        return Optional.ofNullable(player);
+    }
 
-        // 2) Treffer prüfen
-        boolean hit = targetBoard.getPlacements().stream()
-                .flatMap(p -> p.getCoveredCoordinates().stream())
-                .anyMatch(c -> c.equals(coordinate));
-
-        if (!hit) {
-            Shot shot = new Shot(coordinate, ShotResult.MISS, shooter, targetBoard);
-            addShot(shot);
-            return shot;
+    public Optional<Board> findBoard(UUID boardId) {
+        Board board = index().boardsById.get(boardId);
+        if (board == null && !index.complete) {
+            index = null;
+            board = index().boardsById.get(boardId);
         }
+        return Optional.ofNullable(board);
+    }
+
+    /**
+     * true, sobald die Flotte des Spielers zerstört ist (bzw. er aufgegeben hat).
+     */
+    public boolean isEliminated(Player player) {
+        return !TurnOrder.isAlive(alivePlayers, player.getSeat());
+    }
+
+    public int getPlayersLeft() {
+        return TurnOrder.playersLeft(alivePlayers);
+    }
 
-        // 3) Herausfinden, welches Schiff getroffen wurde
-        ShipPlacement hitPlacement = targetBoard.getPlacements().stream()
-                .filter(p -> p.getCoveredCoordinates().contains(coordinate))
-                .findFirst()
-                .orElseThrow(); // sollte nicht passieren, da hit == true
-
-        // 4) Prüfen, ob das Schiff jetzt komplett versenkt ist
-        boolean allCoordsOfShipHit = hitPlacement.getCoveredCoordinates().stream()
-                .allMatch(shipCoord ->
-                        shots.stream()
-                                .filter(s -> s.getTargetBoard().equals(targetBoard))
-                                .anyMatch(s -> s.getCoordinate().equals(shipCoord))
-                                || shipCoord.equals(coordinate) // aktueller Schuss
-                );
-
-        ShotResult result = allCoordsOfShipHit ? ShotResult.SUNK : ShotResult.HIT;
-        Shot shot = new Shot(coordinate, result, shooter, targetBoard);
+    /**
+     * Startet das Spiel: Status RUNNING, der erste Spieler beginnt.
+     */
+    public void start() {
+        this.status = GameStatus.RUNNING;
+        this.currentTurn = players.isEmpty() ? null : players.get(0);
+    }
+
+    /**
+     * O(1)-Prüfung, ob der Spieler am Zug ist. Ohne aktive Zugreihenfolge ist jeder am Zug.
+     */
+    public boolean isTurnOf(UUID playerId) {
+        return currentTurn == null || Objects.equals(currentTurn.getId(), playerId);
+    }
+
+    public Shot fireShot(Player shooter, Board targetBoard, Coordinate coordinate) {
+        Shot shot = resolveShot(shooter, targetBoard, coordinate);
         addShot(shot);
+        this.lastActivityAt = Instant.now();
+
+        if ((shot.getResult() == ShotResult.HIT || shot.getResult() == ShotResult.SUNK)
+                && targetBoard.isFleetDestroyed()) {
+            eliminate(targetBoard.getOwner());
+            if (getPlayersLeft() == 1) {
+                finish(shooter);
+                return shot;
+            }
+        }
+
+        // Zug geht reihum an den nächsten verbliebenen Spieler (im Duell: der Beschossene)
+        this.currentTurn = nextAlive(shooter);
         return shot;
     }
+
+    /**
+     * Der Spieler am Zug scheidet aus (z.B. Zeitüberschreitung). Bleibt nur ein Spieler übrig,
+     * gewinnt er; sonst ist der nächste verbliebene Spieler am Zug.
+     */
+    public void forfeit() {
+        if (status != GameStatus.RUNNING) {
+            throw new IllegalStateException("Only a RUNNING game can be forfeited");
+        }
+        Player loser = currentTurn;
+        if (loser == null) {
+            throw new IllegalStateException("No player is at turn");
+        }
+        // vor dem Ausscheiden prüfen, damit das Spiel bei einem Fehler unverändert bleibt
+        if (getPlayersLeft() <= 1) {
+            throw new IllegalStateException("Game has no opponent");
+        }
+        eliminate(loser);
+        Player next = nextAlive(loser);
+        if (getPlayersLeft() == 1) {
+            finish(next);
+        } else {
+            this.currentTurn = next;
+            this.lastActivityAt = Instant.now();
+        }
+    }
+
+    private void eliminate(Player player) {
+        this.alivePlayers = TurnOrder.eliminate(alivePlayers, player.getSeat());
+    }
+
+    private Player nextAlive(Player after) {
+        return index().playersBySeat[TurnOrder.next(alivePlayers, after.getSeat())];
+    }
+
+    private void finish(Player winner) {
+        this.status = GameStatus.FINISHED;
+        this.winner = winner;
+        this.currentTurn = null;
+    }
+
+    private Shot resolveShot(Player shooter, Board targetBoard, Coordinate coordinate) {
+        // Regeln liegen in der Engine; die Boards stellen ihren Zustand selbst aus ihren Spalten her
+        return new Shot(coordinate, ShotResult.from(targetBoard.fire(coordinate)), shooter, targetBoard);
+    }
+
+    private Index index() {
+        if (index == null) {
+            index = new Index(players, boards);
+        }
+        return index;
+    }
+
+    private static final class Index {
+
+        private final Map<UUID, Player> playersById = new HashMap<>();
+        private final Map<UUID, Board> boardsById = new HashMap<>();
+        private final Player[] playersBySeat;
+        // false, solange Spieler oder Boards noch keine Id hatten (vor dem Persistieren)
+        private boolean complete = true;
+
+        Index(List<Player> players, List<Board> boards) {
+            playersBySeat = new Player[MAX_PLAYERS];
+            for (Player player : players) {
+                playersById.put(player.getId(), player);
+                playersBySeat[player.getSeat()] = player;
+                complete &= player.getId() != null;
+            }
+            for (Board board : boards) {
+                boardsById.put(board.getId(), board);
+                complete &= board.getId() != null;
+            }
+        }
+    }
 }
@@ -6,11 +6,15 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.Duration;
+
 @Embeddable
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class GameConfiguration {
 
+    public static final int CLASSIC_PLAYERS = 2;
+
     @Column(nullable = false)
     private int boardWidth;
 
@@ -21,12 +25,31 @@ public class GameConfiguration {
     private String fleetDefinition;
     // z.B. "2x2,2x3,1x4,1x5" – später kann man das parsen
 
+    // Zeitlimits pro Spiel in Sekunden; null = Server-Default, 0 = deaktiviert
+    private Integer turnTimeoutSeconds;
+
+    private Integer idleTimeoutSeconds;
+
+    // Spieler, mit denen das Spiel startet; null = klassisches Duell
+    private Integer maxPlayers;
+
     private GameConfiguration(int boardWidth, int boardHeight, String fleetDefinition) {
         this.boardWidth = boardWidth;
         this.boardHeight = boardHeight;
         this.fleetDefinition = fleetDefinition;
     }
 
+    public int getMaxPlayers() {
+        return maxPlayers == null ? CLASSIC_PLAYERS : maxPlayers;
+    }
+
+    /**
+     * Jeder gegen jeden: mehr als zwei Spieler; wer seine Flotte verliert, scheidet aus.
+     */
+    public boolean isFreeForAll() {
+        return getMaxPlayers() > CLASSIC_PLAYERS;
+    }
+
     public static GameConfiguration defaultConfig() {
         return new GameConfiguration(
                 10,
@@ -34,5 +57,42 @@ public class GameConfiguration {
                 "2x2,2x3,1x4,1x5"
         );
     }
+
+    /**
+     * Spiel mit {@code players} Spielern (2 bis {@value Game#MAX_PLAYERS}, ab 3 jeder gegen jeden)
+     * und Standardflotte; es startet, sobald alle beigetreten sind.
+     */
+    public static GameConfiguration of(int players, int boardWidth, int boardHeight) {
+        if (players < CLASSIC_PLAYERS || players > Game.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Players must be between " + CLASSIC_PLAYERS + " and " + Game.MAX_PLAYERS);
+        }
+        if (boardWidth < 1 || boardHeight < 1 || boardWidth > Fleet.MAX_BOARD_SIDE || boardHeight > Fleet.MAX_BOARD_SIDE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + Fleet.MAX_BOARD_SIDE);
+        }
+        GameConfiguration config = new GameConfiguration(boardWidth, boardHeight, defaultConfig().fleetDefinition);
+        config.maxPlayers = players == CLASSIC_PLAYERS ? null : players;
+        return config;
+    }
+
+    /**
+     * Kopie mit eigenen Zeitlimits; null übernimmt den Server-Default.
+     */
+    public GameConfiguration withTimeouts(Duration turnTimeout, Duration idleTimeout) {
+        GameConfiguration copy = new GameConfiguration(boardWidth, boardHeight, fleetDefinition);
+        copy.maxPlayers = maxPlayers;
+        copy.turnTimeoutSeconds = toSeconds(turnTimeout);
+        copy.idleTimeoutSeconds = toSeconds(idleTimeout);
+        return copy;
+    }
+
+    private static Integer toSeconds(Duration timeout) {
+        if (timeout == null) {
+            return null;
+        }
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout must not be negative");
+        }
+        return Math.toIntExact(timeout.toSeconds());
+    }
 }
 
@@ -19,6 +19,10 @@ public class Player extends BaseEntity {
     @Column(nullable = false, length = 50)
     private String username;
 
+    // Platz im Spiel in Beitrittsreihenfolge (0, 1, …), setzt Game.addPlayer
+    @Column(nullable = false)
+    private int seat;
+
     // optional:
     // @Column(length = 255)
     // private String email;
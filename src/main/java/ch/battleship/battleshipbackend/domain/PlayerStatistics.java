@@ -0,0 +1,44 @@
+package ch.battleship.battleshipbackend.domain;
+
+import ch.battleship.battleshipbackend.domain.common.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Zusammenfassung pro Username. Wird nicht pro Schuss geschrieben, sondern periodisch
+ * aus den In-Memory-Zählern des PlayerStatisticsService geflusht.
+ */
+@Entity
+@Table(name = "player_statistics")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PlayerStatistics extends BaseEntity {
+
+    @Column(nullable = false, unique = true, length = 50)
+    private String username;
+
+    @Column(nullable = false)
+    private long gamesPlayed;
+
+    @Column(nullable = false)
+    private long wins;
+
+    @Column(nullable = false)
+    private long shotsFired;
+
+    @Column(nullable = false)
+    private long hits;
+
+    @Column(nullable = false)
+    private long sunk;
+
+    public PlayerStatistics(String username) {
+        this.username = username;
+    }
+}
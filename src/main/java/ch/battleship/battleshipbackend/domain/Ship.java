@@ -1,28 +1,19 @@
 package ch.battleship.battleshipbackend.domain;
 
-import ch.battleship.battleshipbackend.domain.common.BaseEntity;
 import ch.battleship.battleshipbackend.domain.enums.ShipType;
 
-import jakarta.persistence.*;
-
-import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 
-@Entity
-@Table(name = "ships")
+/**
+ * Schiff eines bestimmten Typs. Keine eigene Tabelle: gespeichert wird es als Teil der
+ * Flotte seines Boards (siehe {@link Fleet}).
+ */
 @Getter
-@Setter
-@NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class Ship extends BaseEntity {
+public class Ship {
 
-    @Enumerated(EnumType.STRING)
-    @Column(nullable = false, length = 20)
-    private ShipType type;
+    private final ShipType type;
 
     // size ist vom ShipType ableitbar
-    @Transient
     public int getSize() {
         return type.getSize();
     }
@@ -30,4 +21,4 @@ public class Ship extends BaseEntity {
     public Ship(ShipType type) {
         this.type = type;
     }
-}
\ No newline at end of file
+}
@@ -1,35 +1,23 @@
 package ch.battleship.battleshipbackend.domain;
 
-import ch.battleship.battleshipbackend.domain.common.BaseEntity;
 import ch.battleship.battleshipbackend.domain.enums.Orientation;
 
-import jakarta.persistence.*;
-
-import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 
 import java.util.ArrayList;
 import java.util.List;
 
-@Entity
-@Table(name = "ship_placements")
+/**
+ * Position eines Schiffs auf einem Board; Teil der {@link Fleet}, keine eigene Tabelle.
+ */
 @Getter
-@Setter
-@NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class ShipPlacement extends BaseEntity {
+public class ShipPlacement {
 
-    @ManyToOne(optional = false)
-    @JoinColumn(name = "ship_id")
-    private Ship ship;
+    private final Ship ship;
 
-    @Embedded
-    private Coordinate start;
+    private final Coordinate start;
 
-    @Enumerated(EnumType.STRING)
-    @Column(nullable = false, length = 10)
-    private Orientation orientation;
+    private final Orientation orientation;
 
     public ShipPlacement(Ship ship, Coordinate start, Orientation orientation) {
         this.ship = ship;
@@ -10,12 +10,15 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "shots")
+@Table(name = "shots", uniqueConstraints =
+        @UniqueConstraint(name = "uk_shots_shooter_request", columnNames = {"shooter_id", "request_id"}))
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Shot extends BaseEntity {
 
+    public static final int MAX_REQUEST_ID_LENGTH = 64;
+
     @Embedded
     private Coordinate coordinate;
 
@@ -31,6 +34,10 @@ public class Shot extends BaseEntity {
     @JoinColumn(name = "target_board_id")
     private Board targetBoard;
 
+    // Idempotency-Key des Clients; nach Ablauf der Dedupe-Frist wieder null
+    @Column(name = "request_id", length = MAX_REQUEST_ID_LENGTH)
+    private String requestId;
+
     public Shot(Coordinate coordinate, ShotResult result, Player shooter, Board targetBoard) {
         this.coordinate = coordinate;
         this.result = result;
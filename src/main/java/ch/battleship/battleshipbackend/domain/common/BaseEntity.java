@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @MappedSuperclass
@@ -23,10 +24,11 @@ public abstract class BaseEntity {
     @Column(nullable = false)
     private Instant updatedAt;
 
-    // Zeitstempel wird automatisch gesetzt
+    // Zeitstempel wird automatisch gesetzt, so genau wie die Datenbank speichert (µs):
+    // dieselbe Entity liefert vor und nach dem Neuladen denselben Wert (Lobby-Cursor)
     @PrePersist
     protected void onCreate() {
-        Instant now = Instant.now();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
         this.createdAt = now;
         this.updatedAt = now;
     }
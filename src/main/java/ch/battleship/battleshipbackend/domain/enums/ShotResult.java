@@ -1,8 +1,19 @@
 package ch.battleship.battleshipbackend.domain.enums;
 
+import ch.battleship.engine.ShotOutcome;
+
 public enum ShotResult {
     MISS,
     HIT,
     SUNK,
-    ALREADY_SHOT
+    ALREADY_SHOT;
+
+    public static ShotResult from(ShotOutcome outcome) {
+        return switch (outcome) {
+            case MISS -> MISS;
+            case HIT -> HIT;
+            case SUNK -> SUNK;
+            case ALREADY_SHOT -> ALREADY_SHOT;
+        };
+    }
 }
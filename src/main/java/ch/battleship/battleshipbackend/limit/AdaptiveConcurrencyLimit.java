@@ -0,0 +1,140 @@
+package ch.battleship.battleshipbackend.limit;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Adaptives Limit für gleichzeitig laufende Anfragen (AIMD).
+ * <p>
+ * Jede schnelle, erfolgreiche Anfrage erhöht das Limit um {@code 1/limit} (also etwa +1 pro
+ * ausgeschöpftem Fenster), eine langsame oder fehlgeschlagene senkt es um den Faktor
+ * {@code backoff} – höchstens einmal pro Latenzschwelle, damit ein einzelner Stau das Limit
+ * nicht mehrfach halbiert. Weniger wichtige Anfragen bekommen nur einen Teil des Limits:
+ * bei Überlast werden zuerst neue Spiele abgewiesen, laufende Schüsse zuletzt.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    public enum Priority {
+        // Schüsse in laufenden Spielen
+        CRITICAL(1.0),
+        // Lesende Anfragen
+        NORMAL(0.9),
+        // Neue Spiele, Beitritt, Lobby
+        LOW(0.6);
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoff;
+    private final long overloadWindowNanos;
+    private final LongSupplier nanoClock;
+
+    // alle Felder unter this
+    private double limit;
+    private int inFlight;
+    private long lastDecrease;
+    private long lastRejection;
+    private boolean rejectedOnce;
+    private long rejected;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    Duration latencyThreshold, double backoff, Duration overloadWindow) {
+        this(initialLimit, minLimit, maxLimit, latencyThreshold, backoff, overloadWindow, System::nanoTime);
+    }
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    Duration latencyThreshold, double backoff, Duration overloadWindow,
+                                    LongSupplier nanoClock) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Require 1 <= min <= initial <= max");
+        }
+        if (backoff <= 0 || backoff >= 1) {
+            throw new IllegalArgumentException("Backoff must be between 0 and 1");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoff = backoff;
+        this.overloadWindowNanos = overloadWindow.toNanos();
+        this.nanoClock = nanoClock;
+        this.lastDecrease = nanoClock.getAsLong() - latencyThresholdNanos;
+    }
+
+    /**
+     * Reserviert einen Platz; leer, wenn das Limit für diese Priorität ausgeschöpft ist.
+     * Der Permit muss in jedem Fall mit {@link Permit#release(boolean)} zurückgegeben werden.
+     */
+    public synchronized Optional<Permit> tryAcquire(Priority priority) {
+        if (inFlight >= Math.max(1, (int) (limit * priority.share))) {
+            rejected++;
+            rejectedOnce = true;
+            lastRejection = nanoClock.getAsLong();
+            return Optional.empty();
+        }
+        inFlight++;
+        return Optional.of(new Permit(nanoClock.getAsLong()));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * true, wenn innerhalb des Überlast-Fensters Anfragen abgewiesen wurden.
+     */
+    public synchronized boolean isOverloaded() {
+        return rejectedOnce && nanoClock.getAsLong() - lastRejection < overloadWindowNanos;
+    }
+
+    private synchronized void onRelease(long startedAt, boolean success) {
+        inFlight--;
+        long now = nanoClock.getAsLong();
+        if (!success || now - startedAt > latencyThresholdNanos) {
+            if (now - lastDecrease >= latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoff);
+                lastDecrease = now;
+            }
+        } else if (inFlight + 1 >= limit / 2) {
+            // nur wachsen, wenn das Limit auch genutzt wird – sonst steigt es im Leerlauf beliebig
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    public final class Permit {
+
+        private final long startedAt;
+        private boolean released;
+
+        private Permit(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        /**
+         * @param success false bei Fehlern, die auf Überlast hindeuten (5xx, Timeouts)
+         */
+        public void release(boolean success) {
+            if (released) {
+                return;
+            }
+            released = true;
+            onRelease(startedAt, success);
+        }
+    }
+}
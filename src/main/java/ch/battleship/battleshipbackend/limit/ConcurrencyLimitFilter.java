@@ -0,0 +1,80 @@
+package ch.battleship.battleshipbackend.limit;
+
+import ch.battleship.battleshipbackend.limit.AdaptiveConcurrencyLimit.Permit;
+import ch.battleship.battleshipbackend.limit.AdaptiveConcurrencyLimit.Priority;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Lässt Anfragen an die Spiel- und Lobby-Endpunkte nur innerhalb des {@link AdaptiveConcurrencyLimit} zu.
+ * <p>
+ * Über dem Limit gibt es sofort 503 mit Retry-After, statt die Anfrage auf einem
+ * Tomcat-Thread warten zu lassen. 5xx-Antworten und Exceptions zählen als Überlastsignal.
+ * Nur der erste Dispatch wird gemessen; gestreamte Antworten (Replay) laufen danach async weiter.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOBBY_PATH = "/api/lobby";
+    private static final Pattern SHOT_PATH = Pattern.compile("^/api/games/[^/]+/boards/[^/]+/shots$");
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimit limit, boolean enabled, Duration retryAfter) {
+        this.limit = limit;
+        this.enabled = enabled;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        if (!enabled) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Optional<Permit> permit = limit.tryAcquire(priorityOf(request));
+        if (permit.isEmpty()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType("text/plain");
+            response.getWriter().write("Server overloaded, retry later");
+            return;
+        }
+
+        boolean success = false;
+        try {
+            chain.doFilter(request, response);
+            success = response.getStatus() < 500;
+        } finally {
+            permit.get().release(success);
+        }
+    }
+
+    // Schüsse vor Lesezugriffen vor neuen Spielen, Beitritten und Lobby
+    static Priority priorityOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith(LOBBY_PATH)) {
+            return Priority.LOW;
+        }
+        if (!"POST".equals(request.getMethod())) {
+            return Priority.NORMAL;
+        }
+        if (SHOT_PATH.matcher(path).matches()) {
+            return Priority.CRITICAL;
+        }
+        return Priority.LOW;
+    }
+}
@@ -1,11 +1,92 @@
 package ch.battleship.battleshipbackend.repository;
 
 import ch.battleship.battleshipbackend.domain.Game;
+import ch.battleship.battleshipbackend.domain.enums.GameStatus;
+import ch.battleship.battleshipbackend.service.event.GameActivityEvent;
+import ch.battleship.battleshipbackend.web.api.dto.ReplayEventDto;
+import ch.battleship.battleshipbackend.web.api.dto.ShotDto;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface GameRepository extends JpaRepository<Game, UUID> {
 
     Optional<Game> findByGameCode(String gameCode);
+
+    List<Game> findAllByGameCodeIn(Collection<String> gameCodes);
+
+    List<Game> findAllByStatus(GameStatus status);
+
+    // Nur die Spalten, die für die Deadline nötig sind – ohne Spieler, Boards und Schüsse
+    @Query("""
+            select new ch.battleship.battleshipbackend.service.event.GameActivityEvent(
+                g.gameCode, g.status, g.lastActivityAt, g.config.turnTimeoutSeconds, g.config.idleTimeoutSeconds)
+            from Game g
+            where g.status <> ch.battleship.battleshipbackend.domain.enums.GameStatus.FINISHED
+            """)
+    Stream<GameActivityEvent> streamOpenGames();
+
+    // Keyset-Paging über gameCode (unique Index)
+    @Query("""
+            select g.gameCode from Game g
+            where g.status = ch.battleship.battleshipbackend.domain.enums.GameStatus.FINISHED
+              and (g.lastActivityAt is null or g.lastActivityAt < :cutoff)
+              and g.gameCode > :after
+            order by g.gameCode
+            """)
+    List<String> findArchivableGameCodes(Instant cutoff, String after, Limit limit);
+
+    boolean existsByGameCode(String gameCode);
+
+    // Alle Codes für den Existenzfilter, ohne Entities und blockweise vom Treiber geholt
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select g.gameCode from Game g")
+    Stream<String> streamGameCodes();
+
+    /**
+     * Eine Seite der Schussreihenfolge nach (createdAt, id), ab dem Keyset-Cursor (exklusiv).
+     * Projektion ohne Entities; der JDBC-Treiber holt die Zeilen in Blöcken (Fetch Size).
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new ch.battleship.battleshipbackend.web.api.dto.ReplayEventDto(
+                s.createdAt, s.id, s.shooter.id, s.targetBoard.id, s.coordinate.x, s.coordinate.y, s.result)
+            from Game g join g.shots s
+            where g.gameCode = :gameCode
+              and (s.createdAt > :afterAt or (s.createdAt = :afterAt and s.id > :afterId))
+            order by s.createdAt, s.id
+            """)
+    Stream<ReplayEventDto> streamShotHistory(String gameCode, Instant afterAt, UUID afterId, Limit limit);
+
+    // Bereits ausgeführter Schuss zu einer Client-Request-Id (Unique-Index shooter_id, request_id)
+    @Query("""
+            select new ch.battleship.battleshipbackend.web.api.dto.ShotDto(
+                s.id, s.shooter.id, s.targetBoard.id, s.coordinate.x, s.coordinate.y, s.result)
+            from Game g join g.shots s
+            where g.gameCode = :gameCode and s.shooter.id = :shooterId and s.requestId = :requestId
+            """)
+    Optional<ShotDto> findShotByRequestId(String gameCode, UUID shooterId, String requestId);
+
+    // Hält den Dedupe-Index klein: alte Request-Ids werden vergessen, die Schüsse bleiben
+    @Transactional
+    @Modifying
+    @Query("update Shot s set s.requestId = null where s.requestId is not null and s.createdAt < :cutoff")
+    int clearShotRequestIds(Instant cutoff);
 }
@@ -0,0 +1,44 @@
+package ch.battleship.battleshipbackend.repository;
+
+import ch.battleship.battleshipbackend.domain.PlayerStatistics;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface PlayerStatisticsRepository extends JpaRepository<PlayerStatistics, UUID> {
+
+    Optional<PlayerStatistics> findByUsername(String username);
+
+    List<PlayerStatistics> findByUsernameIn(Collection<String> usernames);
+
+    List<PlayerStatistics> findByOrderByWinsDescGamesPlayedAscUsernameAsc(Pageable pageable);
+
+    // Deltas addieren statt absolute Werte schreiben: mehrere Knoten können gleichzeitig flushen
+    @Modifying
+    @Transactional
+    @Query("""
+            update PlayerStatistics p
+               set p.gamesPlayed = p.gamesPlayed + :gamesPlayed,
+                   p.wins = p.wins + :wins,
+                   p.shotsFired = p.shotsFired + :shotsFired,
+                   p.hits = p.hits + :hits,
+                   p.sunk = p.sunk + :sunk,
+                   p.updatedAt = :now
+             where p.username = :username
+            """)
+    int addDeltas(@Param("username") String username,
+                  @Param("gamesPlayed") long gamesPlayed,
+                  @Param("wins") long wins,
+                  @Param("shotsFired") long shotsFired,
+                  @Param("hits") long hits,
+                  @Param("sunk") long sunk,
+                  @Param("now") Instant now);
+}
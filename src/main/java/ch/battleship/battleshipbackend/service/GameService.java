@@ -1,42 +1,100 @@
 package ch.battleship.battleshipbackend.service;
 
+import ch.battleship.battleshipbackend.datasource.ReplicaReadPolicy;
 import ch.battleship.battleshipbackend.domain.*;
 import ch.battleship.battleshipbackend.domain.enums.GameStatus;
 import ch.battleship.battleshipbackend.repository.GameRepository;
 
+import ch.battleship.battleshipbackend.service.code.GameCodeFilter;
+import ch.battleship.battleshipbackend.service.code.GameCodeGenerator;
+import ch.battleship.battleshipbackend.service.event.GameActivityEvent;
+import ch.battleship.battleshipbackend.service.event.GameChangedEvent;
+import ch.battleship.battleshipbackend.service.event.GameFinishedEvent;
+import ch.battleship.battleshipbackend.service.event.LobbyEvent;
+import ch.battleship.battleshipbackend.service.event.ShotFiredEvent;
 import ch.battleship.battleshipbackend.web.api.dto.BoardStateDto;
+import ch.battleship.battleshipbackend.web.api.dto.CompactBoardStateDto;
 import ch.battleship.battleshipbackend.web.api.dto.ShipPlacementDto;
 import ch.battleship.battleshipbackend.web.api.dto.ShotDto;
 import jakarta.persistence.EntityNotFoundException;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Objects;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 @Service
 @Transactional
 public class GameService {
 
+    // 40 Bit pro Code: schon die zweite Kollision in Folge ist praktisch ausgeschlossen
+    private static final int MAX_CODE_ATTEMPTS = 5;
+
     private final GameRepository gameRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReplicaReadPolicy replicaReadPolicy;
+    private final GameCodeGenerator codeGenerator;
+    private final GameCodeFilter codeFilter;
 
-    public GameService(GameRepository gameRepository) {
+    public GameService(GameRepository gameRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       ReplicaReadPolicy replicaReadPolicy,
+                       GameCodeGenerator codeGenerator,
+                       GameCodeFilter codeFilter) {
         this.gameRepository = gameRepository;
+        this.eventPublisher = eventPublisher;
+        this.replicaReadPolicy = replicaReadPolicy;
+        this.codeGenerator = codeGenerator;
+        this.codeFilter = codeFilter;
     }
 
     public Game createNewGame() {
-        String gameCode = UUID.randomUUID().toString();
-        GameConfiguration config = GameConfiguration.defaultConfig();
+        return createNewGame(GameConfiguration.defaultConfig());
+    }
+
+    public Game createNewGame(GameConfiguration config) {
+        String gameCode = newGameCode();
         Game game = new Game(gameCode, config);
-        return gameRepository.save(game);
+        Game saved = gameRepository.save(game);
+        eventPublisher.publishEvent(new GameChangedEvent(gameCode));
+        eventPublisher.publishEvent(GameActivityEvent.of(saved));
+        eventPublisher.publishEvent(LobbyEvent.opened(saved));
+        return saved;
+    }
+
+    // Filter sagt "sicher frei" → keine Abfrage; sonst prüft die DB. Letzte Absicherung ist der Unique-Index
+    private String newGameCode() {
+        for (int attempt = 0; attempt < MAX_CODE_ATTEMPTS; attempt++) {
+            String gameCode = codeGenerator.next();
+            if (!codeFilter.mightExist(gameCode) || !gameRepository.existsByGameCode(gameCode)) {
+                return gameCode;
+            }
+        }
+        throw new IllegalStateException("Could not generate a free game code");
     }
 
+    // read-only: Hibernate ohne Flush und Dirty-Checking, darf vom Replica lesen
+    @Transactional(readOnly = true)
     public Optional<Game> getByGameCode(String gameCode) {
+        replicaReadPolicy.allowReplicaRead(gameCode);
         return gameRepository.findByGameCode(gameCode);
     }
 
+    /**
+     * Lädt ein Spiel und wendet den Reader innerhalb derselben (read-only) Transaktion an
+     * (z.B. DTO-Mapping inkl. Lazy-Collections).
+     */
+    @Transactional(readOnly = true)
+    public <T> Optional<T> withGame(String gameCode, Function<Game, T> reader) {
+        replicaReadPolicy.allowReplicaRead(gameCode);
+        return gameRepository.findByGameCode(gameCode).map(reader);
+    }
+
     public Game joinGame(String gameCode, String username) {
         Game game = gameRepository.findByGameCode(gameCode)
                 .orElseThrow(() -> new EntityNotFoundException("Game not found: " + gameCode));
@@ -46,8 +104,9 @@ public class GameService {
         }
 
         int currentPlayers = game.getPlayers().size();
-        if (currentPlayers >= 2) {
-            throw new IllegalStateException("Game already has 2 players");
+        int maxPlayers = game.getConfig().getMaxPlayers();
+        if (currentPlayers >= maxPlayers) {
+            throw new IllegalStateException("Game already has " + maxPlayers + " players");
         }
 
         Player player = new Player(username);
@@ -60,14 +119,43 @@ public class GameService {
         );
         game.addBoard(board);
 
-        if (currentPlayers + 1 == 2) {
-            game.setStatus(GameStatus.RUNNING);
+        // Start, sobald alle Plätze besetzt sind (Duell: mit dem zweiten Spieler)
+        if (currentPlayers + 1 == maxPlayers) {
+            game.start();
         }
 
-        return gameRepository.save(game);
+        Game saved = gameRepository.save(game);
+        eventPublisher.publishEvent(new GameChangedEvent(gameCode));
+        eventPublisher.publishEvent(GameActivityEvent.of(saved));
+        eventPublisher.publishEvent(LobbyEvent.changed(saved));
+        return saved;
     }
 
     public Shot fireShot(String gameCode, UUID shooterId, UUID targetBoardId, int x, int y) {
+        return fire(gameCode, shooterId, targetBoardId, x, y, null);
+    }
+
+    /**
+     * Wie {@link #fireShot}, aber idempotent pro (Schütze, requestId): gibt es den Schuss zu
+     * dieser Id schon, wird er unverändert zurückgegeben – ohne das Spiel zu laden.
+     *
+     * @throws IllegalArgumentException wenn die Id schon für einen anderen Schuss verwendet wurde
+     */
+    public ShotDto fireShotOnce(String gameCode, UUID shooterId, UUID targetBoardId, int x, int y, String requestId) {
+        if (requestId.isBlank() || requestId.length() > Shot.MAX_REQUEST_ID_LENGTH) {
+            throw new IllegalArgumentException("Invalid request id");
+        }
+        Optional<ShotDto> existing = gameRepository.findShotByRequestId(gameCode, shooterId, requestId);
+        if (existing.isPresent()) {
+            if (!existing.get().isSameTarget(targetBoardId, x, y)) {
+                throw new IllegalArgumentException("Request id was already used for a different shot");
+            }
+            return existing.get();
+        }
+        return ShotDto.from(fire(gameCode, shooterId, targetBoardId, x, y, requestId));
+    }
+
+    private Shot fire(String gameCode, UUID shooterId, UUID targetBoardId, int x, int y, String requestId) {
         Game game = gameRepository.findByGameCode(gameCode)
                 .orElseThrow(() -> new EntityNotFoundException("Game not found: " + gameCode));
 
@@ -75,20 +163,25 @@ public class GameService {
             throw new IllegalStateException("Cannot fire shot when game is not RUNNING");
         }
 
-        Player shooter = game.getPlayers().stream()
-                .filter(p -> Objects.equals(p.getId(), shooterId))
-                .findFirst()
+        // Zugreihenfolge: O(1), noch vor Lookup und Persistenz
+        if (!game.isTurnOf(shooterId)) {
+            throw new IllegalStateException("It is not the turn of this player");
+        }
+
+        // Nachschlagen über den Index des Spiels: unabhängig von der Anzahl Spieler
+        Player shooter = game.findPlayer(shooterId)
                 .orElseThrow(() -> new IllegalStateException("Shooter does not belong to this game"));
 
-        Board targetBoard = game.getBoards().stream()
-                .filter(b -> Objects.equals(b.getId(), targetBoardId))
-                .findFirst()
+        Board targetBoard = game.findBoard(targetBoardId)
                 .orElseThrow(() -> new IllegalStateException("Board does not belong to this game"));
 
         // Optional: verhindern, dass man auf das eigene Board schießt
-        if (Objects.equals(targetBoard.getOwner().getId(), shooterId)) {
+        if (targetBoard.getOwner().getSeat() == shooter.getSeat()) {
             throw new IllegalStateException("Player cannot shoot at own board");
         }
+        if (game.isEliminated(targetBoard.getOwner())) {
+            throw new IllegalStateException("Player of this board is already eliminated");
+        }
 
         // Bounds Check
         if (x < 0 || x >= targetBoard.getWidth() ||
@@ -97,20 +190,93 @@ public class GameService {
         }
 
         Coordinate coordinate = new Coordinate(x, y);
-        Shot shot = game.fireShot(shooter, targetBoard, coordinate);
+        game.fireShot(shooter, targetBoard, coordinate).setRequestId(requestId);
+
+        Game saved = gameRepository.save(game); // Shots werden per Cascade mitgespeichert
+        // merge() legt für den neuen Shot eine verwaltete Kopie an – nur diese hat eine Id
+        Shot shot = saved.getShots().get(saved.getShots().size() - 1);
 
-        gameRepository.save(game); // Shots werden per Cascade mitgespeichert
+        publishShotEvents(saved, shot);
         return shot;
     }
 
+    // Listener (Statistiken etc.) laufen erst nach dem Commit
+    private void publishShotEvents(Game game, Shot shot) {
+        eventPublisher.publishEvent(new GameChangedEvent(game.getGameCode()));
+        eventPublisher.publishEvent(GameActivityEvent.of(game));
+
+        int sequence = game.getShots().size();
+        eventPublisher.publishEvent(new ShotFiredEvent(
+                game.getGameCode(),
+                sequence,
+                shot.getId(),
+                shot.getShooter().getId(),
+                shot.getShooter().getUsername(),
+                shot.getTargetBoard().getId(),
+                shot.getCoordinate().getX(),
+                shot.getCoordinate().getY(),
+                shot.getResult()
+        ));
+
+        if (game.getStatus() == GameStatus.FINISHED) {
+            publishFinished(game);
+        }
+    }
+
+    private void publishFinished(Game game) {
+        eventPublisher.publishEvent(new GameFinishedEvent(
+                game.getGameCode(),
+                game.getShots().size(),
+                game.getWinner().getId(),
+                game.getWinner().getUsername(),
+                game.getPlayers().stream().map(Player::getUsername).toList()
+        ));
+    }
+
+    /**
+     * Räumt abgelaufene Spiele eines Batches in einer Transaktion ab: in einem laufenden Spiel
+     * scheidet der Spieler am Zug aus (im Duell gewinnt damit der Gegner), nicht gestartete
+     * Spiele werden gelöscht.
+     * {@code expired} prüft auf dem aktuellen Stand, ob die Deadline wirklich verstrichen ist
+     * (ein Schuss kurz vor Ablauf setzt sie neu).
+     *
+     * @return Anzahl abgelaufener Spiele
+     */
+    public int expireGames(Collection<String> gameCodes, Predicate<Game> expired) {
+        int count = 0;
+        for (Game game : gameRepository.findAllByGameCodeIn(gameCodes)) {
+            if (game.getStatus() == GameStatus.FINISHED || !expired.test(game)) {
+                continue;
+            }
+            if (game.getStatus() == GameStatus.RUNNING) {
+                game.forfeit();
+                gameRepository.save(game);
+                eventPublisher.publishEvent(new GameChangedEvent(game.getGameCode()));
+                eventPublisher.publishEvent(GameActivityEvent.of(game));
+                if (game.getStatus() == GameStatus.FINISHED) {
+                    publishFinished(game);
+                }
+            } else {
+                gameRepository.delete(game);
+                eventPublisher.publishEvent(new GameChangedEvent(game.getGameCode()));
+                eventPublisher.publishEvent(LobbyEvent.closed(game));
+            }
+            count++;
+        }
+        return count;
+    }
+
+    @Transactional(readOnly = true)
     public BoardStateDto getBoardState(String gameCode, UUID boardId) {
+        replicaReadPolicy.allowReplicaRead(gameCode);
         Game game = gameRepository.findByGameCode(gameCode)
                 .orElseThrow(() -> new EntityNotFoundException("Game not found: " + gameCode));
 
-        Board board = game.getBoards().stream()
-                .filter(b -> Objects.equals(b.getId(), boardId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("Board does not belong to this game"));
+        return toBoardState(game, boardId);
+    }
+
+    public BoardStateDto toBoardState(Game game, UUID boardId) {
+        Board board = findBoard(game, boardId);
 
         var ships = board.getPlacements().stream()
                 .map(ShipPlacementDto::from)
@@ -131,4 +297,22 @@ public class GameService {
                 shotsOnThisBoard
         );
     }
+
+    /**
+     * Kompakte Darstellung (Bitsets statt Shot-Objekte), Grösse unabhängig von der Anzahl Schüsse.
+     */
+    public CompactBoardStateDto toCompactBoardState(Game game, UUID boardId) {
+        Board board = findBoard(game, boardId);
+
+        var shotsOnThisBoard = game.getShots().stream()
+                .filter(s -> s.getTargetBoard().equals(board))
+                .toList();
+
+        return CompactBoardStateDto.from(board, shotsOnThisBoard);
+    }
+
+    private Board findBoard(Game game, UUID boardId) {
+        return game.findBoard(boardId)
+                .orElseThrow(() -> new IllegalStateException("Board does not belong to this game"));
+    }
 }
@@ -0,0 +1,227 @@
+package ch.battleship.battleshipbackend.service.archive;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Append-only Segmentdateien mit Index nach gameCode.
+ * <p>
+ * Pro Segment gibt es zwei Dateien:
+ * <ul>
+ *   <li>{@code segment-000001.dat}: Records hintereinander, je [int Länge][Payload]</li>
+ *   <li>{@code segment-000001.idx}: pro Record [short Codelänge][gameCode UTF-8][long Offset][int Länge]</li>
+ * </ul>
+ * Daten werden vor dem Index geschrieben und beide mit fsync abgeschlossen; ein Record ohne
+ * Indexeintrag (Absturz dazwischen) ist nicht erreichbar und wird beim nächsten Lauf erneut
+ * archiviert, weil das Original erst danach gelöscht wird. Der Index liegt komplett im Speicher.
+ */
+public class ArchiveSegmentStore implements Closeable {
+
+    public record Entry(String gameCode, byte[] payload) { }
+
+    private record Location(int segment, long offset, int length) { }
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final Map<Integer, FileChannel> readers = new ConcurrentHashMap<>();
+
+    // nur unter dem Lock von append() verändert
+    private int currentSegment;
+    private FileChannel data;
+    private FileChannel indexFile;
+
+    public ArchiveSegmentStore(Path directory, long maxSegmentBytes) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                List<Integer> segments = files
+                        .map(p -> p.getFileName().toString())
+                        .filter(n -> n.startsWith("segment-") && n.endsWith(".idx"))
+                        .map(n -> Integer.parseInt(n.substring(8, n.length() - 4)))
+                        .sorted()
+                        .toList();
+                for (int segment : segments) {
+                    loadIndex(segment);
+                }
+                currentSegment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+            }
+            openForAppend(currentSegment);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open archive in " + directory, e);
+        }
+    }
+
+    public boolean contains(String gameCode) {
+        return index.containsKey(gameCode);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public Set<String> gameCodes() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    /**
+     * Hängt alle Records an und macht sie erst nach fsync von Daten und Index sichtbar.
+     */
+    public synchronized void append(List<Entry> entries) throws IOException {
+        if (data.size() >= maxSegmentBytes) {
+            roll();
+        }
+        long offset = data.size();
+        ByteBuffer[] records = new ByteBuffer[entries.size()];
+        Location[] locations = new Location[entries.size()];
+        ByteBuffer indexRecords = ByteBuffer.allocate(entries.stream()
+                .mapToInt(e -> 2 + e.gameCode().getBytes(StandardCharsets.UTF_8).length + 12)
+                .sum());
+
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            records[i] = ByteBuffer.allocate(4 + entry.payload().length)
+                    .putInt(entry.payload().length)
+                    .put(entry.payload())
+                    .flip();
+            locations[i] = new Location(currentSegment, offset + 4, entry.payload().length);
+            offset += records[i].remaining();
+
+            byte[] code = entry.gameCode().getBytes(StandardCharsets.UTF_8);
+            indexRecords.putShort((short) code.length)
+                    .put(code)
+                    .putLong(locations[i].offset())
+                    .putInt(locations[i].length());
+        }
+
+        writeFully(data, records);
+        data.force(false);
+        writeFully(indexFile, indexRecords.flip());
+        indexFile.force(false);
+
+        for (int i = 0; i < entries.size(); i++) {
+            index.put(entries.get(i).gameCode(), locations[i]);
+        }
+    }
+
+    public Optional<byte[]> read(String gameCode) {
+        Location location = index.get(gameCode);
+        if (location == null) {
+            return Optional.empty();
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(location.length());
+            FileChannel channel = reader(location.segment());
+            long position = location.offset();
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new EOFException("Archive segment " + location.segment() + " is truncated");
+                }
+                position += read;
+            }
+            return Optional.of(buffer.array());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        data.close();
+        indexFile.close();
+        for (FileChannel reader : readers.values()) {
+            reader.close();
+        }
+    }
+
+    private void roll() throws IOException {
+        data.close();
+        indexFile.close();
+        openForAppend(++currentSegment);
+    }
+
+    private void openForAppend(int segment) throws IOException {
+        data = FileChannel.open(dataPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        indexFile = FileChannel.open(indexPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private FileChannel reader(int segment) {
+        return readers.computeIfAbsent(segment, s -> {
+            try {
+                return FileChannel.open(dataPath(s), StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void loadIndex(int segment) throws IOException {
+        long dataSize = Files.exists(dataPath(segment)) ? Files.size(dataPath(segment)) : 0;
+        long validLength = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath(segment))))) {
+            while (true) {
+                byte[] code;
+                Location location;
+                try {
+                    code = new byte[in.readUnsignedShort()];
+                    in.readFully(code);
+                    location = new Location(segment, in.readLong(), in.readInt());
+                } catch (EOFException end) {
+                    break;
+                }
+                validLength += 2 + code.length + 12;
+                if (location.offset() + location.length() <= dataSize) {
+                    // spätere Einträge (erneut archiviert) überschreiben frühere
+                    index.put(new String(code, StandardCharsets.UTF_8), location);
+                }
+            }
+        }
+        // unvollständigen letzten Eintrag abschneiden, sonst verschieben sich neue Einträge
+        if (Files.size(indexPath(segment)) > validLength) {
+            try (FileChannel channel = FileChannel.open(indexPath(segment), StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer... buffers) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+
+    private Path dataPath(int segment) {
+        return directory.resolve("segment-%06d.dat".formatted(segment));
+    }
+
+    private Path indexPath(int segment) {
+        return directory.resolve("segment-%06d.idx".formatted(segment));
+    }
+}
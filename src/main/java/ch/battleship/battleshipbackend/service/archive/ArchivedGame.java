@@ -0,0 +1,114 @@
+package ch.battleship.battleshipbackend.service.archive;
+
+import ch.battleship.battleshipbackend.domain.Game;
+import ch.battleship.battleshipbackend.domain.Shot;
+import ch.battleship.battleshipbackend.domain.enums.GameStatus;
+import ch.battleship.battleshipbackend.web.api.dto.BoardDto;
+import ch.battleship.battleshipbackend.web.api.dto.BoardStateDto;
+import ch.battleship.battleshipbackend.web.api.dto.GameDto;
+import ch.battleship.battleshipbackend.web.api.dto.PlayerDto;
+import ch.battleship.battleshipbackend.web.api.dto.ShipPlacementDto;
+import ch.battleship.battleshipbackend.web.api.dto.ShotDto;
+import ch.battleship.battleshipbackend.web.api.dto.SpectatorGameDto;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Unveränderlicher Snapshot eines archivierten (FINISHED) Spiels. Enthält genau so viel,
+ * dass die GET-Endpunkte (Spiel, Board-Zustand, Zuschauer) und das Replay weiter beantwortet
+ * werden können. Schüsse liegen in Schussreihenfolge (createdAt, id) vor.
+ */
+public record ArchivedGame(
+        UUID id,
+        String gameCode,
+        long version,
+        int boardWidth,
+        int boardHeight,
+        List<PlayerDto> players,
+        List<Board> boards,
+        List<TimedShot> shots,
+        UUID winnerPlayerId
+) {
+    // Game.shots hat keine feste Reihenfolge
+    private static final Comparator<Shot> FIRING_ORDER = Comparator.comparing(Shot::getCreatedAt)
+            .thenComparing(Shot::getId);
+
+    public record Board(UUID id, UUID ownerId, List<ShipPlacementDto> ships) { }
+
+    // firedAt ist null bei Spielen aus Archivformat 1
+    public record TimedShot(ShotDto shot, Instant firedAt) { }
+
+    public static ArchivedGame from(Game game) {
+        return new ArchivedGame(
+                game.getId(),
+                game.getGameCode(),
+                game.getVersion(),
+                game.getConfig().getBoardWidth(),
+                game.getConfig().getBoardHeight(),
+                game.getPlayers().stream().map(PlayerDto::from).toList(),
+                game.getBoards().stream()
+                        .map(b -> new Board(b.getId(), b.getOwner().getId(),
+                                b.getPlacements().stream().map(ShipPlacementDto::from).toList()))
+                        .toList(),
+                game.getShots().stream()
+                        .sorted(FIRING_ORDER)
+                        .map(shot -> new TimedShot(ShotDto.from(shot), shot.getCreatedAt()))
+                        .toList(),
+                game.getWinner() != null ? game.getWinner().getId() : null
+        );
+    }
+
+    public GameDto toGameDto() {
+        // beendet: ausser dem Sieger sind alle ausgeschieden
+        List<UUID> eliminated = players.stream()
+                .map(PlayerDto::id)
+                .filter(playerId -> !Objects.equals(playerId, winnerPlayerId))
+                .toList();
+        return new GameDto(id, gameCode, GameStatus.FINISHED.name(), boardWidth, boardHeight, players.size(),
+                players, boardDtos(), eliminated, null, winnerPlayerId);
+    }
+
+    public SpectatorGameDto toSpectatorDto() {
+        return new SpectatorGameDto(gameCode, GameStatus.FINISHED.name(), boardWidth, boardHeight,
+                shots.size(), players, boardDtos(), shotDtos(), null, winnerPlayerId);
+    }
+
+    public BoardStateDto toBoardState(UUID boardId) {
+        Board board = boards.stream()
+                .filter(b -> Objects.equals(b.id(), boardId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Board does not belong to this game"));
+
+        return new BoardStateDto(
+                board.id(),
+                boardWidth,
+                boardHeight,
+                board.ownerId(),
+                username(board.ownerId()),
+                board.ships(),
+                shotDtos().stream().filter(s -> Objects.equals(s.targetBoardId(), boardId)).toList()
+        );
+    }
+
+    private List<ShotDto> shotDtos() {
+        return shots.stream().map(TimedShot::shot).toList();
+    }
+
+    private List<BoardDto> boardDtos() {
+        return boards.stream()
+                .map(b -> new BoardDto(b.id(), boardWidth, boardHeight, b.ownerId(), username(b.ownerId())))
+                .toList();
+    }
+
+    private String username(UUID playerId) {
+        return players.stream()
+                .filter(p -> Objects.equals(p.id(), playerId))
+                .map(PlayerDto::username)
+                .findFirst()
+                .orElse(null);
+    }
+}
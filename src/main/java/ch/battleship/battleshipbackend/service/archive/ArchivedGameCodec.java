@@ -0,0 +1,182 @@
+package ch.battleship.battleshipbackend.service.archive;
+
+import ch.battleship.battleshipbackend.domain.enums.Orientation;
+import ch.battleship.battleshipbackend.domain.enums.ShipType;
+import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+import ch.battleship.battleshipbackend.web.api.dto.PlayerDto;
+import ch.battleship.battleshipbackend.web.api.dto.ShipPlacementDto;
+import ch.battleship.battleshipbackend.web.api.dto.ShotDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binärformat eines archivierten Spiels, pro Spiel mit Deflate komprimiert (wahlfreier
+ * Zugriff über den Index, ohne Nachbarn zu entpacken).
+ * <p>
+ * Spieler und Boards werden in Schüssen und Schiffen über ihren Index (1 Byte) referenziert,
+ * Enums über ihre Ordinalzahl. Änderungen am Layout erfordern eine neue {@link #FORMAT}-Version;
+ * bestehende Segmente müssen lesbar bleiben.
+ * <p>
+ * Format 2: pro Schuss zusätzlich der Zeitpunkt in µs (wie in der Datenbank), als Abstand zum
+ * vorherigen Schuss mit Zeitpunkt bzw. beim ersten zu Epoch; kleine Werte komprimieren besser.
+ * Format 1 ohne Zeitpunkte wird weiter gelesen ({@code firedAt} = null).
+ */
+public final class ArchivedGameCodec {
+
+    public static final int FORMAT = 2;
+
+    // Format 1: Schüsse ohne Zeitpunkt
+    private static final int FORMAT_WITHOUT_TIMES = 1;
+    // Zeitpunkt unbekannt
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private ArchivedGameCodec() {
+    }
+
+    public static byte[] encode(ArchivedGame game) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            out.writeByte(FORMAT);
+            writeUuid(out, game.id());
+            out.writeUTF(game.gameCode());
+            out.writeLong(game.version());
+            out.writeShort(game.boardWidth());
+            out.writeShort(game.boardHeight());
+
+            List<UUID> playerIds = game.players().stream().map(PlayerDto::id).toList();
+            out.writeByte(game.players().size());
+            for (PlayerDto player : game.players()) {
+                writeUuid(out, player.id());
+                out.writeUTF(player.username());
+            }
+            out.writeByte(playerIds.indexOf(game.winnerPlayerId()));
+
+            List<UUID> boardIds = game.boards().stream().map(ArchivedGame.Board::id).toList();
+            out.writeByte(game.boards().size());
+            for (ArchivedGame.Board board : game.boards()) {
+                writeUuid(out, board.id());
+                out.writeByte(playerIds.indexOf(board.ownerId()));
+                out.writeByte(board.ships().size());
+                for (ShipPlacementDto ship : board.ships()) {
+                    out.writeByte(ship.type().ordinal());
+                    out.writeByte(ship.orientation().ordinal());
+                    out.writeShort(ship.startX());
+                    out.writeShort(ship.startY());
+                }
+            }
+
+            out.writeInt(game.shots().size());
+            long previous = 0;
+            for (ArchivedGame.TimedShot timed : game.shots()) {
+                ShotDto shot = timed.shot();
+                writeUuid(out, shot.id());
+                out.writeByte(playerIds.indexOf(shot.shooterId()));
+                out.writeByte(boardIds.indexOf(shot.targetBoardId()));
+                out.writeShort(shot.x());
+                out.writeShort(shot.y());
+                out.writeByte(shot.result().ordinal());
+                if (timed.firedAt() == null) {
+                    out.writeLong(NO_TIME);
+                } else {
+                    long micros = ChronoUnit.MICROS.between(Instant.EPOCH, timed.firedAt());
+                    out.writeLong(micros - previous);
+                    previous = micros;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    public static ArchivedGame decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            int format = in.readUnsignedByte();
+            if (format != FORMAT && format != FORMAT_WITHOUT_TIMES) {
+                throw new IllegalStateException("Unsupported archive format: " + format);
+            }
+            UUID id = readUuid(in);
+            String gameCode = in.readUTF();
+            long version = in.readLong();
+            int width = in.readUnsignedShort();
+            int height = in.readUnsignedShort();
+
+            int playerCount = in.readUnsignedByte();
+            List<PlayerDto> players = new ArrayList<>(playerCount);
+            for (int i = 0; i < playerCount; i++) {
+                players.add(new PlayerDto(readUuid(in), in.readUTF()));
+            }
+            UUID winnerId = playerId(players, in.readByte());
+
+            int boardCount = in.readUnsignedByte();
+            List<ArchivedGame.Board> boards = new ArrayList<>(boardCount);
+            for (int i = 0; i < boardCount; i++) {
+                UUID boardId = readUuid(in);
+                UUID ownerId = playerId(players, in.readByte());
+                int shipCount = in.readUnsignedByte();
+                List<ShipPlacementDto> ships = new ArrayList<>(shipCount);
+                for (int s = 0; s < shipCount; s++) {
+                    ShipType type = ShipType.values()[in.readUnsignedByte()];
+                    Orientation orientation = Orientation.values()[in.readUnsignedByte()];
+                    ships.add(new ShipPlacementDto(type, in.readUnsignedShort(), in.readUnsignedShort(),
+                            orientation, type.getSize()));
+                }
+                boards.add(new ArchivedGame.Board(boardId, ownerId, List.copyOf(ships)));
+            }
+
+            int shotCount = in.readInt();
+            List<ArchivedGame.TimedShot> shots = new ArrayList<>(shotCount);
+            long previous = 0;
+            for (int i = 0; i < shotCount; i++) {
+                UUID shotId = readUuid(in);
+                UUID shooterId = playerId(players, in.readByte());
+                UUID targetBoardId = boards.get(in.readUnsignedByte()).id();
+                int x = in.readUnsignedShort();
+                int y = in.readUnsignedShort();
+                ShotDto shot = new ShotDto(shotId, shooterId, targetBoardId, x, y,
+                        ShotResult.values()[in.readUnsignedByte()]);
+                long delta = format == FORMAT_WITHOUT_TIMES ? NO_TIME : in.readLong();
+                Instant firedAt = null;
+                if (delta != NO_TIME) {
+                    previous += delta;
+                    firedAt = Instant.EPOCH.plus(previous, ChronoUnit.MICROS);
+                }
+                shots.add(new ArchivedGame.TimedShot(shot, firedAt));
+            }
+
+            return new ArchivedGame(id, gameCode, version, width, height,
+                    List.copyOf(players), List.copyOf(boards), List.copyOf(shots), winnerId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static UUID playerId(List<PlayerDto> players, int index) {
+        return index < 0 ? null : players.get(index).id();
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
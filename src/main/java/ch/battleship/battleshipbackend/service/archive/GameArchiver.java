@@ -0,0 +1,178 @@
+package ch.battleship.battleshipbackend.service.archive;
+
+import ch.battleship.battleshipbackend.cluster.ClusterMembership;
+import ch.battleship.battleshipbackend.domain.enums.GameStatus;
+import ch.battleship.battleshipbackend.repository.GameRepository;
+import ch.battleship.battleshipbackend.service.event.GameChangedEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Verschiebt beendete Spiele aus den relationalen Tabellen in komprimierte Segmentdateien
+ * ({@link ArchiveSegmentStore}) und hält sie dort read-only abrufbar.
+ * <p>
+ * Pro Batch: Spiele lesen und kodieren, an das Segment anhängen (fsync), erst dann die
+ * Originale per SQL in Chunks löschen. Ein Absturz dazwischen archiviert das Spiel beim
+ * nächsten Lauf einfach noch einmal. Im Cluster archiviert jeder Knoten nur eigene Spiele,
+ * weil die GET-Anfragen dorthin weitergeleitet werden.
+ */
+@Service
+public class GameArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(GameArchiver.class);
+
+    private final GameRepository gameRepository;
+    private final ClusterMembership membership;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate readWrite;
+
+    private final Duration minAge;
+    private final int batchSize;
+
+    // null = Archivierung deaktiviert
+    private final ArchiveSegmentStore store;
+
+    public GameArchiver(GameRepository gameRepository,
+                        ClusterMembership membership,
+                        ApplicationEventPublisher eventPublisher,
+                        EntityManager entityManager,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${battleship.archive.enabled:false}") boolean enabled,
+                        @Value("${battleship.archive.dir:archive}") Path directory,
+                        @Value("${battleship.archive.min-age:P7D}") Duration minAge,
+                        @Value("${battleship.archive.batch-size:100}") int batchSize,
+                        @Value("${battleship.archive.segment-size:64MB}") DataSize segmentSize) {
+        this.gameRepository = gameRepository;
+        this.membership = membership;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.store = enabled ? new ArchiveSegmentStore(directory, segmentSize.toBytes()) : null;
+    }
+
+    /**
+     * Archiviertes Spiel, falls vorhanden (nur FINISHED-Spiele werden archiviert).
+     */
+    public Optional<ArchivedGame> find(String gameCode) {
+        if (store == null) {
+            return Optional.empty();
+        }
+        return store.read(gameCode).map(ArchivedGameCodec::decode);
+    }
+
+    /**
+     * Codes aller archivierten Spiele (Live-Ansicht des Index).
+     */
+    public Set<String> gameCodes() {
+        return store == null ? Set.of() : store.gameCodes();
+    }
+
+    /**
+     * Archiviert alle beendeten Spiele, deren letzte Aktivität älter als {@code min-age} ist.
+     *
+     * @return Anzahl archivierter Spiele
+     */
+    @Scheduled(initialDelayString = "${battleship.archive.interval:PT5M}",
+            fixedDelayString = "${battleship.archive.interval:PT5M}")
+    public int archiveFinishedGames() {
+        if (store == null) {
+            return 0;
+        }
+        Instant cutoff = Instant.now().minus(minAge);
+        int archived = 0;
+        // Keyset über gameCode: fremde Spiele (Cluster) werden übersprungen statt erneut gelesen
+        String after = "";
+        try {
+            while (true) {
+                List<String> gameCodes = gameRepository.findArchivableGameCodes(cutoff, after, Limit.of(batchSize));
+                if (gameCodes.isEmpty()) {
+                    break;
+                }
+                after = gameCodes.getLast();
+                List<String> local = gameCodes.stream().filter(membership::isLocal).toList();
+                if (!local.isEmpty()) {
+                    archived += archiveBatch(local);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Archiving finished games failed after {} games", archived, e);
+        }
+        if (archived > 0) {
+            log.info("Archived {} finished games ({} in archive)", archived, store.size());
+        }
+        return archived;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private int archiveBatch(List<String> gameCodes) throws IOException {
+        List<ArchivedGame> games = readOnly.execute(status -> gameRepository.findAllByGameCodeIn(gameCodes).stream()
+                .filter(g -> g.getStatus() == GameStatus.FINISHED)
+                .map(ArchivedGame::from)
+                .toList());
+        if (games == null || games.isEmpty()) {
+            return 0;
+        }
+
+        store.append(games.stream()
+                .map(g -> new ArchiveSegmentStore.Entry(g.gameCode(), ArchivedGameCodec.encode(g)))
+                .toList());
+
+        List<UUID> ids = games.stream().map(ArchivedGame::id).toList();
+        readWrite.executeWithoutResult(status -> deleteGames(ids));
+
+        // Caches verwerfen; der nächste GET liest aus dem Archiv
+        games.forEach(g -> eventPublisher.publishEvent(new GameChangedEvent(g.gameCode())));
+        return games.size();
+    }
+
+    // Ein Statement pro Tabelle und Chunk statt Cascade pro Entity
+    private void deleteGames(List<UUID> ids) {
+        // games und players referenzieren sich gegenseitig (Sieger/Zug)
+        execute("update games set winner_player_id = null, current_turn_player_id = null where id in (:ids)", ids);
+        execute("delete from shots where game_id in (:ids)", ids);
+
+        execute("delete from boards where game_id in (:ids)", ids);
+        execute("delete from players where game_id in (:ids)", ids);
+        int deleted = execute("delete from games where id in (:ids)", ids);
+        if (deleted != ids.size()) {
+            throw new IllegalStateException("Expected to delete " + ids.size() + " games, deleted " + deleted);
+        }
+    }
+
+    private int execute(String sql, List<?> ids) {
+        return entityManager.createNativeQuery(sql)
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+}
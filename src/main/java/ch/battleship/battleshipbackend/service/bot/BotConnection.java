@@ -0,0 +1,133 @@
+package ch.battleship.battleshipbackend.service.bot;
+
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Zustand einer Bot-Verbindung: Handles (pro Verbindung vergeben) und ausstehende Frames.
+ * <p>
+ * Frames desselben Handles laufen strikt nacheinander (eigene Lane), verschiedene Handles
+ * parallel. So kann ein Bot viele Spiele über eine Verbindung pipelinen, ohne dass sich
+ * Schüsse innerhalb eines Spiels überholen.
+ */
+public class BotConnection {
+
+    static final int MAX_HANDLES = 0xFFFF;
+
+    private final WebSocketSession session;
+    private final Executor executor;
+    private final int maxInFlight;
+
+    private final Map<Integer, Binding> bindings = new ConcurrentHashMap<>();
+    private final AtomicInteger nextHandle = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * @param session muss thread-sicher senden können (ConcurrentWebSocketSessionDecorator)
+     */
+    public BotConnection(WebSocketSession session, Executor executor, int maxInFlight) {
+        this.session = session;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Vergibt ein neues Handle, oder -1 wenn der Handle-Raum (u16) erschöpft ist.
+     */
+    int bind(String gameCode, UUID playerId, List<UUID> boardIds, int boardWidth) {
+        int handle = nextHandle.incrementAndGet();
+        if (handle > MAX_HANDLES) {
+            return -1;
+        }
+        bindings.put(handle, new Binding(gameCode, playerId, boardIds, boardWidth, new Lane()));
+        return handle;
+    }
+
+    Binding binding(int handle) {
+        return bindings.get(handle);
+    }
+
+    /**
+     * Führt die Aufgabe asynchron aus – seriell pro Lane, sonst ohne Ordnung.
+     * false, wenn bereits maxInFlight Frames ausstehen.
+     */
+    boolean submit(Lane lane, Runnable task) {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        Runnable counted = () -> {
+            try {
+                task.run();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        };
+        if (lane == null) {
+            executor.execute(counted);
+        } else {
+            lane.submit(counted, executor);
+        }
+        return true;
+    }
+
+    void send(byte[] frame) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            session.sendMessage(new BinaryMessage(frame));
+        } catch (IOException e) {
+            // Verbindung ist weg – ausstehende Antworten sind hinfällig
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    record Binding(String gameCode, UUID playerId, List<UUID> boardIds, int boardWidth, Lane lane) {
+    }
+
+    static final class Lane {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        void submit(Runnable task, Executor executor) {
+            tasks.add(task);
+            schedule(executor);
+        }
+
+        private void schedule(Executor executor) {
+            if (running.compareAndSet(false, true)) {
+                executor.execute(() -> drain(executor));
+            }
+        }
+
+        private void drain(Executor executor) {
+            try {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+            } finally {
+                running.set(false);
+                // Aufgabe, die zwischen poll() == null und set(false) kam, nicht liegen lassen
+                if (!tasks.isEmpty()) {
+                    schedule(executor);
+                }
+            }
+        }
+    }
+}
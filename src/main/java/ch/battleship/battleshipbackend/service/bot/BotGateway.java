@@ -0,0 +1,166 @@
+package ch.battleship.battleshipbackend.service.bot;
+
+import ch.battleship.battleshipbackend.cluster.ClusterMembership;
+import ch.battleship.battleshipbackend.domain.Board;
+import ch.battleship.battleshipbackend.domain.enums.GameStatus;
+import ch.battleship.battleshipbackend.service.GameService;
+import ch.battleship.battleshipbackend.service.bot.BotConnection.Binding;
+import jakarta.persistence.EntityNotFoundException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import static ch.battleship.battleshipbackend.service.bot.BotProtocol.*;
+
+/**
+ * Verarbeitet Frames des Bot-Protokolls ({@link BotProtocol}).
+ * <p>
+ * Ein BIND löst gameCode und Spieler einmalig auf und vergibt ein Handle; danach trägt jeder
+ * SHOT nur noch Handle, Board-Index und Zelle – kein JSON und kein UUID-Parsing pro Zug.
+ * Die Spielregeln prüft weiterhin {@link GameService#fireShot}.
+ */
+@Service
+public class BotGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(BotGateway.class);
+
+    private final GameService gameService;
+    private final ClusterMembership membership;
+    private final int maxInFlight;
+    private final Executor executor;
+
+    @Autowired
+    public BotGateway(GameService gameService,
+                      ClusterMembership membership,
+                      @Value("${battleship.bot.max-in-flight:256}") int maxInFlight) {
+        this(gameService, membership, maxInFlight, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public BotGateway(GameService gameService, ClusterMembership membership, int maxInFlight, Executor executor) {
+        this.gameService = gameService;
+        this.membership = membership;
+        this.maxInFlight = maxInFlight;
+        this.executor = executor;
+    }
+
+    public BotConnection open(WebSocketSession session) {
+        return new BotConnection(session, executor, maxInFlight);
+    }
+
+    /**
+     * Nimmt einen Frame entgegen. Antworten kommen asynchron; blockiert den Empfang nicht.
+     */
+    public void handle(BotConnection connection, ByteBuffer payload) {
+        ByteBuffer frame = payload.slice(); // Big Endian, Indizes ab 0
+        byte op = frame.remaining() > 0 ? frame.get(0) : 0;
+        switch (op) {
+            case OP_SHOT -> shot(connection, frame);
+            case OP_BIND -> bind(connection, frame);
+            default -> connection.send(result(ERROR_MALFORMED, 0));
+        }
+    }
+
+    private void shot(BotConnection connection, ByteBuffer frame) {
+        if (frame.remaining() != SHOT_FRAME_SIZE) {
+            connection.send(result(ERROR_MALFORMED, 0));
+            return;
+        }
+        int boardIndex = frame.get(1) & 0xFF;
+        int handle = frame.getShort(2) & 0xFFFF;
+        int sequence = frame.getInt(4);
+        int cell = frame.getShort(8) & 0xFFFF;
+
+        Binding binding = connection.binding(handle);
+        if (binding == null) {
+            connection.send(result(ERROR_UNKNOWN_HANDLE, sequence));
+            return;
+        }
+        if (boardIndex >= binding.boardIds().size() || binding.boardIds().get(boardIndex) == null) {
+            connection.send(result(ERROR_REJECTED, sequence));
+            return;
+        }
+
+        UUID boardId = binding.boardIds().get(boardIndex);
+        int x = cell % binding.boardWidth();
+        int y = cell / binding.boardWidth();
+
+        boolean accepted = connection.submit(binding.lane(), () ->
+                connection.send(result(fire(binding, boardId, x, y), sequence)));
+        if (!accepted) {
+            connection.send(result(ERROR_BUSY, sequence));
+        }
+    }
+
+    private byte fire(Binding binding, UUID boardId, int x, int y) {
+        try {
+            return statusOf(gameService.fireShot(binding.gameCode(), binding.playerId(), boardId, x, y).getResult());
+        } catch (EntityNotFoundException e) {
+            return ERROR_NOT_FOUND;
+        } catch (OptimisticLockingFailureException e) {
+            return ERROR_CONFLICT;
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return ERROR_REJECTED;
+        } catch (RuntimeException e) {
+            log.warn("Bot shot failed for game {}", binding.gameCode(), e);
+            return ERROR_INTERNAL;
+        }
+    }
+
+    private void bind(BotConnection connection, ByteBuffer frame) {
+        if (frame.remaining() <= BIND_HEADER_SIZE) {
+            connection.send(result(ERROR_MALFORMED, frame.remaining() >= 5 ? frame.getInt(1) : 0));
+            return;
+        }
+        int sequence = frame.getInt(1);
+        UUID playerId = new UUID(frame.getLong(5), frame.getLong(13));
+        byte[] code = new byte[frame.remaining() - BIND_HEADER_SIZE];
+        frame.get(BIND_HEADER_SIZE, code);
+        String gameCode = new String(code, StandardCharsets.UTF_8);
+
+        if (!membership.isLocal(gameCode)) {
+            connection.send(result(ERROR_WRONG_NODE, sequence));
+            return;
+        }
+
+        boolean accepted = connection.submit(null, () ->
+                connection.send(resolve(connection, gameCode, playerId, sequence)));
+        if (!accepted) {
+            connection.send(result(ERROR_BUSY, sequence));
+        }
+    }
+
+    // Handle erst, wenn beide Boards existieren – vorher gibt es nichts zu beschiessen
+    private byte[] resolve(BotConnection connection, String gameCode, UUID playerId, int sequence) {
+        try {
+            return gameService.withGame(gameCode, game -> {
+                boolean member = game.findPlayer(playerId).isPresent();
+                if (!member || game.getStatus() == GameStatus.WAITING) {
+                    return result(ERROR_REJECTED, sequence);
+                }
+                // Board-Index = Sitz des Besitzers, unabhängig von der Reihenfolge in game.boards
+                UUID[] boardsBySeat = new UUID[game.getPlayers().size()];
+                for (Board board : game.getBoards()) {
+                    boardsBySeat[board.getOwner().getSeat()] = board.getId();
+                }
+                int handle = connection.bind(gameCode, playerId, Arrays.asList(boardsBySeat),
+                        game.getConfig().getBoardWidth());
+                return handle < 0 ? result(ERROR_REJECTED, sequence) : bound(sequence, handle);
+            }).orElseGet(() -> result(ERROR_NOT_FOUND, sequence));
+        } catch (RuntimeException e) {
+            log.warn("Bot bind failed for game {}", gameCode, e);
+            return result(ERROR_INTERNAL, sequence);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ch.battleship.battleshipbackend.service.bot;
+
+import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binäres Protokoll für Bots auf /ws/bot. Alle Zahlen Big Endian.
+ * <pre>
+ * Client -> Server
+ *   BIND  (21 + n Bytes): 0x02 | seq i32 | playerId 16 Bytes | gameCode UTF-8 (n Bytes)
+ *   SHOT  (10 Bytes):     0x01 | board u8 | handle u16 | seq i32 | cell u16 (y * width + x)
+ * Server -> Client
+ *   BOUND  (7 Bytes):     0x40 | seq i32 | handle u16
+ *   RESULT (5 Bytes):     status u8 | seq i32
+ * </pre>
+ * status 0..3 = MISS, HIT, SUNK, ALREADY_SHOT; ab 0x80 Fehlercodes (siehe Konstanten).
+ * seq wählt der Client frei und bekommt ihn unverändert zurück, damit er Antworten auf
+ * mehrere gleichzeitig ausstehende Frames zuordnen kann. board = Sitz des Board-Besitzers
+ * (Beitrittsreihenfolge wie in GameDto.players).
+ */
+public final class BotProtocol {
+
+    public static final byte OP_SHOT = 0x01;
+    public static final byte OP_BIND = 0x02;
+
+    public static final int SHOT_FRAME_SIZE = 10;
+    public static final int BIND_HEADER_SIZE = 21;
+    public static final int RESULT_FRAME_SIZE = 5;
+    public static final int BOUND_FRAME_SIZE = 7;
+
+    public static final byte STATUS_BOUND = 0x40;
+
+    public static final byte ERROR_MALFORMED = (byte) 0x80;
+    public static final byte ERROR_UNKNOWN_HANDLE = (byte) 0x81;
+    public static final byte ERROR_NOT_FOUND = (byte) 0x82;
+    // Spielregel verletzt: nicht am Zug, Spiel läuft nicht, ausserhalb des Boards, ...
+    public static final byte ERROR_REJECTED = (byte) 0x83;
+    // paralleler Schuss auf dasselbe Spiel (optimistic locking) – erneut senden
+    public static final byte ERROR_CONFLICT = (byte) 0x84;
+    // zu viele ausstehende Frames auf dieser Verbindung
+    public static final byte ERROR_BUSY = (byte) 0x85;
+    // Spiel gehört einem anderen Knoten (GET /api/cluster/owner/{gameCode})
+    public static final byte ERROR_WRONG_NODE = (byte) 0x86;
+    public static final byte ERROR_INTERNAL = (byte) 0x8F;
+
+    private BotProtocol() {
+    }
+
+    // Wire-Werte explizit, unabhängig von der Reihenfolge im Enum
+    public static byte statusOf(ShotResult result) {
+        return switch (result) {
+            case MISS -> 0;
+            case HIT -> 1;
+            case SUNK -> 2;
+            case ALREADY_SHOT -> 3;
+        };
+    }
+
+    public static byte[] result(byte status, int sequence) {
+        return ByteBuffer.allocate(RESULT_FRAME_SIZE)
+                .put(status)
+                .putInt(sequence)
+                .array();
+    }
+
+    public static byte[] bound(int sequence, int handle) {
+        return ByteBuffer.allocate(BOUND_FRAME_SIZE)
+                .put(STATUS_BOUND)
+                .putInt(sequence)
+                .putShort((short) handle)
+                .array();
+    }
+}
@@ -0,0 +1,32 @@
+package ch.battleship.battleshipbackend.service.cache;
+
+/**
+ * Fertig serialisierte Antwort inkl. starkem ETag. body wird nach dem Erzeugen nie verändert.
+ */
+public record CachedResponse(
+        long version,
+        String etag,
+        byte[] body
+) {
+    /**
+     * Prüft einen If-None-Match-Header (Liste, "*" oder schwache Tags) gegen diesen ETag.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
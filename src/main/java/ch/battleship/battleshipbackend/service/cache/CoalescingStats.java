@@ -0,0 +1,16 @@
+package ch.battleship.battleshipbackend.service.cache;
+
+/**
+ * Ladevorgänge pro View-Typ: {@code loads} haben die Datenbank gelesen, {@code coalesced}
+ * haben sich an einen bereits laufenden Ladevorgang angehängt.
+ */
+public record CoalescingStats(
+        long loads,
+        long coalesced,
+        double coalescingRatio
+) {
+    public static CoalescingStats of(long loads, long coalesced) {
+        long total = loads + coalesced;
+        return new CoalescingStats(loads, coalesced, total == 0 ? 0 : (double) coalesced / total);
+    }
+}
@@ -0,0 +1,200 @@
+package ch.battleship.battleshipbackend.service.cache;
+
+import ch.battleship.battleshipbackend.cluster.ClusterMembershipChangedEvent;
+import ch.battleship.battleshipbackend.service.event.GameChangedEvent;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache für fertig serialisierte GET-Antworten pro (gameCode, view).
+ * <p>
+ * Alle Einträge eines Spiels hängen an einem Slot. Eine Invalidierung entfernt den ganzen
+ * Slot; ein Ladevorgang, der vor der Invalidierung begonnen hat, schreibt danach nur noch
+ * in den verwaisten Slot und kann so keine veralteten Bytes zurücklassen.
+ * <p>
+ * Gleichzeitige Misses auf dieselbe View (Zuschauer-Spitzen) laden nur einmal: die übrigen
+ * Anfragen warten auf den laufenden Ladevorgang. Auch der hängt am Slot – nach einer
+ * Invalidierung (neue Version) beginnt der nächste Miss einen eigenen Ladevorgang.
+ */
+@Service
+public class GameResponseCache {
+
+    private final Map<WireFormat, ObjectMapper> mappers = new EnumMap<>(WireFormat.class);
+    private final int maxGames;
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+    // View-Typ (ohne Board-Id) -> Zähler
+    private final Map<String, Counters> coalescing = new ConcurrentHashMap<>();
+
+    public GameResponseCache(ObjectMapper objectMapper,
+                             @Value("${battleship.response-cache.max-games:10000}") int maxGames) {
+        // Binärformate übernehmen die Konfiguration (Module, Features) des JSON-Mappers
+        for (WireFormat format : WireFormat.values()) {
+            JsonFactory factory = format.newFactory();
+            mappers.put(format, factory == null ? objectMapper : objectMapper.copyWith(factory));
+        }
+        this.maxGames = maxGames;
+    }
+
+    /**
+     * Liefert die gecachte Antwort oder lädt sie über den Loader (leer = Spiel existiert nicht).
+     */
+    public Optional<CachedResponse> getOrLoad(String gameCode, String view,
+                                              Supplier<Optional<CachedResponse>> loader) {
+        Slot slot = slots.get(gameCode);
+        if (slot != null) {
+            CachedResponse cached = slot.responses.get(view);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        // Slot vor dem Laden festhalten, damit eine parallele Invalidierung greift
+        if (slot == null) {
+            evictIfFull();
+            slot = slots.computeIfAbsent(gameCode, c -> new Slot());
+        }
+
+        CompletableFuture<Optional<CachedResponse>> own = new CompletableFuture<>();
+        CompletableFuture<Optional<CachedResponse>> running = slot.loading.putIfAbsent(view, own);
+        if (running != null) {
+            counters(view).coalesced.increment();
+            return await(running);
+        }
+
+        try {
+            // der vorige Ladevorgang kann zwischen Cache-Lookup und putIfAbsent fertig geworden sein
+            CachedResponse cached = slot.responses.get(view);
+            if (cached != null) {
+                own.complete(Optional.of(cached));
+                return own.join();
+            }
+            counters(view).loads.increment();
+            Optional<CachedResponse> loaded = loader.get();
+            Slot target = slot;
+            loaded.ifPresent(response -> target.responses.put(view, response));
+            own.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            slot.loading.remove(view, own);
+        }
+    }
+
+    /**
+     * Ladevorgänge und angehängte Anfragen pro View-Typ (z. B. {@code spectate}, {@code board;CBOR}).
+     */
+    public Map<String, CoalescingStats> coalescingStats() {
+        Map<String, CoalescingStats> stats = new TreeMap<>();
+        coalescing.forEach((kind, c) -> stats.put(kind, CoalescingStats.of(c.loads.sum(), c.coalesced.sum())));
+        return stats;
+    }
+
+    /**
+     * Serialisiert ein DTO einmalig in Bytes und versieht es mit einem starken ETag.
+     */
+    public CachedResponse encode(long version, Object dto) {
+        return encode(version, dto, WireFormat.JSON);
+    }
+
+    /**
+     * Wie {@link #encode(long, Object)}, im gewünschten Format. Der ETag enthält das Format,
+     * da jede Repräsentation eigene Bytes hat.
+     */
+    public CachedResponse encode(long version, Object dto, WireFormat format) {
+        String etag = format == WireFormat.JSON
+                ? "\"" + version + "\""
+                : "\"" + version + "-" + format.name().toLowerCase() + "\"";
+        try {
+            return new CachedResponse(version, etag, mappers.get(format).writeValueAsBytes(dto));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize response", e);
+        }
+    }
+
+    public void invalidate(String gameCode) {
+        slots.remove(gameCode);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        invalidate(event.gameCode());
+    }
+
+    // Spiele, die jetzt einem anderen Knoten gehören, werden dort gecacht
+    @EventListener
+    public void onMembershipChanged(ClusterMembershipChangedEvent event) {
+        slots.keySet().removeIf(gameCode -> !event.isLocal(gameCode));
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    // Fehler des Ladevorgangs (z. B. unbekanntes Board) auch an die Wartenden weiterreichen
+    private static Optional<CachedResponse> await(CompletableFuture<Optional<CachedResponse>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Board-Views ohne Id zusammenfassen, sonst wächst die Statistik mit jedem Board
+    private Counters counters(String view) {
+        int colon = view.indexOf(':');
+        int format = view.indexOf(';');
+        String kind = colon < 0 ? view : view.substring(0, colon) + (format < 0 ? "" : view.substring(format));
+        return coalescing.computeIfAbsent(kind, k -> new Counters());
+    }
+
+    // Grobe Begrenzung: bei vollem Cache ca. 10 % beliebiger Spiele verwerfen
+    private void evictIfFull() {
+        if (slots.size() < maxGames) {
+            return;
+        }
+        int toRemove = Math.max(1, maxGames / 10);
+        Iterator<String> it = slots.keySet().iterator();
+        while (toRemove-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static final class Slot {
+        private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+        // laufende Ladevorgänge, nur solange sie laufen
+        private final Map<String, CompletableFuture<Optional<CachedResponse>>> loading = new ConcurrentHashMap<>();
+    }
+
+    private static final class Counters {
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+    }
+}
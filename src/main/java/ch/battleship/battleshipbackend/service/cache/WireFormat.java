@@ -0,0 +1,73 @@
+package ch.battleship.battleshipbackend.service.cache;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Serialisierungsformate für gecachte Antworten. Dieselben DTOs, nur ein anderer Jackson-Factory:
+ * CBOR und Smile sind binär und sparen vor allem bei UUID- und Shot-Listen CPU und Bytes
+ * (UUIDs werden dort als 16-Byte-Binärwerte geschrieben, nicht als 36-Zeichen-String).
+ */
+public enum WireFormat {
+
+    JSON(MediaType.APPLICATION_JSON, null),
+    CBOR(MediaType.parseMediaType("application/cbor"), CBORFactory::new),
+    SMILE(MediaType.parseMediaType("application/x-jackson-smile"), SmileFactory::new);
+
+    private final MediaType mediaType;
+    private final Supplier<JsonFactory> factory;
+
+    WireFormat(MediaType mediaType, Supplier<JsonFactory> factory) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    // null = Factory des JSON-ObjectMappers
+    JsonFactory newFactory() {
+        return factory == null ? null : factory.get();
+    }
+
+    /**
+     * Wählt das Format nach Accept-Header (Qualitätswerte beachtet). JSON ist Default,
+     * auch bei fehlendem, ungültigem oder nicht unterstütztem Accept.
+     */
+    public static WireFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+
+        List<MediaType> requested;
+        try {
+            requested = MediaType.parseMediaTypes(accept).stream()
+                    .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                    .toList();
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+
+        for (MediaType type : requested) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            // */* und application/* treffen zuerst JSON
+            for (WireFormat format : values()) {
+                if (type.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
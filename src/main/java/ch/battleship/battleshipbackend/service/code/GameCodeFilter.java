@@ -0,0 +1,161 @@
+package ch.battleship.battleshipbackend.service.code;
+
+import ch.battleship.battleshipbackend.cluster.ClusterMembership;
+import ch.battleship.battleshipbackend.cluster.ClusterMembershipChangedEvent;
+import ch.battleship.battleshipbackend.repository.GameRepository;
+import ch.battleship.battleshipbackend.service.archive.GameArchiver;
+import ch.battleship.battleshipbackend.service.event.GameChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Existenzfilter für Spielcodes: beantwortet "gibt es dieses Spiel?" ohne Datenbank, sofern
+ * die Antwort nein ist. Erfundene Codes (Scanner, Tippfehler) enden so direkt im 404.
+ * <p>
+ * Der Filter enthält die Codes aller Spiele dieses Knotens, live und archiviert. Neue Spiele
+ * kommen nach dem Commit dazu; gelöschte bleiben bis zum nächsten periodischen Neuaufbau drin
+ * (nur ein falsches "vielleicht"). Bis der erste Aufbau fertig ist – und für Codes anderer
+ * Knoten – gilt jeder Code als möglich.
+ */
+@Component
+public class GameCodeFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(GameCodeFilter.class);
+
+    private final GameRepository gameRepository;
+    private final GameArchiver archiver;
+    private final ClusterMembership membership;
+    private final TransactionTemplate readOnly;
+
+    private final boolean enabled;
+    private final long expectedCodes;
+    private final double falsePositiveRate;
+
+    // null = (noch) kein Filter, alles durchlassen
+    private volatile BloomFilter current;
+    // während eines Neuaufbaus: neue Codes landen in beiden Filtern
+    private volatile BloomFilter building;
+
+    private final ExecutorService rebuildExecutor =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("game-code-filter").daemon().factory());
+
+    public GameCodeFilter(GameRepository gameRepository,
+                          GameArchiver archiver,
+                          ClusterMembership membership,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${battleship.game-code.filter.enabled:true}") boolean enabled,
+                          @Value("${battleship.game-code.filter.expected-codes:1000000}") long expectedCodes,
+                          @Value("${battleship.game-code.filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.gameRepository = gameRepository;
+        this.archiver = archiver;
+        this.membership = membership;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedCodes = expectedCodes;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * false nur, wenn es das Spiel auf diesem Knoten sicher nicht gibt.
+     */
+    public boolean mightExist(String gameCode) {
+        BloomFilter filter = current;
+        return filter == null || !membership.isLocal(gameCode) || filter.mightContain(gameCode);
+    }
+
+    // nach dem Commit: erst dann ist das Spiel für andere Anfragen sichtbar
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        add(event.gameCode());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildExecutor.execute(this::rebuild);
+    }
+
+    // andere Codes gehören jetzt hierher: bis zum Neuaufbau nichts abweisen
+    @EventListener
+    public void onMembershipChanged(ClusterMembershipChangedEvent event) {
+        current = null;
+        rebuildExecutor.execute(this::rebuild);
+    }
+
+    @Scheduled(initialDelayString = "${battleship.game-code.filter.rebuild-interval:PT1H}",
+            fixedDelayString = "${battleship.game-code.filter.rebuild-interval:PT1H}")
+    public void scheduledRebuild() {
+        rebuildExecutor.execute(this::rebuild);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    void add(String gameCode) {
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(gameCode);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(gameCode);
+        }
+    }
+
+    /**
+     * Baut den Filter aus Datenbank und Archiv neu auf. Läuft auf dem Primary: ein Replica
+     * ohne die neuesten Spiele würde für sie falsche 404 erzeugen.
+     */
+    synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            long known = gameRepository.count() + archiver.gameCodes().size();
+            // Platz für Wachstum bis zum nächsten Neuaufbau
+            BloomFilter next = new BloomFilter(Math.max(expectedCodes, known * 2), falsePositiveRate);
+            // vor dem Lesen setzen: was danach committet wird, fehlt evtl. im Snapshot, kommt aber per add()
+            building = next;
+            long[] count = new long[1];
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<String> codes = gameRepository.streamGameCodes()) {
+                    codes.filter(membership::isLocal).forEach(code -> {
+                        next.put(code);
+                        count[0]++;
+                    });
+                }
+            });
+            for (String code : archiver.gameCodes()) {
+                if (membership.isLocal(code)) {
+                    next.put(code);
+                    count[0]++;
+                }
+            }
+            current = next;
+            log.info("Game code filter rebuilt with {} codes ({} bits, {} hashes) in {} ms", count[0],
+                    next.bitCount(), next.hashCount(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } catch (RuntimeException e) {
+            // alter Filter bleibt gültig (neue Codes kamen weiter per add() hinein)
+            log.warn("Game code filter rebuild failed", e);
+        } finally {
+            building = null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ch.battleship.battleshipbackend.service.code;
+
+import ch.battleship.battleshipbackend.cluster.ClusterMembership;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Erzeugt kurze Spielcodes im Base-32-Alphabet von Crockford (ohne I, L, O, U – gut vorzulesen
+ * und abzutippen). 8 Zeichen ergeben 40 Zufallsbits.
+ * <p>
+ * Zufall kommt aus mehreren DRBG-Instanzen, die nach Thread verteilt werden: keine gemeinsame
+ * Sperre und kein Entropie-Verbrauch pro Code, nur beim einmaligen Seeding. Eindeutig ist ein
+ * Code erst nach der Prüfung in {@code GameService}; im Cluster wird so lange gezogen, bis der
+ * Code diesem Knoten gehört – dann kennt der Existenzfilter des Besitzers alle seine Codes.
+ */
+@Component
+public class GameCodeGenerator {
+
+    public static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+
+    // bei n Knoten braucht es im Mittel n Versuche
+    private static final int MAX_LOCAL_ATTEMPTS = 1000;
+
+    private final ClusterMembership membership;
+    private final int length;
+    private final SecureRandom[] stripes;
+
+    public GameCodeGenerator(ClusterMembership membership,
+                             @Value("${battleship.game-code.length:8}") int length) {
+        if (length < 4 || length > 12) {
+            throw new IllegalArgumentException("Game code length must be between 4 and 12");
+        }
+        this.membership = membership;
+        this.length = length;
+        this.stripes = new SecureRandom[Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) * 2];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = newRandom();
+        }
+    }
+
+    public String next() {
+        String code = random();
+        for (int attempt = 1; attempt < MAX_LOCAL_ATTEMPTS && !membership.isLocal(code); attempt++) {
+            code = random();
+        }
+        return code;
+    }
+
+    private String random() {
+        SecureRandom random = stripes[(int) (Thread.currentThread().threadId() & (stripes.length - 1))];
+        // 5 Bit pro Zeichen, höchstens 12 Zeichen = 60 Bit
+        long bits = random.nextLong();
+        char[] code = new char[length];
+        for (int i = 0; i < length; i++) {
+            code[i] = ALPHABET.charAt((int) (bits & 31));
+            bits >>>= 5;
+        }
+        return new String(code);
+    }
+
+    private static SecureRandom newRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
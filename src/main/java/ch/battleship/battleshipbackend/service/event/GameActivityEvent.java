@@ -0,0 +1,28 @@
+package ch.battleship.battleshipbackend.service.event;
+
+import ch.battleship.battleshipbackend.domain.Game;
+import ch.battleship.battleshipbackend.domain.enums.GameStatus;
+
+import java.time.Instant;
+
+/**
+ * Wird nach jeder Spieleraktion publiziert (Erstellen, Beitreten, Schuss) und setzt die
+ * Deadline des Spiels neu. Zeitlimits: null = Server-Default, 0 = deaktiviert.
+ */
+public record GameActivityEvent(
+        String gameCode,
+        GameStatus status,
+        Instant lastActivityAt,
+        Integer turnTimeoutSeconds,
+        Integer idleTimeoutSeconds
+) {
+    public static GameActivityEvent of(Game game) {
+        return new GameActivityEvent(
+                game.getGameCode(),
+                game.getStatus(),
+                game.getLastActivityAt(),
+                game.getConfig().getTurnTimeoutSeconds(),
+                game.getConfig().getIdleTimeoutSeconds()
+        );
+    }
+}
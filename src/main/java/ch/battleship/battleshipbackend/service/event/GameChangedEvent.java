@@ -0,0 +1,7 @@
+package ch.battleship.battleshipbackend.service.event;
+
+/**
+ * Wird bei jeder schreibenden Operation auf einem Spiel publiziert (Join, Schuss, ...).
+ * Caches verwerfen daraufhin alles, was zu diesem gameCode gehört.
+ */
+public record GameChangedEvent(String gameCode) { }
@@ -0,0 +1,15 @@
+package ch.battleship.battleshipbackend.service.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Wird publiziert, sobald ein Spiel in den Status FINISHED wechselt.
+ */
+public record GameFinishedEvent(
+        String gameCode,
+        int sequence,
+        UUID winnerId,
+        String winnerUsername,
+        List<String> playerUsernames
+) { }
@@ -0,0 +1,32 @@
+package ch.battleship.battleshipbackend.service.event;
+
+import ch.battleship.battleshipbackend.domain.Game;
+import ch.battleship.battleshipbackend.domain.enums.GameStatus;
+import ch.battleship.battleshipbackend.web.api.dto.LobbyGameDto;
+
+/**
+ * Ein Spiel erscheint in der Lobby, ändert sich dort (weiterer Spieler) oder verschwindet
+ * (gestartet, abgelaufen). Enthält nur Werte, damit Listener nach dem Commit ohne Session auskommen.
+ */
+public record LobbyEvent(Type type, LobbyGameDto game) {
+
+    public enum Type { OPENED, UPDATED, CLOSED }
+
+    public static LobbyEvent opened(Game game) {
+        return new LobbyEvent(Type.OPENED, LobbyGameDto.from(game));
+    }
+
+    // nach einer Änderung: solange WAITING bleibt das Spiel gelistet
+    public static LobbyEvent changed(Game game) {
+        return new LobbyEvent(game.getStatus() == GameStatus.WAITING ? Type.UPDATED : Type.CLOSED,
+                LobbyGameDto.from(game));
+    }
+
+    public static LobbyEvent closed(Game game) {
+        return new LobbyEvent(Type.CLOSED, LobbyGameDto.from(game));
+    }
+
+    public String gameCode() {
+        return game.gameCode();
+    }
+}
@@ -0,0 +1,21 @@
+package ch.battleship.battleshipbackend.service.event;
+
+import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+
+import java.util.UUID;
+
+/**
+ * Wird nach jedem aufgelösten Schuss publiziert. Enthält nur Werte, keine Entities,
+ * damit Listener auch nach dem Commit (ohne offene Session) damit arbeiten können.
+ */
+public record ShotFiredEvent(
+        String gameCode,
+        int sequence, // laufende Nummer des Schusses im Spiel (1-basiert)
+        UUID shotId,
+        UUID shooterId,
+        String shooterUsername,
+        UUID targetBoardId,
+        int x,
+        int y,
+        ShotResult result
+) { }
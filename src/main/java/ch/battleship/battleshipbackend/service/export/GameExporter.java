@@ -0,0 +1,251 @@
+package ch.battleship.battleshipbackend.service.export;
+
+import ch.battleship.battleshipbackend.datasource.ReplicaReadPolicy;
+import ch.battleship.battleshipbackend.domain.Fleet;
+import ch.battleship.battleshipbackend.domain.ShipPlacement;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportiert Spiele, Spieler, Boards, Schiffspositionen und Schüsse als gzip-komprimiertes
+ * NDJSON (eine Zeile pro Datensatz, Feld {@code type} gibt die Tabelle an).
+ * <p>
+ * Gelesen wird per JDBC mit Forward-only-Cursor und fester Fetch-Größe, ohne Entities und
+ * ohne Sortierung – der Speicherbedarf hängt nicht von der Datenmenge ab. Alle Abfragen
+ * laufen in einer read-only Transaktion (REPEATABLE READ: ein konsistenter Stand) und, falls
+ * konfiguriert, auf dem Replica. Damit der Live-Betrieb nicht leidet, läuft höchstens
+ * {@code max-concurrent} Export gleichzeitig und der Durchsatz ist auf
+ * {@code max-rows-per-second} begrenzt.
+ */
+@Service
+public class GameExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(GameExporter.class);
+
+    private record Section(String type, String sql, boolean fleet) {
+        Section(String type, String sql) {
+            this(type, sql, false);
+        }
+    }
+
+    // Explizite Spalten: das Format ist ein Vertrag mit den Auswertungen, nicht das Schema
+    private static final List<Section> SECTIONS = List.of(
+            new Section("game", """
+                    select id, game_code, status, board_width, board_height, fleet_definition,
+                           turn_timeout_seconds, idle_timeout_seconds, winner_player_id,
+                           created_at, last_activity_at, updated_at, max_players
+                    from games"""),
+            // seat: Zugreihenfolge, auch im Spiel jeder gegen jeden
+            new Section("player", "select id, game_id, username, created_at, seat from players"),
+            new Section("board", "select id, game_id, owner_id, width, height, remaining_ship_cells from boards"),
+            // Schiffe liegen gepackt in boards.fleet: eine Zeile pro Schiff ausgeben
+            new Section("placement", "select id as board_id, fleet from boards", true),
+            new Section("shot", """
+                    select id, game_id, shooter_id, target_board_id, x, y, result, created_at
+                    from shots"""));
+
+    // Tempo nur alle PACE_INTERVAL Zeilen prüfen
+    private static final int PACE_INTERVAL = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReplicaReadPolicy replicaReadPolicy;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate snapshot;
+
+    private final long maxRowsPerSecond;
+    private final Semaphore permits;
+
+    public GameExporter(DataSource dataSource,
+                        ReplicaReadPolicy replicaReadPolicy,
+                        ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${battleship.export.fetch-size:1000}") int fetchSize,
+                        @Value("${battleship.export.max-rows-per-second:50000}") long maxRowsPerSecond,
+                        @Value("${battleship.export.max-concurrent:1}") int maxConcurrent) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.replicaReadPolicy = replicaReadPolicy;
+        this.objectMapper = objectMapper;
+        this.snapshot = new TransactionTemplate(transactionManager);
+        this.snapshot.setReadOnly(true);
+        this.snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Reserviert einen Export-Slot; false, wenn bereits {@code max-concurrent} Exporte laufen.
+     * Nach {@link #export(OutputStream)} mit {@link #release()} wieder freigeben.
+     */
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Schreibt den kompletten Export nach {@code target} (gzip). Der Stream wird nicht geschlossen.
+     *
+     * @return Anzahl Datensätze pro Typ
+     */
+    public Map<String, Long> export(OutputStream target) throws IOException {
+        long started = System.nanoTime();
+        GZIPOutputStream gzip = new GZIPOutputStream(nonClosing(target), 64 * 1024);
+        Map<String, Long> counts = new LinkedHashMap<>();
+
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(gzip)) {
+            json.setRootValueSeparator(new SerializedString("\n"));
+            RowWriter writer = new RowWriter(json, started);
+            snapshot.executeWithoutResult(status -> {
+                replicaReadPolicy.allowStaleReplicaRead();
+                for (Section section : SECTIONS) {
+                    long before = writer.rows;
+                    jdbcTemplate.query(section.sql(), section.fleet()
+                            ? (RowCallbackHandler) writer::writePlacements
+                            : (RowCallbackHandler) rs -> writer.write(section.type(), rs));
+                    counts.put(section.type(), writer.rows - before);
+                }
+            });
+            json.writeRaw('\n');
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        // Schliessen des Generators schliesst gzip ab (Trailer), target bleibt offen
+        target.flush();
+
+        log.info("Exported {} in {} ms", counts, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return counts;
+    }
+
+    private final class RowWriter {
+
+        private final JsonGenerator json;
+        private final long started;
+        private long rows;
+
+        RowWriter(JsonGenerator json, long started) {
+            this.json = json;
+            this.started = started;
+        }
+
+        void write(String type, ResultSet rs) throws SQLException {
+            try {
+                ResultSetMetaData meta = rs.getMetaData();
+                json.writeStartObject();
+                json.writeStringField("type", type);
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    json.writeFieldName(meta.getColumnLabel(i).toLowerCase());
+                    writeValue(rs.getObject(i));
+                }
+                json.writeEndObject();
+                countRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // Spalten board_id und fleet
+        void writePlacements(ResultSet rs) throws SQLException {
+            Object boardId = rs.getObject("board_id");
+            try {
+                for (ShipPlacement placement : Fleet.decode(rs.getBytes("fleet"))) {
+                    json.writeStartObject();
+                    json.writeStringField("type", "placement");
+                    json.writeFieldName("board_id");
+                    writeValue(boardId);
+                    json.writeStringField("ship_type", placement.getShip().getType().name());
+                    json.writeNumberField("x", placement.getStart().getX());
+                    json.writeNumberField("y", placement.getStart().getY());
+                    json.writeStringField("orientation", placement.getOrientation().name());
+                    json.writeEndObject();
+                    countRow();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void countRow() throws IOException {
+            if (++rows % PACE_INTERVAL == 0) {
+                pace();
+            }
+        }
+
+        private void writeValue(Object value) throws IOException {
+            switch (value) {
+                case null -> json.writeNull();
+                case Number number -> json.writeNumber(number.toString());
+                case Boolean bool -> json.writeBoolean(bool);
+                // Zeitpunkte einheitlich als UTC-Instant, unabhängig vom JDBC-Treiber
+                case Timestamp timestamp -> json.writeString(timestamp.toInstant().toString());
+                case OffsetDateTime dateTime -> json.writeString(dateTime.toInstant().toString());
+                case TemporalAccessor temporal -> json.writeString(temporal.toString());
+                default -> json.writeString(value.toString());
+            }
+        }
+
+        // Über die ganze Laufzeit gemittelt höchstens maxRowsPerSecond
+        private void pace() throws IOException {
+            if (maxRowsPerSecond <= 0) {
+                return;
+            }
+            long due = started + rows * 1_000_000_000L / maxRowsPerSecond;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                json.flush();
+                try {
+                    Thread.sleep(Duration.ofNanos(wait));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Export interrupted");
+                }
+            }
+        }
+    }
+
+    // Der Aufrufer (Servlet-Response) schliesst selbst
+    private static OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package ch.battleship.battleshipbackend.service.idempotency;
+
+import ch.battleship.battleshipbackend.repository.GameRepository;
+import ch.battleship.battleshipbackend.service.GameService;
+import ch.battleship.battleshipbackend.web.api.dto.ShotDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Schüsse mit Client-Request-Id: Wiederholungen (z. B. nach einem Timeout im Mobilnetz)
+ * liefern den ursprünglichen {@link ShotDto}, ohne {@code Game.fireShot} erneut auszuführen.
+ * <p>
+ * Zwei Stufen: ein begrenzter In-Memory-Cache beantwortet Wiederholungen ganz ohne
+ * Datenbank, verbindlich ist die Spalte {@code shots.request_id} (Unique pro Schütze).
+ * Beide vergessen eine Id nach {@code battleship.shot-dedupe.ttl}; der Schuss selbst bleibt.
+ */
+@Service
+public class ShotRequestService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShotRequestService.class);
+
+    private record Key(String gameCode, UUID shooterId, String requestId) { }
+
+    private record Entry(ShotDto shot, long expiresAt) { }
+
+    private final GameService gameService;
+    private final GameRepository gameRepository;
+
+    private final Duration ttl;
+    private final int maxEntries;
+
+    // Einfügereihenfolge = Ablaufreihenfolge, der älteste Eintrag steht vorne
+    private final LinkedHashMap<Key, Entry> recent = new LinkedHashMap<>();
+
+    public ShotRequestService(GameService gameService,
+                              GameRepository gameRepository,
+                              @Value("${battleship.shot-dedupe.ttl:PT1H}") Duration ttl,
+                              @Value("${battleship.shot-dedupe.max-entries:100000}") int maxEntries) {
+        this.gameService = gameService;
+        this.gameRepository = gameRepository;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Feuert einen Schuss; mit {@code requestId} höchstens einmal pro Schütze und Id.
+     */
+    public ShotDto fire(String gameCode, UUID shooterId, UUID targetBoardId, int x, int y, String requestId) {
+        if (requestId == null) {
+            return ShotDto.from(gameService.fireShot(gameCode, shooterId, targetBoardId, x, y));
+        }
+
+        Key key = new Key(gameCode, shooterId, requestId);
+        Optional<ShotDto> cached = get(key);
+        if (cached.isPresent()) {
+            if (!cached.get().isSameTarget(targetBoardId, x, y)) {
+                throw new IllegalArgumentException("Request id was already used for a different shot");
+            }
+            return cached.get();
+        }
+
+        // erst nach dem Commit (Rückkehr aus der Transaktion) merken
+        ShotDto shot = gameService.fireShotOnce(gameCode, shooterId, targetBoardId, x, y, requestId);
+        put(key, shot);
+        return shot;
+    }
+
+    public synchronized int size() {
+        return recent.size();
+    }
+
+    @Scheduled(initialDelayString = "${battleship.shot-dedupe.cleanup-interval:PT5M}",
+            fixedDelayString = "${battleship.shot-dedupe.cleanup-interval:PT5M}")
+    public void expire() {
+        synchronized (this) {
+            evict(System.nanoTime());
+        }
+        int cleared = gameRepository.clearShotRequestIds(Instant.now().minus(ttl));
+        if (cleared > 0) {
+            log.debug("Cleared {} expired shot request ids", cleared);
+        }
+    }
+
+    private synchronized Optional<ShotDto> get(Key key) {
+        Entry entry = recent.get(key);
+        if (entry == null || entry.expiresAt() - System.nanoTime() <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.shot());
+    }
+
+    private synchronized void put(Key key, ShotDto shot) {
+        long now = System.nanoTime();
+        recent.remove(key);
+        recent.put(key, new Entry(shot, now + ttl.toNanos()));
+        evict(now);
+    }
+
+    // abgelaufene und (über max-entries) älteste Einträge verwerfen
+    private void evict(long now) {
+        Iterator<Map.Entry<Key, Entry>> it = recent.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Entry> oldest = it.next();
+            if (recent.size() <= maxEntries && oldest.getValue().expiresAt() - now > 0) {
+                break;
+            }
+            it.remove();
+        }
+    }
+}
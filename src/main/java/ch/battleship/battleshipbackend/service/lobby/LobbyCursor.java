@@ -0,0 +1,45 @@
+package ch.battleship.battleshipbackend.service.lobby;
+
+import ch.battleship.battleshipbackend.web.api.dto.LobbyGameDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Position in der Lobby: (createdAt, gameCode), eindeutig auch bei gleichen Zeitstempeln.
+ * Nach aussen als opaker Base64-String, damit Clients ihn nicht zusammenbauen.
+ */
+public record LobbyCursor(Instant createdAt, String gameCode) implements Comparable<LobbyCursor> {
+
+    private static final Comparator<LobbyCursor> ORDER = Comparator
+            .comparing(LobbyCursor::createdAt)
+            .thenComparing(LobbyCursor::gameCode);
+
+    public static LobbyCursor of(LobbyGameDto game) {
+        return new LobbyCursor(game.createdAt(), game.gameCode());
+    }
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + "." + createdAt.getNano() + "." + gameCode;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static LobbyCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\.", 3);
+            return new LobbyCursor(
+                    Instant.ofEpochSecond(Long.parseLong(parts[0]), Integer.parseInt(parts[1])),
+                    parts[2]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid lobby cursor", e);
+        }
+    }
+
+    @Override
+    public int compareTo(LobbyCursor other) {
+        return ORDER.compare(this, other);
+    }
+}
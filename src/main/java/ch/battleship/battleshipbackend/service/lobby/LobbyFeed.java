@@ -0,0 +1,130 @@
+package ch.battleship.battleshipbackend.service.lobby;
+
+import ch.battleship.battleshipbackend.service.event.LobbyEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live-Feed der Lobby als Server-Sent Events ({@code opened}, {@code updated}, {@code closed}).
+ * <p>
+ * Jedes Ereignis wird einmal serialisiert und in die begrenzte Queue jedes passenden Abonnenten
+ * gelegt; geschrieben wird vom Request-Thread des Abonnenten (virtuell). Läuft eine Queue über,
+ * bekommt der Client ein {@code resync} und die Verbindung endet – er lädt die Lobby dann neu.
+ * Nach {@code battleship.lobby.feed-duration} endet der Stream ebenfalls; EventSource verbindet
+ * sich von selbst wieder.
+ */
+@Service
+public class LobbyFeed {
+
+    private static final byte[] HEARTBEAT = ": heartbeat\n\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RESYNC = "event: resync\ndata: {}\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final Duration heartbeat;
+    private final Duration feedDuration;
+
+    private final Set<Subscription> subscriptions = new CopyOnWriteArraySet<>();
+
+    public LobbyFeed(ObjectMapper objectMapper,
+                     @Value("${battleship.lobby.queue-capacity:256}") int queueCapacity,
+                     @Value("${battleship.lobby.heartbeat:PT15S}") Duration heartbeat,
+                     @Value("${battleship.lobby.feed-duration:PT10M}") Duration feedDuration) {
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.heartbeat = heartbeat;
+        this.feedDuration = feedDuration;
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    void publish(LobbyEvent event) {
+        if (subscriptions.isEmpty()) {
+            return; // ohne Abonnenten wird gar nicht serialisiert
+        }
+        byte[] frame = encode(event);
+        for (Subscription subscription : subscriptions) {
+            if (subscription.filter.matches(event.game())) {
+                subscription.offer(frame);
+            }
+        }
+    }
+
+    /**
+     * Schreibt Ereignisse nach {@code out}, bis der Client weg ist, seine Queue überläuft
+     * oder {@code feed-duration} abgelaufen ist. Blockiert den aufrufenden Thread.
+     */
+    public void stream(LobbyFilter filter, OutputStream out) throws IOException {
+        Subscription subscription = new Subscription(filter, queueCapacity);
+        subscriptions.add(subscription);
+        long end = System.nanoTime() + feedDuration.toNanos();
+        try {
+            // Header sofort senden, Wiederverbindung nach 1 s
+            out.write("retry: 1000\n\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            while (end - System.nanoTime() > 0) {
+                byte[] frame = subscription.queue.poll(heartbeat.toNanos(), TimeUnit.NANOSECONDS);
+                if (subscription.overflowed) {
+                    out.write(RESYNC);
+                    out.flush();
+                    return;
+                }
+                out.write(frame == null ? HEARTBEAT : frame);
+                while ((frame = subscription.queue.poll()) != null) {
+                    out.write(frame);
+                }
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            subscriptions.remove(subscription);
+        }
+    }
+
+    private byte[] encode(LobbyEvent event) {
+        try {
+            String data = objectMapper.writeValueAsString(event.game());
+            return ("event: " + event.type().name().toLowerCase(Locale.ROOT) + "\ndata: " + data + "\n\n")
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize lobby event", e);
+        }
+    }
+
+    private static final class Subscription {
+
+        private final LobbyFilter filter;
+        private final BlockingQueue<byte[]> queue;
+        private volatile boolean overflowed;
+
+        Subscription(LobbyFilter filter, int capacity) {
+            this.filter = filter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(byte[] frame) {
+            if (!queue.offer(frame)) {
+                overflowed = true;
+                // Schreiber sofort wecken
+                queue.clear();
+                queue.offer(HEARTBEAT);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ch.battleship.battleshipbackend.service.lobby;
+
+import ch.battleship.battleshipbackend.web.api.dto.LobbyGameDto;
+
+/**
+ * Filter nach Board-Konfiguration; null = beliebig.
+ */
+public record LobbyFilter(Integer boardWidth, Integer boardHeight, String fleetDefinition) {
+
+    public static final LobbyFilter ANY = new LobbyFilter(null, null, null);
+
+    public boolean matches(LobbyGameDto game) {
+        return (boardWidth == null || boardWidth == game.boardWidth())
+                && (boardHeight == null || boardHeight == game.boardHeight())
+                && (fleetDefinition == null || fleetDefinition.equals(game.fleetDefinition()));
+    }
+}
@@ -0,0 +1,163 @@
+package ch.battleship.battleshipbackend.service.lobby;
+
+import ch.battleship.battleshipbackend.cluster.ClusterMembership;
+import ch.battleship.battleshipbackend.cluster.ClusterMembershipChangedEvent;
+import ch.battleship.battleshipbackend.domain.enums.GameStatus;
+import ch.battleship.battleshipbackend.repository.GameRepository;
+import ch.battleship.battleshipbackend.service.event.LobbyEvent;
+import ch.battleship.battleshipbackend.web.api.dto.LobbyGameDto;
+import ch.battleship.battleshipbackend.web.api.dto.LobbyPageDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-Memory-Index der offenen (WAITING) Spiele dieses Knotens, sortiert nach Erstellzeit.
+ * <p>
+ * Die Lobby liest nur aus diesem Index, nie aus der Datenbank. Beim Start (und nach
+ * Änderungen der Cluster-Mitglieder) wird er einmal geladen, danach per {@link LobbyEvent}
+ * nach dem Commit nachgeführt. Lesen ist sperrfrei, Änderungen laufen unter {@code this}.
+ */
+@Service
+public class LobbyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LobbyIndex.class);
+
+    private final GameRepository gameRepository;
+    private final ClusterMembership membership;
+    private final LobbyFeed feed;
+    private final TransactionTemplate readOnly;
+
+    private final ConcurrentSkipListMap<LobbyCursor, LobbyGameDto> games = new ConcurrentSkipListMap<>();
+
+    // alle Felder unter this
+    private final Map<String, LobbyCursor> cursors = new HashMap<>();
+    // während des Ladens geschlossene Spiele: dürfen aus dem älteren DB-Stand nicht zurückkommen
+    private Set<String> closedWhileLoading;
+
+    public LobbyIndex(GameRepository gameRepository,
+                      ClusterMembership membership,
+                      LobbyFeed feed,
+                      PlatformTransactionManager transactionManager) {
+        this.gameRepository = gameRepository;
+        this.membership = membership;
+        this.feed = feed;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    /**
+     * Bis zu {@code limit} passende Spiele nach {@code after} (exklusiv, null = von vorne).
+     */
+    public LobbyPageDto page(LobbyFilter filter, LobbyCursor after, int limit) {
+        NavigableMap<LobbyCursor, LobbyGameDto> tail = after == null ? games : games.tailMap(after, false);
+        List<LobbyGameDto> page = new ArrayList<>(limit);
+        for (LobbyGameDto game : tail.values()) {
+            if (!filter.matches(game)) {
+                continue;
+            }
+            if (page.size() == limit) {
+                // es gibt mindestens ein weiteres Spiel
+                return new LobbyPageDto(page, LobbyCursor.of(page.getLast()).encode());
+            }
+            page.add(game);
+        }
+        return new LobbyPageDto(page, null);
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLobbyEvent(LobbyEvent event) {
+        if (apply(event)) {
+            feed.publish(event);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        load();
+    }
+
+    // fremde Spiele verwerfen, neu zugeteilte nachladen
+    @EventListener
+    public void onMembershipChanged(ClusterMembershipChangedEvent event) {
+        synchronized (this) {
+            cursors.values().removeIf(cursor -> {
+                if (event.isLocal(cursor.gameCode())) {
+                    return false;
+                }
+                games.remove(cursor);
+                return true;
+            });
+        }
+        load();
+    }
+
+    /**
+     * @return true, wenn sich der Index geändert hat
+     */
+    synchronized boolean apply(LobbyEvent event) {
+        LobbyGameDto game = event.game();
+        if (event.type() == LobbyEvent.Type.CLOSED) {
+            if (closedWhileLoading != null) {
+                closedWhileLoading.add(game.gameCode());
+            }
+            LobbyCursor previous = cursors.remove(game.gameCode());
+            return previous != null && games.remove(previous) != null;
+        }
+        put(game);
+        return true;
+    }
+
+    void load() {
+        synchronized (this) {
+            closedWhileLoading = new HashSet<>();
+        }
+        try {
+            List<LobbyGameDto> waiting = readOnly.execute(status ->
+                    gameRepository.findAllByStatus(GameStatus.WAITING).stream()
+                            .filter(game -> membership.isLocal(game.getGameCode()))
+                            .map(LobbyGameDto::from)
+                            .toList());
+            synchronized (this) {
+                // Ereignisse seit Beginn des Ladens sind neuer als der DB-Stand
+                for (LobbyGameDto game : waiting) {
+                    if (!cursors.containsKey(game.gameCode()) && !closedWhileLoading.contains(game.gameCode())) {
+                        put(game);
+                    }
+                }
+            }
+            log.info("Lobby loaded with {} open games", games.size());
+        } finally {
+            synchronized (this) {
+                closedWhileLoading = null;
+            }
+        }
+    }
+
+    private void put(LobbyGameDto game) {
+        LobbyCursor cursor = LobbyCursor.of(game);
+        LobbyCursor previous = cursors.put(game.gameCode(), cursor);
+        games.put(cursor, game);
+        if (previous != null && !previous.equals(cursor)) {
+            games.remove(previous);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package ch.battleship.battleshipbackend.service.replay;
+
+import ch.battleship.battleshipbackend.datasource.ReplicaReadPolicy;
+import ch.battleship.battleshipbackend.repository.GameRepository;
+import ch.battleship.battleshipbackend.service.archive.ArchivedGame;
+import ch.battleship.battleshipbackend.service.archive.GameArchiver;
+import ch.battleship.battleshipbackend.web.api.dto.ReplayEventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Streamt die Schussreihenfolge eines Spiels als NDJSON oder Server-Sent Events.
+ * <p>
+ * Gelesen wird seitenweise über einen Keyset-Cursor (createdAt, id): jede Seite ist eine
+ * kurze read-only Transaktion (darf vom Replica lesen), im Speicher liegt nie mehr als eine
+ * Seite. Wartezeiten für die Wiedergabe ({@code speed}) laufen ausserhalb der Transaktion,
+ * damit langsame Replays keine DB-Verbindung blockieren.
+ */
+@Service
+public class ReplayService {
+
+    // Startwert des Cursors: vor jedem Schuss (createdAt ist nie EPOCH)
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    private final GameRepository gameRepository;
+    private final GameArchiver archiver;
+    private final ReplicaReadPolicy replicaReadPolicy;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+
+    private final int pageSize;
+    private final Duration maxGap;
+
+    public ReplayService(GameRepository gameRepository,
+                         GameArchiver archiver,
+                         ReplicaReadPolicy replicaReadPolicy,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${battleship.replay.page-size:256}") int pageSize,
+                         @Value("${battleship.replay.max-gap:PT5S}") Duration maxGap) {
+        this.gameRepository = gameRepository;
+        this.archiver = archiver;
+        this.replicaReadPolicy = replicaReadPolicy;
+        this.objectMapper = objectMapper;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.pageSize = pageSize;
+        this.maxGap = maxGap;
+    }
+
+    public boolean exists(String gameCode) {
+        return gameRepository.existsByGameCode(gameCode) || archiver.find(gameCode).isPresent();
+    }
+
+    /**
+     * Schreibt alle Schüsse in Reihenfolge nach {@code out}.
+     *
+     * @param sse   true = text/event-stream, sonst NDJSON (eine Zeile pro Schuss)
+     * @param speed Wiedergabegeschwindigkeit relativ zur Originalzeit (2.0 = doppelt so schnell);
+     *              null = ohne Wartezeiten. Einzelne Pausen sind auf {@code max-gap} begrenzt.
+     */
+    public void write(String gameCode, boolean sse, Double speed, OutputStream out) throws IOException {
+        Writer writer = new Writer(out, sse, speed);
+
+        Optional<ArchivedGame> archived = gameRepository.existsByGameCode(gameCode)
+                ? Optional.empty()
+                : archiver.find(gameCode);
+        if (archived.isPresent()) {
+            for (var shot : archived.get().shots()) {
+                writer.write(ReplayEventDto.from(shot.shot(), shot.firedAt()));
+            }
+        } else {
+            Instant afterAt = Instant.EPOCH;
+            UUID afterId = MIN_UUID;
+            List<ReplayEventDto> page;
+            do {
+                page = loadPage(gameCode, afterAt, afterId);
+                for (ReplayEventDto event : page) {
+                    writer.write(event);
+                }
+                if (!page.isEmpty()) {
+                    ReplayEventDto last = page.getLast();
+                    afterAt = last.firedAt();
+                    afterId = last.shotId();
+                }
+                out.flush();
+            } while (page.size() == pageSize);
+        }
+        writer.end();
+    }
+
+    private List<ReplayEventDto> loadPage(String gameCode, Instant afterAt, UUID afterId) {
+        return readOnly.execute(status -> {
+            replicaReadPolicy.allowReplicaRead(gameCode);
+            try (Stream<ReplayEventDto> shots =
+                         gameRepository.streamShotHistory(gameCode, afterAt, afterId, Limit.of(pageSize))) {
+                return shots.toList();
+            }
+        });
+    }
+
+    private final class Writer {
+
+        private final OutputStream out;
+        private final boolean sse;
+        private final Double speed;
+
+        private int sequence;
+        private Instant previous;
+
+        Writer(OutputStream out, boolean sse, Double speed) {
+            this.out = out;
+            this.sse = sse;
+            this.speed = speed;
+        }
+
+        void write(ReplayEventDto event) throws IOException {
+            ReplayEventDto numbered = event.withSequence(++sequence);
+            if (speed != null) {
+                pause(numbered.firedAt());
+            }
+            byte[] json = objectMapper.writeValueAsBytes(numbered);
+            if (sse) {
+                out.write(("id: " + numbered.sequence() + "\nevent: shot\ndata: ").getBytes(StandardCharsets.UTF_8));
+                out.write(json);
+                out.write("\n\n".getBytes(StandardCharsets.UTF_8));
+            } else {
+                out.write(json);
+                out.write('\n');
+            }
+            if (speed != null) {
+                out.flush(); // bei Wiedergabe jedes Ereignis sofort ausliefern
+            }
+        }
+
+        // Eigenes End-Ereignis: EventSource verbindet sich sonst nach Stream-Ende neu
+        void end() throws IOException {
+            if (sse) {
+                out.write(("event: end\ndata: {\"shots\":" + sequence + "}\n\n").getBytes(StandardCharsets.UTF_8));
+            }
+            out.flush();
+        }
+
+        private void pause(Instant firedAt) throws IOException {
+            if (previous != null && firedAt != null) {
+                long nanos = (long) (Duration.between(previous, firedAt).toNanos() / speed);
+                long capped = Math.min(Math.max(nanos, 0), maxGap.toNanos());
+                try {
+                    Thread.sleep(Duration.ofNanos(capped));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Replay interrupted");
+                }
+            }
+            previous = firedAt;
+        }
+    }
+}
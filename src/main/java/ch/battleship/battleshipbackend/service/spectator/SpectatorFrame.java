@@ -0,0 +1,32 @@
+package ch.battleship.battleshipbackend.service.spectator;
+
+import org.springframework.web.socket.BinaryMessage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Einmal serialisiertes, unveränderliches Ereignis (UTF-8 JSON), das an alle Zuschauer
+ * eines Spiels geht. Jeder Empfänger bekommt nur eine read-only Sicht auf dieselben Bytes.
+ */
+public final class SpectatorFrame {
+
+    private final int sequence;
+    private final byte[] payload;
+
+    public SpectatorFrame(int sequence, byte[] payload) {
+        this.sequence = sequence;
+        this.payload = payload;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    public int size() {
+        return payload.length;
+    }
+
+    public BinaryMessage toMessage() {
+        return new BinaryMessage(ByteBuffer.wrap(payload).asReadOnlyBuffer());
+    }
+}
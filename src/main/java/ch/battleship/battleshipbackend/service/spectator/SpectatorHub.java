@@ -0,0 +1,138 @@
+package ch.battleship.battleshipbackend.service.spectator;
+
+import ch.battleship.battleshipbackend.cluster.ClusterMembershipChangedEvent;
+import ch.battleship.battleshipbackend.service.event.GameFinishedEvent;
+import ch.battleship.battleshipbackend.service.event.ShotFiredEvent;
+import ch.battleship.battleshipbackend.web.api.dto.SpectatorEventDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Verteilt Spielereignisse an alle Zuschauer eines Spiels. Jedes Ereignis wird genau
+ * einmal serialisiert; die Bytes werden an alle Subscriber weitergereicht.
+ */
+@Service
+public class SpectatorHub {
+
+    // Spiel gehört einem anderen Knoten – Client verbindet sich dort neu
+    private static final CloseStatus GAME_MOVED = new CloseStatus(4001, "Game moved to another node");
+
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final Executor executor;
+
+    private final Map<String, Set<SpectatorSubscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SpectatorHub(ObjectMapper objectMapper,
+                        @Value("${battleship.spectator.queue-capacity:64}") int queueCapacity) {
+        this(objectMapper, queueCapacity, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public SpectatorHub(ObjectMapper objectMapper, int queueCapacity, Executor executor) {
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.executor = executor;
+    }
+
+    public SpectatorSubscriber subscribe(String gameCode, WebSocketSession session) {
+        SpectatorSubscriber subscriber = new SpectatorSubscriber(session, queueCapacity, executor);
+        subscribers.computeIfAbsent(gameCode, c -> new CopyOnWriteArraySet<>()).add(subscriber);
+        return subscriber;
+    }
+
+    public void unsubscribe(String gameCode, SpectatorSubscriber subscriber) {
+        subscribers.computeIfPresent(gameCode, (c, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    public int getSubscriberCount(String gameCode) {
+        Set<SpectatorSubscriber> set = subscribers.get(gameCode);
+        return set == null ? 0 : set.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShotFired(ShotFiredEvent event) {
+        broadcast(event.gameCode(), SpectatorEventDto.shot(
+                event.gameCode(),
+                event.sequence(),
+                event.shooterId(),
+                event.targetBoardId(),
+                event.x(),
+                event.y(),
+                event.result()
+        ));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameFinished(GameFinishedEvent event) {
+        broadcast(event.gameCode(), SpectatorEventDto.finished(
+                event.gameCode(),
+                event.sequence(),
+                event.winnerId()
+        ));
+    }
+
+    @EventListener
+    public void onMembershipChanged(ClusterMembershipChangedEvent event) {
+        subscribers.entrySet().removeIf(entry -> {
+            if (event.isLocal(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().forEach(s -> closeQuietly(s.getSession()));
+            return true;
+        });
+    }
+
+    private static void closeQuietly(WebSocketSession session) {
+        try {
+            session.close(GAME_MOVED);
+        } catch (IOException ignored) {
+            // Verbindung ist ohnehin weg
+        }
+    }
+
+    private void broadcast(String gameCode, SpectatorEventDto event) {
+        Set<SpectatorSubscriber> set = subscribers.get(gameCode);
+        if (set == null || set.isEmpty()) {
+            return; // ohne Zuschauer wird gar nicht serialisiert
+        }
+
+        SpectatorFrame frame = encode(event);
+        SpectatorFrame[] resync = new SpectatorFrame[1];
+        for (SpectatorSubscriber subscriber : set) {
+            subscriber.offer(frame, () -> {
+                if (resync[0] == null) {
+                    resync[0] = encode(SpectatorEventDto.resync(gameCode, event.sequence()));
+                }
+                return resync[0];
+            });
+        }
+    }
+
+    private SpectatorFrame encode(SpectatorEventDto event) {
+        try {
+            return new SpectatorFrame(event.sequence(), objectMapper.writeValueAsBytes(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize spectator event", e);
+        }
+    }
+}
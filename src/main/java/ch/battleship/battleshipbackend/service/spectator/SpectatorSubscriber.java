@@ -0,0 +1,88 @@
+package ch.battleship.battleshipbackend.service.spectator;
+
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Ein Zuschauer mit eigener, begrenzter Queue. Gesendet wird von genau einem Drain-Task
+ * gleichzeitig, damit ein langsamer Client nur sich selbst blockiert.
+ * <p>
+ * Läuft die Queue über, werden alle ausstehenden Frames verworfen und durch ein einzelnes
+ * RESYNC-Frame ersetzt; der Client lädt dann den Snapshot neu.
+ */
+public class SpectatorSubscriber {
+
+    private final WebSocketSession session;
+    private final BlockingQueue<SpectatorFrame> queue;
+    private final Executor executor;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final LongAdder dropped = new LongAdder();
+
+    public SpectatorSubscriber(WebSocketSession session, int queueCapacity, Executor executor) {
+        this.session = session;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.executor = executor;
+    }
+
+    public void offer(SpectatorFrame frame, Supplier<SpectatorFrame> resync) {
+        if (!queue.offer(frame)) {
+            synchronized (queue) {
+                dropped.add(queue.size() + 1L);
+                queue.clear();
+                queue.offer(resync.get());
+            }
+        }
+        scheduleDrain();
+    }
+
+    public long getDroppedFrames() {
+        return dropped.sum();
+    }
+
+    public WebSocketSession getSession() {
+        return session;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            SpectatorFrame frame;
+            while ((frame = queue.poll()) != null) {
+                if (!session.isOpen()) {
+                    queue.clear();
+                    return;
+                }
+                session.sendMessage(frame.toMessage());
+            }
+        } catch (IOException e) {
+            queue.clear();
+            closeQuietly();
+        } finally {
+            draining.set(false);
+            // Frame, das zwischen poll() == null und set(false) kam, nicht liegen lassen
+            if (!queue.isEmpty() && session.isOpen()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            session.close();
+        } catch (IOException ignored) {
+            // Verbindung ist ohnehin kaputt
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package ch.battleship.battleshipbackend.service.stats;
+
+import ch.battleship.battleshipbackend.domain.PlayerStatistics;
+import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+import ch.battleship.battleshipbackend.repository.PlayerStatisticsRepository;
+import ch.battleship.battleshipbackend.service.event.GameFinishedEvent;
+import ch.battleship.battleshipbackend.service.event.ShotFiredEvent;
+import ch.battleship.battleshipbackend.web.api.dto.PlayerStatisticsDto;
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Spielerstatistiken, die inkrementell aus Shot- und Game-Events nachgeführt werden.
+ * <p>
+ * Neue Ereignisse landen in LongAdder-Zählern (Deltas seit dem letzten Flush).
+ * Der periodische Flush addiert diese Deltas in der Tabelle player_statistics – so können
+ * mehrere Knoten parallel flushen. Danach wird das Leaderboard einmal aus der Tabelle
+ * gelesen; Leaderboard-Anfragen bedienen sich nur noch am unveränderlichen Snapshot.
+ * Spieler ohne Ereignisse seit dem letzten Flush fallen aus dem Speicher, ihr Stand liegt
+ * ja in der Tabelle.
+ */
+@Service
+public class PlayerStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerStatisticsService.class);
+
+    private final PlayerStatisticsRepository repository;
+    private final int leaderboardSize;
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+    private volatile List<PlayerStatisticsDto> leaderboard = List.of();
+
+    public PlayerStatisticsService(PlayerStatisticsRepository repository,
+                                   @Value("${battleship.stats.leaderboard-size:100}") int leaderboardSize) {
+        this.repository = repository;
+        this.leaderboardSize = leaderboardSize;
+    }
+
+    @PostConstruct
+    public void loadLeaderboard() {
+        leaderboard = repository.findByOrderByWinsDescGamesPlayedAscUsernameAsc(PageRequest.of(0, leaderboardSize))
+                .stream()
+                .map(PlayerStatisticsService::toDto)
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShotFired(ShotFiredEvent event) {
+        record(event.shooterUsername(), c -> {
+            c.shotsFired.increment();
+            if (event.result() == ShotResult.HIT || event.result() == ShotResult.SUNK) {
+                c.hits.increment();
+            }
+            if (event.result() == ShotResult.SUNK) {
+                c.sunk.increment();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameFinished(GameFinishedEvent event) {
+        for (String username : event.playerUsernames()) {
+            record(username, c -> {
+                c.gamesPlayed.increment();
+                if (username.equals(event.winnerUsername())) {
+                    c.wins.increment();
+                }
+            });
+        }
+    }
+
+    /**
+     * Zuletzt geflushter Stand plus noch nicht geflushte Deltas dieses Knotens.
+     */
+    public Optional<PlayerStatisticsDto> getStatistics(String username) {
+        Counters c = counters.get(username);
+        if (c != null && c.persisted != null) {
+            return Optional.of(c.current(username));
+        }
+        Optional<PlayerStatisticsDto> stored = repository.findByUsername(username).map(PlayerStatisticsService::toDto);
+        if (c == null) {
+            return stored;
+        }
+        return Optional.of(c.current(username, stored.orElse(PlayerStatisticsDto.of(username, 0, 0, 0, 0, 0))));
+    }
+
+    /**
+     * Top-N aus dem zuletzt gelesenen Snapshot (maximal leaderboard-size Einträge).
+     */
+    public List<PlayerStatisticsDto> getLeaderboard(int limit) {
+        List<PlayerStatisticsDto> current = leaderboard;
+        return current.subList(0, Math.max(0, Math.min(limit, current.size())));
+    }
+
+    @Scheduled(fixedDelayString = "${battleship.stats.flush-interval:PT10S}")
+    public void flush() {
+        List<String> flushed = new ArrayList<>();
+        List<String> idle = new ArrayList<>();
+        counters.forEach((username, c) -> {
+            // dirty zuerst zurücksetzen: parallele Inkremente setzen es wieder
+            if (!c.dirty.getAndSet(false)) {
+                idle.add(username);
+                return;
+            }
+            Delta delta = c.drain();
+            try {
+                write(username, delta);
+                flushed.add(username);
+            } catch (RuntimeException e) {
+                // ein Fehler hält die übrigen Spieler nicht auf; beim nächsten Flush erneut versuchen
+                c.restore(delta);
+                log.warn("Flushing statistics of {} failed, retrying with the next flush", username, e);
+            }
+        });
+
+        if (!flushed.isEmpty()) {
+            for (PlayerStatistics row : repository.findByUsernameIn(flushed)) {
+                Counters c = counters.get(row.getUsername());
+                if (c != null) {
+                    c.persisted = toDto(row);
+                }
+            }
+        }
+
+        // seit dem letzten Flush unverändert: entfernen, solange kein neues Ereignis dazwischenkommt
+        for (String username : idle) {
+            counters.computeIfPresent(username, (u, c) -> c.dirty.get() ? c : null);
+        }
+
+        loadLeaderboard();
+    }
+
+    private void write(String username, Delta d) {
+        if (d.isEmpty()) {
+            return;
+        }
+        if (repository.addDeltas(username, d.gamesPlayed, d.wins, d.shotsFired, d.hits, d.sunk, Instant.now()) > 0) {
+            return;
+        }
+        PlayerStatistics row = new PlayerStatistics(username);
+        row.setGamesPlayed(d.gamesPlayed);
+        row.setWins(d.wins);
+        row.setShotsFired(d.shotsFired);
+        row.setHits(d.hits);
+        row.setSunk(d.sunk);
+        try {
+            repository.save(row);
+        } catch (DataIntegrityViolationException e) {
+            // anderer Knoten hat die Zeile gerade angelegt
+            repository.addDeltas(username, d.gamesPlayed, d.wins, d.shotsFired, d.hits, d.sunk, Instant.now());
+        }
+    }
+
+    // unter dem Lock des Eintrags, damit der Flush ihn nicht zwischen Nachschlagen und Zählen entfernt
+    private void record(String username, Consumer<Counters> update) {
+        counters.compute(username, (u, c) -> {
+            Counters target = c != null ? c : new Counters();
+            update.accept(target);
+            target.dirty.set(true);
+            return target;
+        });
+    }
+
+    private static PlayerStatisticsDto toDto(PlayerStatistics row) {
+        return PlayerStatisticsDto.of(
+                row.getUsername(),
+                row.getGamesPlayed(),
+                row.getWins(),
+                row.getShotsFired(),
+                row.getHits(),
+                row.getSunk()
+        );
+    }
+
+    private record Delta(long gamesPlayed, long wins, long shotsFired, long hits, long sunk) {
+        boolean isEmpty() {
+            return gamesPlayed == 0 && wins == 0 && shotsFired == 0 && hits == 0 && sunk == 0;
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder gamesPlayed = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+        private final LongAdder shotsFired = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder sunk = new LongAdder();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private volatile PlayerStatisticsDto persisted;
+
+        // sumThenReset setzt jede Zelle atomar zurück – parallele Inkremente gehen nicht verloren
+        private Delta drain() {
+            return new Delta(gamesPlayed.sumThenReset(), wins.sumThenReset(),
+                    shotsFired.sumThenReset(), hits.sumThenReset(), sunk.sumThenReset());
+        }
+
+        private void restore(Delta d) {
+            gamesPlayed.add(d.gamesPlayed);
+            wins.add(d.wins);
+            shotsFired.add(d.shotsFired);
+            hits.add(d.hits);
+            sunk.add(d.sunk);
+            dirty.set(true);
+        }
+
+        private PlayerStatisticsDto current(String username) {
+            return current(username, persisted);
+        }
+
+        private PlayerStatisticsDto current(String username, PlayerStatisticsDto base) {
+            return PlayerStatisticsDto.of(
+                    username,
+                    base.gamesPlayed() + gamesPlayed.sum(),
+                    base.wins() + wins.sum(),
+                    base.shotsFired() + shotsFired.sum(),
+                    base.hits() + hits.sum(),
+                    base.sunk() + sunk.sum()
+            );
+        }
+    }
+}
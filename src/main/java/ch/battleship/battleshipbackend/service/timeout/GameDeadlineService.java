@@ -0,0 +1,214 @@
+package ch.battleship.battleshipbackend.service.timeout;
+
+import ch.battleship.battleshipbackend.cluster.ClusterMembership;
+import ch.battleship.battleshipbackend.cluster.ClusterMembershipChangedEvent;
+import ch.battleship.battleshipbackend.domain.enums.GameStatus;
+import ch.battleship.battleshipbackend.repository.GameRepository;
+import ch.battleship.battleshipbackend.service.GameService;
+import ch.battleship.battleshipbackend.service.event.GameActivityEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Zug-Timeouts und Idle-Ablauf aller Spiele über einen einzigen {@link HashedWheelTimer}.
+ * <p>
+ * Pro offenem Spiel gibt es genau einen Timeout, der bei jeder Aktivität
+ * ({@link GameActivityEvent}) ersetzt wird. RUNNING läuft nach dem Zug-Timeout ab
+ * (der Spieler am Zug verliert), alle anderen Status nach dem Idle-Timeout (Spiel wird
+ * gelöscht). Ist der Zug-Timeout deaktiviert, gilt für RUNNING der Idle-Timeout.
+ * Abgelaufene Spiele werden in Batches auf einem eigenen Thread abgeräumt.
+ */
+@Service
+public class GameDeadlineService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameDeadlineService.class);
+
+    private final GameService gameService;
+    private final GameRepository gameRepository;
+    private final ClusterMembership membership;
+    private final TransactionTemplate readOnly;
+
+    private final Duration turnTimeout;
+    private final Duration idleTimeout;
+    private final int batchSize;
+    private final Duration tick;
+    private final int wheelSize;
+
+    // erst nach dem Konstruktor gestartet: der Timer-Thread ruft onExpired auf
+    private HashedWheelTimer<String> timer;
+    private final Map<String, HashedWheelTimer.Timeout<String>> timeouts = new ConcurrentHashMap<>();
+    // DB-Arbeit nie auf dem Timer-Thread, und Batches nacheinander
+    private final ExecutorService expiryExecutor =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("game-expiry").daemon().factory());
+
+    public GameDeadlineService(GameService gameService,
+                               GameRepository gameRepository,
+                               ClusterMembership membership,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${battleship.timeout.turn:PT5M}") Duration turnTimeout,
+                               @Value("${battleship.timeout.idle:PT1H}") Duration idleTimeout,
+                               @Value("${battleship.timeout.tick:PT1S}") Duration tick,
+                               @Value("${battleship.timeout.wheel-size:4096}") int wheelSize,
+                               @Value("${battleship.timeout.batch-size:200}") int batchSize) {
+        this.gameService = gameService;
+        this.gameRepository = gameRepository;
+        this.membership = membership;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.turnTimeout = turnTimeout;
+        this.idleTimeout = idleTimeout;
+        this.batchSize = batchSize;
+        this.tick = tick;
+        this.wheelSize = wheelSize;
+    }
+
+    @PostConstruct
+    void start() {
+        timer = new HashedWheelTimer<>(tick, wheelSize, "game-deadlines", this::onExpired);
+    }
+
+    /**
+     * Deadline eines Spiels, oder null wenn es keine hat (FINISHED oder Timeout deaktiviert).
+     */
+    public Instant deadlineOf(GameActivityEvent activity) {
+        if (activity.status() == GameStatus.FINISHED) {
+            return null;
+        }
+        Duration timeout = Duration.ZERO;
+        if (activity.status() == GameStatus.RUNNING) {
+            timeout = resolve(activity.turnTimeoutSeconds(), turnTimeout);
+        }
+        if (timeout.isZero()) {
+            timeout = resolve(activity.idleTimeoutSeconds(), idleTimeout);
+        }
+        if (timeout.isZero()) {
+            return null;
+        }
+        // Altbestand ohne Zeitstempel: ab jetzt zählen
+        Instant since = activity.lastActivityAt() != null ? activity.lastActivityAt() : Instant.now();
+        return since.plus(timeout);
+    }
+
+    private static Duration resolve(Integer seconds, Duration fallback) {
+        return seconds != null ? Duration.ofSeconds(seconds) : fallback;
+    }
+
+    public long getPendingDeadlines() {
+        return timer.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(GameActivityEvent event) {
+        arm(event.gameCode(), deadlineOf(event));
+    }
+
+    @EventListener
+    public void onMembershipChanged(ClusterMembershipChangedEvent event) {
+        timeouts.entrySet().removeIf(entry -> {
+            if (event.isLocal(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().cancel();
+            return true;
+        });
+        // Spiele, die diesem Knoten neu gehören, bringen ihren Timer nicht mit
+        expiryExecutor.execute(this::scheduleOpenGames);
+    }
+
+    // Timer leben nur im Speicher: nach dem Start offene Spiele aus der DB einplanen
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        expiryExecutor.execute(this::scheduleOpenGames);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.close();
+        expiryExecutor.shutdownNow();
+    }
+
+    void scheduleOpenGames() {
+        AtomicInteger count = new AtomicInteger();
+        try {
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<GameActivityEvent> games = gameRepository.streamOpenGames()) {
+                    games.filter(g -> membership.isLocal(g.gameCode()))
+                            .filter(g -> !timeouts.containsKey(g.gameCode()))
+                            .forEach(g -> {
+                                arm(g.gameCode(), deadlineOf(g));
+                                count.incrementAndGet();
+                            });
+                }
+            });
+            log.info("Scheduled deadlines for {} open games", count.get());
+        } catch (RuntimeException e) {
+            log.warn("Scheduling deadlines of open games failed", e);
+        }
+    }
+
+    private void arm(String gameCode, Instant deadline) {
+        HashedWheelTimer.Timeout<String> previous = deadline == null
+                ? timeouts.remove(gameCode)
+                : timeouts.put(gameCode, timer.schedule(gameCode, Duration.between(Instant.now(), deadline)));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    // läuft auf dem Timer-Thread
+    private void onExpired(List<String> gameCodes) {
+        for (String gameCode : gameCodes) {
+            timeouts.computeIfPresent(gameCode, (code, timeout) -> timeout.isExpired() ? null : timeout);
+        }
+        expiryExecutor.execute(() -> expire(gameCodes));
+    }
+
+    private void expire(List<String> gameCodes) {
+        int expired = 0;
+        for (int from = 0; from < gameCodes.size(); from += batchSize) {
+            List<String> batch = gameCodes.subList(from, Math.min(from + batchSize, gameCodes.size()));
+            try {
+                expired += expireBatch(batch);
+            } catch (RuntimeException e) {
+                // z.B. Konflikt mit einem parallelen Schuss: einzeln wiederholen
+                for (String gameCode : batch) {
+                    try {
+                        expired += expireBatch(List.of(gameCode));
+                    } catch (RuntimeException single) {
+                        log.warn("Expiring game {} failed: {}", gameCode, single.toString());
+                    }
+                }
+            }
+        }
+        if (expired > 0) {
+            log.info("Expired {} games", expired);
+        }
+    }
+
+    private int expireBatch(List<String> gameCodes) {
+        Instant now = Instant.now();
+        return gameService.expireGames(gameCodes, game -> {
+            Instant deadline = deadlineOf(GameActivityEvent.of(game));
+            return deadline != null && !deadline.isAfter(now);
+        });
+    }
+}
@@ -0,0 +1,260 @@
+package ch.battleship.battleshipbackend.service.timeout;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Hashed-Wheel-Timer (Varghese &amp; Lauck) für sehr viele gleichzeitige Deadlines.
+ * <p>
+ * Das Rad hat {@code wheelSize} Buckets (Zweierpotenz), ein Worker-Thread rückt alle
+ * {@code tick} einen Bucket weiter. {@link #schedule} und {@link Timeout#cancel()} sind O(1):
+ * sie legen den Timeout nur in eine lock-freie Queue, erst der Worker hängt ihn in den
+ * Bucket ein bzw. aus. Deadlines jenseits einer Radumdrehung zählen Runden herunter.
+ * Abgelaufene Payloads eines Ticks gehen gesammelt an {@code onExpired} (Worker-Thread,
+ * darf also nicht blockieren). Auflösung = ein Tick.
+ */
+public final class HashedWheelTimer<T> implements AutoCloseable {
+
+    // begrenzt die Arbeit pro Tick, falls sehr viele Timeouts auf einmal geplant werden
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final int mask;
+    private final Bucket<T>[] wheel;
+    private final Consumer<List<T>> onExpired;
+
+    private final Queue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<T>> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+
+    private final long startNanos;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    // nur vom Worker geschrieben
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimer(Duration tick, int wheelSize, String threadName, Consumer<List<T>> onExpired) {
+        if (tick.isZero() || tick.isNegative()) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickNanos = tick.toNanos();
+        this.mask = wheelSize - 1;
+        this.wheel = (Bucket<T>[]) new Bucket<?>[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket<>();
+        }
+        this.onExpired = onExpired;
+        this.startNanos = System.nanoTime();
+        this.worker = Thread.ofPlatform().name(threadName).daemon().start(this::run);
+    }
+
+    /**
+     * Plant {@code payload} nach {@code delay} ein (negative Werte = nächster Tick).
+     */
+    public Timeout<T> schedule(T payload, Duration delay) {
+        if (!running) {
+            throw new IllegalStateException("Timer is closed");
+        }
+        long deadline = System.nanoTime() - startNanos + Math.max(0, delay.toNanos());
+        Timeout<T> timeout = new Timeout<>(this, payload, deadline);
+        pending.incrementAndGet();
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Anzahl geplanter, noch nicht abgelaufener oder abgebrochener Timeouts.
+     */
+    public long size() {
+        return pending.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            if (!awaitNextTick()) {
+                return;
+            }
+            removeCancelled();
+            transferScheduled();
+
+            List<T> expired = wheel[(int) (tick & mask)].expire();
+            tick++;
+            if (!expired.isEmpty()) {
+                pending.addAndGet(-expired.size());
+                try {
+                    onExpired.accept(expired);
+                } catch (RuntimeException ignored) {
+                    // Fehler im Callback dürfen den Timer nicht anhalten
+                }
+            }
+        }
+    }
+
+    // schläft bis zum Ende des aktuellen Ticks; false, wenn der Timer geschlossen wurde
+    private boolean awaitNextTick() {
+        long tickEnd = tickNanos * (tick + 1);
+        while (true) {
+            long sleepNanos = tickEnd - (System.nanoTime() - startNanos);
+            if (sleepNanos <= 0) {
+                return true;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void transferScheduled() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout<T> timeout = scheduled.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != Timeout.ACTIVE) {
+                continue; // schon vor dem Einhängen abgebrochen
+            }
+            long due = timeout.deadlineNanos / tickNanos;
+            timeout.remainingRounds = (due - tick) / wheel.length;
+            // bereits verstrichene Deadlines laufen im aktuellen Tick ab
+            wheel[(int) (Math.max(due, tick) & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout<T> timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    public static final class Timeout<T> {
+
+        private static final int ACTIVE = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final HashedWheelTimer<T> timer;
+        private final T payload;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(ACTIVE);
+
+        // nur vom Worker verwendet: doppelt verkettete Liste im Bucket
+        private long remainingRounds;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(HashedWheelTimer<T> timer, T payload, long deadlineNanos) {
+            this.timer = timer;
+            this.payload = payload;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        /**
+         * Bricht den Timeout ab; false, wenn er bereits abgelaufen oder abgebrochen ist.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ACTIVE, CANCELLED)) {
+                return false;
+            }
+            timer.pending.decrementAndGet();
+            timer.cancelled.add(this);
+            return true;
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout<T> timeout) {
+            Timeout<T> next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        List<T> expire() {
+            List<T> expired = new ArrayList<>();
+            Timeout<T> timeout = head;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.state.compareAndSet(Timeout.ACTIVE, Timeout.EXPIRED)) {
+                        expired.add(timeout.payload);
+                    }
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+            return expired;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package ch.battleship.battleshipbackend.service.warmup;
+
+import ch.battleship.battleshipbackend.domain.Board;
+import ch.battleship.battleshipbackend.domain.Coordinate;
+import ch.battleship.battleshipbackend.domain.Game;
+import ch.battleship.battleshipbackend.domain.Player;
+import ch.battleship.battleshipbackend.domain.Ship;
+import ch.battleship.battleshipbackend.domain.enums.GameStatus;
+import ch.battleship.battleshipbackend.domain.enums.Orientation;
+import ch.battleship.battleshipbackend.domain.enums.ShipType;
+import ch.battleship.battleshipbackend.service.GameService;
+import ch.battleship.battleshipbackend.service.cache.GameResponseCache;
+import ch.battleship.battleshipbackend.web.api.controller.GameController;
+import ch.battleship.battleshipbackend.web.api.dto.JoinGameRequest;
+import ch.battleship.battleshipbackend.web.api.dto.ShotRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Optionale Aufwärmphase beim Start (battleship.warmup.enabled=true).
+ * <p>
+ * Spielt synthetische Partien über GameController und GameService, damit Spiellogik,
+ * Hibernate und Jackson vom JIT kompiliert sind, bevor echter Traffic ankommt.
+ * Jede Partie läuft in einer Transaktion, die immer zurückgerollt wird: es bleibt nichts
+ * in der DB, und After-Commit-Listener (Statistiken, Zuschauer, Cache) feuern nicht.
+ * <p>
+ * Spring Boot meldet Readiness (ACCEPTING_TRAFFIC) erst nach allen ApplicationRunnern –
+ * /api/health/ready liefert deshalb erst nach dem Aufwärmen 200.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    // entspricht der Default-Flotte "2x2,2x3,1x4,1x5"
+    private static final List<ShipType> FLEET = List.of(
+            ShipType.DESTROYER, ShipType.DESTROYER,
+            ShipType.CRUISER, ShipType.CRUISER,
+            ShipType.BATTLESHIP, ShipType.CARRIER);
+
+    private final boolean enabled;
+    private final int games;
+    private final Duration maxDuration;
+    private final GameService gameService;
+    private final GameController gameController;
+    private final GameResponseCache responseCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public WarmupRunner(@Value("${battleship.warmup.enabled:false}") boolean enabled,
+                        @Value("${battleship.warmup.games:50}") int games,
+                        @Value("${battleship.warmup.max-duration:PT30S}") Duration maxDuration,
+                        GameService gameService,
+                        GameController gameController,
+                        GameResponseCache responseCache,
+                        ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.games = games;
+        this.maxDuration = maxDuration;
+        this.gameService = gameService;
+        this.gameController = gameController;
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        int played = 0;
+        long shots = 0;
+
+        for (int i = 0; i < games && System.nanoTime() < deadline; i++) {
+            try {
+                Long fired = transactionTemplate.execute(status -> {
+                    status.setRollbackOnly();
+                    return playSyntheticGame();
+                });
+                shots += fired;
+                played++;
+            } catch (RuntimeException e) {
+                // Aufwärmen darf den Start nie verhindern
+                log.warn("Warm-up game failed: {}", e.toString());
+            }
+        }
+
+        log.info("Warm-up finished: {} games, {} shots in {} ms",
+                played, shots, Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private long playSyntheticGame() {
+        String code = gameService.createNewGame().getGameCode();
+        try {
+            expectOk(gameController.joinGame(code, readJson("{\"username\":\"warmup-1\"}", JoinGameRequest.class)));
+            expectOk(gameController.joinGame(code, readJson("{\"username\":\"warmup-2\"}", JoinGameRequest.class)));
+
+            Game game = gameService.getByGameCode(code).orElseThrow();
+            game.getBoards().forEach(this::placeFleet);
+
+            int width = game.getConfig().getBoardWidth();
+            int cells = width * game.getConfig().getBoardHeight();
+            long shots = 0;
+
+            // Beide Spieler beschiessen zeilenweise alle Felder, bis einer gewinnt
+            for (int cell = 0; cell < cells && game.getStatus() == GameStatus.RUNNING; cell++) {
+                for (int turn = 0; turn < 2 && game.getStatus() == GameStatus.RUNNING; turn++) {
+                    Player shooter = game.getCurrentTurn();
+                    Board target = game.getBoards().stream()
+                            .filter(b -> !b.getOwner().getId().equals(shooter.getId()))
+                            .findFirst()
+                            .orElseThrow();
+
+                    String body = "{\"shooterId\":\"" + shooter.getId() + "\",\"x\":" + (cell % width)
+                            + ",\"y\":" + (cell / width) + "}";
+                    expectOk(gameController.fireShot(code, target.getId(), readJson(body, ShotRequest.class)));
+                    expectOk(gameController.getBoardState(code, target.getId(), null, null, null));
+                    expectOk(gameController.getBoardState(code, target.getId(), "compact", null, null));
+                    shots++;
+                }
+                expectOk(gameController.getGame(code, null, null));
+                expectOk(gameController.getGame(code, "application/cbor", null));
+            }
+            return shots;
+        } finally {
+            // Antworten der zurückgerollten Partie nicht im Cache lassen
+            responseCache.invalidate(code);
+        }
+    }
+
+    private void placeFleet(Board board) {
+        for (int i = 0; i < FLEET.size(); i++) {
+            // ein Schiff pro Zeile, linksbündig
+            board.placeShip(new Ship(FLEET.get(i)), new Coordinate(0, i), Orientation.HORIZONTAL);
+        }
+    }
+
+    private <T> T readJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid warm-up payload", e);
+        }
+    }
+
+    private static void expectOk(ResponseEntity<?> response) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new IllegalStateException("Warm-up request failed with status " + response.getStatusCode());
+        }
+    }
+}
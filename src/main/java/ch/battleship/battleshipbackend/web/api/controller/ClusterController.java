@@ -0,0 +1,52 @@
+package ch.battleship.battleshipbackend.web.api.controller;
+
+import ch.battleship.battleshipbackend.cluster.ClusterMembership;
+import ch.battleship.battleshipbackend.cluster.GameForwardingFilter;
+import ch.battleship.battleshipbackend.web.api.dto.ClusterDto;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cluster")
+public class ClusterController {
+
+    private final ClusterMembership membership;
+
+    public ClusterController(ClusterMembership membership) {
+        this.membership = membership;
+    }
+
+    @Operation(summary = "Get the cluster membership as seen by this node")
+    @GetMapping
+    public ResponseEntity<ClusterDto> getCluster() {
+        return ResponseEntity.ok(ClusterDto.from(membership));
+    }
+
+    @Operation(summary = "Get the node that owns a game")
+    @GetMapping("/owner/{gameCode}")
+    public ResponseEntity<String> getOwner(@PathVariable String gameCode) {
+        return ResponseEntity.ok(membership.ownerOf(gameCode));
+    }
+
+    @Operation(summary = "Replace the cluster members on this node",
+            description = "Requires the cluster secret in X-Battleship-Cluster-Secret (otherwise 403). "
+                    + "Only members from battleship.cluster.members are accepted (otherwise 400)")
+    @PutMapping("/members")
+    public ResponseEntity<ClusterDto> updateMembers(
+            @RequestHeader(value = GameForwardingFilter.SECRET_HEADER, required = false) String secret,
+            @RequestBody List<String> members) {
+        if (!membership.isClusterSecret(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            membership.updateMembers(members);
+            return ResponseEntity.ok(ClusterDto.from(membership));
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
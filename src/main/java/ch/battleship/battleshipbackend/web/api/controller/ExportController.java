@@ -0,0 +1,80 @@
+package ch.battleship.battleshipbackend.web.api.controller;
+
+import ch.battleship.battleshipbackend.service.export.GameExporter;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// Standardmässig aus (404); eingeschaltet nur mit Token im Header Authorization: Bearer <token>
+@RestController
+@RequestMapping("/api/admin")
+public class ExportController {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+    private static final String BEARER = "Bearer ";
+
+    private final GameExporter exporter;
+    private final boolean enabled;
+    private final byte[] token;
+
+    public ExportController(GameExporter exporter,
+                            @Value("${battleship.export.enabled:false}") boolean enabled,
+                            @Value("${battleship.export.token:}") String token) {
+        if (enabled && token.isBlank()) {
+            throw new IllegalStateException("battleship.export.token must be set when the export is enabled");
+        }
+        this.exporter = exporter;
+        this.enabled = enabled;
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Operation(summary = "Download all games, players, boards, placements and shots",
+            description = "gzip-compressed NDJSON, one record per line with a 'type' field. "
+                    + "Returns 404 unless battleship.export.enabled is set, 401 without the export token "
+                    + "as bearer token and 429 while another export is running")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (!enabled) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!isAuthorized(authorization)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!exporter.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+
+        StreamingResponseBody body = out -> {
+            try {
+                exporter.export(out);
+            } finally {
+                exporter.release();
+            }
+        };
+        String filename = "battleship-export-" + Instant.now().truncatedTo(ChronoUnit.SECONDS)
+                .toString().replace(":", "") + ".ndjson.gz";
+        return ResponseEntity.ok()
+                .contentType(GZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+
+    private boolean isAuthorized(String authorization) {
+        return authorization != null && authorization.startsWith(BEARER)
+                && MessageDigest.isEqual(token, authorization.substring(BEARER.length()).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,86 +1,170 @@
 package ch.battleship.battleshipbackend.web.api.controller;
 
-import ch.battleship.battleshipbackend.domain.Shot;
 import ch.battleship.battleshipbackend.service.GameService;
+import ch.battleship.battleshipbackend.service.archive.ArchivedGame;
+import ch.battleship.battleshipbackend.service.archive.GameArchiver;
+import ch.battleship.battleshipbackend.service.idempotency.ShotRequestService;
+import ch.battleship.battleshipbackend.service.replay.ReplayService;
+import ch.battleship.battleshipbackend.service.cache.CachedResponse;
+import ch.battleship.battleshipbackend.service.cache.GameResponseCache;
+import ch.battleship.battleshipbackend.service.cache.WireFormat;
+import ch.battleship.battleshipbackend.service.code.GameCodeFilter;
 
 import ch.battleship.battleshipbackend.domain.Game;
+import ch.battleship.battleshipbackend.domain.GameConfiguration;
 import ch.battleship.battleshipbackend.web.api.dto.*;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/games")
 public class GameController {
 
     private final GameService gameService;
+    private final GameResponseCache responseCache;
+    private final GameArchiver archiver;
+    private final ReplayService replayService;
+    private final ShotRequestService shotRequestService;
+    private final GameCodeFilter codeFilter;
 
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService, GameResponseCache responseCache,
+                          GameArchiver archiver, ReplayService replayService,
+                          ShotRequestService shotRequestService, GameCodeFilter codeFilter) {
         this.gameService = gameService;
+        this.responseCache = responseCache;
+        this.archiver = archiver;
+        this.replayService = replayService;
+        this.shotRequestService = shotRequestService;
+        this.codeFilter = codeFilter;
     }
 
     // Neues Game anlegen
-    @Operation(summary = "Create a new game")
+    @Operation(summary = "Create a new game",
+            description = "turnTimeout and idleTimeout (ISO-8601, e.g. PT60S) override the server defaults; PT0S disables them. "
+                    + "players (3-64) creates a free-for-all game that starts once all players have joined; "
+                    + "boardWidth and boardHeight default to 10")
     @PostMapping
-    public ResponseEntity<GameDto> createGame() {
-        Game game = gameService.createNewGame();
+    public ResponseEntity<GameDto> createGame(@RequestParam(required = false) Duration turnTimeout,
+                                              @RequestParam(required = false) Duration idleTimeout,
+                                              @RequestParam(required = false) Integer players,
+                                              @RequestParam(required = false) Integer boardWidth,
+                                              @RequestParam(required = false) Integer boardHeight) {
+        GameConfiguration config;
+        try {
+            GameConfiguration base = GameConfiguration.defaultConfig();
+            if (players != null || boardWidth != null || boardHeight != null) {
+                base = GameConfiguration.of(
+                        players != null ? players : GameConfiguration.CLASSIC_PLAYERS,
+                        boardWidth != null ? boardWidth : base.getBoardWidth(),
+                        boardHeight != null ? boardHeight : base.getBoardHeight());
+            }
+            config = base.withTimeouts(turnTimeout, idleTimeout);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Game game = gameService.createNewGame(config);
         return ResponseEntity.ok(GameDto.from(game));
     }
 
-    // Game per gameCode laden
+    // Game per gameCode laden (serialisierte Antwort aus dem Cache, ETag = Game-Version)
     @Operation(summary = "Get a game by its code")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = GameDto.class)))
     @GetMapping("/{gameCode}")
-    public ResponseEntity<GameDto> getGame(@PathVariable String gameCode) {
-        return gameService.getByGameCode(gameCode)
-                .map(game -> ResponseEntity.ok(GameDto.from(game)))
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getGame(@PathVariable String gameCode,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                          @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return cached(gameCode, "game", accept, ifNoneMatch, GameDto::from, ArchivedGame::toGameDto);
     }
 
     @Operation(summary = "Join a game as a player")
     @PostMapping("/{gameCode}/join")
     public ResponseEntity<GameDto> joinGame(@PathVariable String gameCode,
                                             @RequestBody JoinGameRequest request) {
+        if (!codeFilter.mightExist(gameCode)) {
+            return ResponseEntity.notFound().build();
+        }
         try {
             Game game = gameService.joinGame(gameCode, request.username());
             return ResponseEntity.ok(GameDto.from(game));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().build(); // später evtl. aussagekräftigere Fehler
         }
     }
 
-    @Operation(summary = "Fire a shot to a specific board")
+    @Operation(summary = "Fire a shot to a specific board",
+            description = "With requestId, retries return the original shot instead of firing again")
     @PostMapping("/{gameCode}/boards/{boardId}/shots")
     public ResponseEntity<ShotDto> fireShot(@PathVariable String gameCode,
                                             @PathVariable UUID boardId,
                                             @RequestBody ShotRequest request) {
+        if (!codeFilter.mightExist(gameCode)) {
+            return ResponseEntity.notFound().build();
+        }
         try {
-            Shot shot = gameService.fireShot(
+            ShotDto shot = shotRequestService.fire(
                     gameCode,
                     request.shooterId(),
                     boardId,
                     request.x(),
-                    request.y()
+                    request.y(),
+                    request.requestId()
             );
-            return ResponseEntity.ok(ShotDto.from(shot));
+            return ResponseEntity.ok(shot);
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+            // paralleler Schuss auf dasselbe Spiel (bzw. gleichzeitige Wiederholung) – Client soll neu laden
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (IllegalArgumentException | IllegalStateException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
-    @Operation(summary = "Get a specific board state ")
+    @Operation(summary = "Get a specific board state ",
+            description = "format=compact returns base64 bitsets instead of one object per shot")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(
+            oneOf = {BoardStateDto.class, CompactBoardStateDto.class})))
     @GetMapping("/{gameCode}/boards/{boardId}/state")
-    public ResponseEntity<BoardStateDto> getBoardState(@PathVariable String gameCode,
-                                                       @PathVariable UUID boardId) {
+    public ResponseEntity<byte[]> getBoardState(@PathVariable String gameCode,
+                                                @PathVariable UUID boardId,
+                                                @RequestParam(required = false) String format,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        boolean compact = "compact".equals(format);
+        if (format != null && !compact && !"full".equals(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+
         try {
-            BoardStateDto state = gameService.getBoardState(gameCode, boardId);
-            return ResponseEntity.ok(state);
+            String view = (compact ? "board-compact:" : "board:") + boardId;
+            return cached(gameCode, view, accept, ifNoneMatch,
+                    game -> compact
+                            ? gameService.toCompactBoardState(game, boardId)
+                            : gameService.toBoardState(game, boardId),
+                    archived -> compact
+                            ? CompactBoardStateDto.from(archived.toBoardState(boardId))
+                            : archived.toBoardState(boardId));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
         } catch (IllegalStateException e) {
@@ -88,4 +172,74 @@ public class GameController {
         }
     }
 
+    @Operation(summary = "Get a game as spectator (without ship placements)")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = SpectatorGameDto.class)))
+    @GetMapping("/{gameCode}/spectate")
+    public ResponseEntity<byte[]> getSpectatorView(@PathVariable String gameCode,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                   @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return cached(gameCode, "spectate", accept, ifNoneMatch, SpectatorGameDto::from, ArchivedGame::toSpectatorDto);
+    }
+
+    @Operation(summary = "Stream the ordered shot history of a game",
+            description = "NDJSON by default, server-sent events with Accept: text/event-stream. "
+                    + "speed replays with the original timing (2.0 = twice as fast); without it all shots are sent at once")
+    @GetMapping(value = "/{gameCode}/replay",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> getReplay(@PathVariable String gameCode,
+                                                           @RequestParam(required = false) Double speed,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (speed != null && !(speed > 0 && speed <= 1000)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!codeFilter.mightExist(gameCode) || !replayService.exists(gameCode)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        boolean sse = accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+        StreamingResponseBody body = out -> replayService.write(gameCode, sse, speed, out);
+        return ResponseEntity.ok()
+                .contentType(sse ? MediaType.TEXT_EVENT_STREAM : MediaType.APPLICATION_NDJSON)
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+
+    // Serialisierte Antwort pro (View, Format) aus dem Cache, sonst laden und einmalig kodieren.
+    // Nicht (mehr) in der Datenbank: read-only aus dem Archiv. Unbekannte Codes gar nicht erst nachschlagen
+    private ResponseEntity<byte[]> cached(String gameCode, String view, String accept, String ifNoneMatch,
+                                          Function<Game, Object> toDto,
+                                          Function<ArchivedGame, Object> archivedToDto) {
+        if (!codeFilter.mightExist(gameCode)) {
+            return ResponseEntity.notFound().build();
+        }
+        WireFormat wireFormat = WireFormat.negotiate(accept);
+        String key = wireFormat == WireFormat.JSON ? view : view + ";" + wireFormat.name();
+
+        Optional<CachedResponse> response = responseCache.getOrLoad(gameCode, key, () ->
+                gameService.withGame(gameCode, game ->
+                                responseCache.encode(game.getVersion(), toDto.apply(game), wireFormat))
+                        .or(() -> archiver.find(gameCode).map(archived ->
+                                responseCache.encode(archived.version(), archivedToDto.apply(archived), wireFormat))));
+
+        return response
+                .map(r -> cachedResponse(r, wireFormat, ifNoneMatch))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // 304 ohne Body, wenn der Client die aktuelle Version bereits hat
+    private ResponseEntity<byte[]> cachedResponse(CachedResponse response, WireFormat wireFormat, String ifNoneMatch) {
+        if (response.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(response.etag())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(response.etag())
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(CacheControl.noCache())
+                .contentType(wireFormat.mediaType())
+                .body(response.body());
+    }
+
 }
\ No newline at end of file
@@ -1,17 +1,63 @@
 package ch.battleship.battleshipbackend.web.api.controller;
 
+import ch.battleship.battleshipbackend.limit.AdaptiveConcurrencyLimit;
+import ch.battleship.battleshipbackend.service.cache.CoalescingStats;
+import ch.battleship.battleshipbackend.service.cache.GameResponseCache;
+import ch.battleship.battleshipbackend.web.api.dto.ConcurrencyLimitDto;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api")
 public class HealthController {
 
+    private final ApplicationAvailability availability;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final GameResponseCache responseCache;
+
+    public HealthController(ApplicationAvailability availability, AdaptiveConcurrencyLimit concurrencyLimit,
+                            GameResponseCache responseCache) {
+        this.availability = availability;
+        this.concurrencyLimit = concurrencyLimit;
+        this.responseCache = responseCache;
+    }
+
     @GetMapping("/health")
     public String health(){
         return "OK";
     }
 
-}
+    // Readiness für Load Balancer: 503, solange der Start (inkl. Aufwärmphase) noch läuft
+    // oder das Concurrency-Limit gerade Anfragen abweist – der Balancer soll zurückfahren,
+    // bevor die Latenz einbricht
+    @GetMapping("/health/ready")
+    public ResponseEntity<String> ready() {
+        ReadinessState state = availability.getReadinessState();
+        if (state != ReadinessState.ACCEPTING_TRAFFIC) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(state.name());
+        }
+        if (concurrencyLimit.isOverloaded()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("OVERLOADED");
+        }
+        return ResponseEntity.ok("OK");
+    }
 
+    @GetMapping("/health/limit")
+    public ConcurrencyLimitDto limit() {
+        return ConcurrencyLimitDto.from(concurrencyLimit);
+    }
+
+    // Anteil der Cache-Misses, die sich an einen laufenden Ladevorgang angehängt haben
+    @GetMapping("/health/coalescing")
+    public Map<String, CoalescingStats> coalescing() {
+        return responseCache.coalescingStats();
+    }
+
+}
@@ -0,0 +1,64 @@
+package ch.battleship.battleshipbackend.web.api.controller;
+
+import ch.battleship.battleshipbackend.service.lobby.LobbyCursor;
+import ch.battleship.battleshipbackend.service.lobby.LobbyFeed;
+import ch.battleship.battleshipbackend.service.lobby.LobbyFilter;
+import ch.battleship.battleshipbackend.service.lobby.LobbyIndex;
+import ch.battleship.battleshipbackend.web.api.dto.LobbyPageDto;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/lobby")
+public class LobbyController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final LobbyIndex lobbyIndex;
+    private final LobbyFeed lobbyFeed;
+
+    public LobbyController(LobbyIndex lobbyIndex, LobbyFeed lobbyFeed) {
+        this.lobbyIndex = lobbyIndex;
+        this.lobbyFeed = lobbyFeed;
+    }
+
+    @Operation(summary = "List open games waiting for players",
+            description = "Oldest first. Pass 'next' from the response as 'after' to get the following page")
+    @GetMapping
+    public ResponseEntity<LobbyPageDto> getLobby(@RequestParam(required = false) String after,
+                                                 @RequestParam(defaultValue = "20") int limit,
+                                                 @RequestParam(required = false) Integer width,
+                                                 @RequestParam(required = false) Integer height,
+                                                 @RequestParam(required = false) String fleet) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        LobbyCursor cursor;
+        try {
+            cursor = after == null ? null : LobbyCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(lobbyIndex.page(new LobbyFilter(width, height, fleet), cursor, limit));
+    }
+
+    @Operation(summary = "Live feed of games opening, changing and closing in the lobby",
+            description = "Server-sent events 'opened', 'updated', 'closed'; 'resync' means reload the lobby")
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> getLobbyEvents(@RequestParam(required = false) Integer width,
+                                                                @RequestParam(required = false) Integer height,
+                                                                @RequestParam(required = false) String fleet) {
+        LobbyFilter filter = new LobbyFilter(width, height, fleet);
+        StreamingResponseBody body = out -> lobbyFeed.stream(filter, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+}
@@ -0,0 +1,35 @@
+package ch.battleship.battleshipbackend.web.api.controller;
+
+import ch.battleship.battleshipbackend.service.stats.PlayerStatisticsService;
+import ch.battleship.battleshipbackend.web.api.dto.PlayerStatisticsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+public class PlayerStatisticsController {
+
+    private final PlayerStatisticsService statisticsService;
+
+    public PlayerStatisticsController(PlayerStatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    @Operation(summary = "Get the top players by wins")
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<PlayerStatisticsDto>> getLeaderboard(
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(statisticsService.getLeaderboard(limit));
+    }
+
+    @Operation(summary = "Get the statistics of a player")
+    @GetMapping("/players/{username}/statistics")
+    public ResponseEntity<PlayerStatisticsDto> getStatistics(@PathVariable String username) {
+        return statisticsService.getStatistics(username)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
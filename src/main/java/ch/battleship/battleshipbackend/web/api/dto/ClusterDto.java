@@ -0,0 +1,21 @@
+package ch.battleship.battleshipbackend.web.api.dto;
+
+import ch.battleship.battleshipbackend.cluster.ClusterMembership;
+
+import java.util.List;
+
+public record ClusterDto(
+        boolean enabled,
+        String self,
+        List<String> members,
+        int virtualNodes
+) {
+    public static ClusterDto from(ClusterMembership membership) {
+        return new ClusterDto(
+                membership.isEnabled(),
+                membership.getSelf(),
+                membership.getRing().getMembers(),
+                membership.getRing().getVirtualNodes()
+        );
+    }
+}
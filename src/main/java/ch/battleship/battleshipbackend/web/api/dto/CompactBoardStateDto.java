@@ -0,0 +1,119 @@
+package ch.battleship.battleshipbackend.web.api.dto;
+
+import ch.battleship.battleshipbackend.domain.Board;
+import ch.battleship.battleshipbackend.domain.Shot;
+import ch.battleship.battleshipbackend.domain.enums.Orientation;
+import ch.battleship.battleshipbackend.domain.enums.ShipType;
+import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Kompakte Variante von {@link BoardStateDto} (?format=compact).
+ * <p>
+ * Zelle (x,y) hat den Index i = y * width + x. Die Grids sind Bitsets mit genau
+ * ceil(width * height / 8) Bytes, Bit i = Byte i/8, Bit i%8 (LSB zuerst), in JSON als Base64:
+ * <ul>
+ *   <li>shotGrid: Zelle wurde beschossen</li>
+ *   <li>hitGrid: Schuss war HIT oder SUNK</li>
+ *   <li>sunkGrid: Schuss hat ein Schiff versenkt</li>
+ * </ul>
+ * ships: ein int pro Schiff = (startIndex &lt;&lt; 4) | (orientation.ordinal() &lt;&lt; 3) | type.ordinal().
+ * Die Grösse hängt nur von der Boardfläche und der Flottengrösse ab, nicht von der Anzahl Schüsse.
+ */
+public record CompactBoardStateDto(
+        UUID boardId,
+        int width,
+        int height,
+        UUID ownerId,
+        String ownerUsername,
+        int[] ships,
+        byte[] shotGrid,
+        byte[] hitGrid,
+        byte[] sunkGrid
+) {
+    public static CompactBoardStateDto from(Board board, List<Shot> shotsOnBoard) {
+        int width = board.getWidth();
+        int cells = width * board.getHeight();
+
+        BitSet shot = new BitSet(cells);
+        BitSet hit = new BitSet(cells);
+        BitSet sunk = new BitSet(cells);
+        for (Shot s : shotsOnBoard) {
+            mark(s.getCoordinate().getY() * width + s.getCoordinate().getX(), s.getResult(), shot, hit, sunk);
+        }
+
+        int[] ships = board.getPlacements().stream()
+                .mapToInt(p -> pack(p.getStart().getY() * width + p.getStart().getX(),
+                        p.getOrientation(), p.getShip().getType()))
+                .toArray();
+
+        return new CompactBoardStateDto(
+                board.getId(),
+                width,
+                board.getHeight(),
+                board.getOwner().getId(),
+                board.getOwner().getUsername(),
+                ships,
+                toBytes(shot, cells),
+                toBytes(hit, cells),
+                toBytes(sunk, cells)
+        );
+    }
+
+    /**
+     * Gleiche Kodierung aus einem {@link BoardStateDto} (z.B. archivierte Spiele ohne Entities).
+     */
+    public static CompactBoardStateDto from(BoardStateDto state) {
+        int width = state.width();
+        int cells = width * state.height();
+
+        BitSet shot = new BitSet(cells);
+        BitSet hit = new BitSet(cells);
+        BitSet sunk = new BitSet(cells);
+        for (ShotDto s : state.shotsOnThisBoard()) {
+            mark(s.y() * width + s.x(), s.result(), shot, hit, sunk);
+        }
+
+        int[] ships = state.ships().stream()
+                .mapToInt(p -> pack(p.startY() * width + p.startX(), p.orientation(), p.type()))
+                .toArray();
+
+        return new CompactBoardStateDto(
+                state.boardId(),
+                width,
+                state.height(),
+                state.ownerId(),
+                state.ownerUsername(),
+                ships,
+                toBytes(shot, cells),
+                toBytes(hit, cells),
+                toBytes(sunk, cells)
+        );
+    }
+
+    private static void mark(int index, ShotResult result, BitSet shot, BitSet hit, BitSet sunk) {
+        shot.set(index);
+        // ALREADY_SHOT ändert das ursprüngliche Ergebnis der Zelle nicht
+        if (result == ShotResult.HIT || result == ShotResult.SUNK) {
+            hit.set(index);
+        }
+        if (result == ShotResult.SUNK) {
+            sunk.set(index);
+        }
+    }
+
+    private static int pack(int startIndex, Orientation orientation, ShipType type) {
+        return (startIndex << 4)
+                | (orientation.ordinal() << 3)
+                | type.ordinal();
+    }
+
+    // BitSet.toByteArray() schneidet Null-Bytes am Ende ab – Clients erwarten feste Länge
+    private static byte[] toBytes(BitSet bits, int cells) {
+        return Arrays.copyOf(bits.toByteArray(), (cells + 7) / 8);
+    }
+}
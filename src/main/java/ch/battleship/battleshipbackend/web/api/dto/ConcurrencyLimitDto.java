@@ -0,0 +1,14 @@
+package ch.battleship.battleshipbackend.web.api.dto;
+
+import ch.battleship.battleshipbackend.limit.AdaptiveConcurrencyLimit;
+
+public record ConcurrencyLimitDto(
+        int limit,
+        int inFlight,
+        long rejected,
+        boolean overloaded
+) {
+    public static ConcurrencyLimitDto from(AdaptiveConcurrencyLimit limit) {
+        return new ConcurrencyLimitDto(limit.getLimit(), limit.getInFlight(), limit.getRejected(), limit.isOverloaded());
+    }
+}
@@ -1,6 +1,8 @@
 package ch.battleship.battleshipbackend.web.api.dto;
 
 import ch.battleship.battleshipbackend.domain.Game;
+import ch.battleship.battleshipbackend.domain.Player;
+import ch.battleship.battleshipbackend.domain.enums.GameStatus;
 
 import java.util.UUID;
 /*
@@ -32,8 +34,13 @@ public record GameDto(
         String status,
         int boardWidth,
         int boardHeight,
+        int maxPlayers,
         List<PlayerDto> players,
-        List<BoardDto> boards
+        List<BoardDto> boards,
+        // Spieler ohne Schiffe (jeder gegen jeden), leer solange alle im Spiel sind
+        List<UUID> eliminatedPlayerIds,
+        UUID currentTurnPlayerId,
+        UUID winnerPlayerId
 ) {
     public static GameDto from(Game game) {
         var config = game.getConfig();
@@ -43,12 +50,19 @@ public record GameDto(
                 game.getStatus().name(),
                 config.getBoardWidth(),
                 config.getBoardHeight(),
+                config.getMaxPlayers(),
                 game.getPlayers().stream()
                         .map(PlayerDto::from)
                         .toList(),
                 game.getBoards().stream()
                         .map(BoardDto::from)
-                        .toList()
+                        .toList(),
+                game.getStatus() == GameStatus.WAITING ? List.of() : game.getPlayers().stream()
+                        .filter(game::isEliminated)
+                        .map(Player::getId)
+                        .toList(),
+                game.getCurrentTurn() != null ? game.getCurrentTurn().getId() : null,
+                game.getWinner() != null ? game.getWinner().getId() : null
         );
     }
 }
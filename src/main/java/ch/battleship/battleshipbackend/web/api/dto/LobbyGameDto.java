@@ -0,0 +1,30 @@
+package ch.battleship.battleshipbackend.web.api.dto;
+
+import ch.battleship.battleshipbackend.domain.Game;
+import ch.battleship.battleshipbackend.domain.Player;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Ein offenes Spiel in der Lobby: Board-Konfiguration und die bereits wartenden Spieler.
+ */
+public record LobbyGameDto(
+        String gameCode,
+        Instant createdAt,
+        int boardWidth,
+        int boardHeight,
+        String fleetDefinition,
+        List<String> players
+) {
+    public static LobbyGameDto from(Game game) {
+        return new LobbyGameDto(
+                game.getGameCode(),
+                game.getCreatedAt(),
+                game.getConfig().getBoardWidth(),
+                game.getConfig().getBoardHeight(),
+                game.getConfig().getFleetDefinition(),
+                game.getPlayers().stream().map(Player::getUsername).toList()
+        );
+    }
+}
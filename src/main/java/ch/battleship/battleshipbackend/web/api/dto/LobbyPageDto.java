@@ -0,0 +1,11 @@
+package ch.battleship.battleshipbackend.web.api.dto;
+
+import java.util.List;
+
+/**
+ * Eine Seite der Lobby. next ist der Cursor für die folgende Seite (null = letzte Seite).
+ */
+public record LobbyPageDto(
+        List<LobbyGameDto> games,
+        String next
+) { }
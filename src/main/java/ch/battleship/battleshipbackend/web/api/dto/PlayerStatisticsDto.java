@@ -0,0 +1,32 @@
+package ch.battleship.battleshipbackend.web.api.dto;
+
+public record PlayerStatisticsDto(
+        String username,
+        long gamesPlayed,
+        long wins,
+        long shotsFired,
+        long hits,
+        long sunk,
+        double winRatio,
+        double hitRatio,
+        double sunkRatio
+) {
+    public static PlayerStatisticsDto of(String username, long gamesPlayed, long wins,
+                                         long shotsFired, long hits, long sunk) {
+        return new PlayerStatisticsDto(
+                username,
+                gamesPlayed,
+                wins,
+                shotsFired,
+                hits,
+                sunk,
+                ratio(wins, gamesPlayed),
+                ratio(hits, shotsFired),
+                ratio(sunk, shotsFired)
+        );
+    }
+
+    private static double ratio(long part, long total) {
+        return total == 0 ? 0.0 : (double) part / total;
+    }
+}
@@ -0,0 +1,36 @@
+package ch.battleship.battleshipbackend.web.api.dto;
+
+import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Ein Schuss im Replay. sequence beginnt bei 1 und entspricht der Reihenfolge der Schüsse;
+ * firedAt fehlt nur bei Spielen aus Archivformat 1.
+ */
+public record ReplayEventDto(
+        int sequence,
+        Instant firedAt,
+        UUID shotId,
+        UUID shooterId,
+        UUID targetBoardId,
+        int x,
+        int y,
+        ShotResult result
+) {
+    // JPQL-Projektion; die Sequenz vergibt erst der Stream beim Ausliefern
+    public ReplayEventDto(Instant firedAt, UUID shotId, UUID shooterId, UUID targetBoardId,
+                          int x, int y, ShotResult result) {
+        this(0, firedAt, shotId, shooterId, targetBoardId, x, y, result);
+    }
+
+    public static ReplayEventDto from(ShotDto shot, Instant firedAt) {
+        return new ReplayEventDto(firedAt, shot.id(), shot.shooterId(), shot.targetBoardId(),
+                shot.x(), shot.y(), shot.result());
+    }
+
+    public ReplayEventDto withSequence(int sequence) {
+        return new ReplayEventDto(sequence, firedAt, shotId, shooterId, targetBoardId, x, y, result);
+    }
+}
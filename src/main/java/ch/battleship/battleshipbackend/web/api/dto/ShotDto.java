@@ -23,4 +23,8 @@ public record ShotDto(
                 shot.getResult()
         );
     }
+
+    public boolean isSameTarget(UUID targetBoardId, int x, int y) {
+        return this.targetBoardId.equals(targetBoardId) && this.x == x && this.y == y;
+    }
 }
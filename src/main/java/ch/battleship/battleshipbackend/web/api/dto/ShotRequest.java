@@ -2,8 +2,13 @@ package ch.battleship.battleshipbackend.web.api.dto;
 
 import java.util.UUID;
 
+/**
+ * requestId ist optional: Wiederholungen mit derselben Id (z. B. nach Timeout) liefern den
+ * ursprünglichen Schuss, statt einen weiteren auszuführen.
+ */
 public record ShotRequest(
         UUID shooterId,
         int x,
-        int y
-) { }
\ No newline at end of file
+        int y,
+        String requestId
+) { }
@@ -0,0 +1,36 @@
+package ch.battleship.battleshipbackend.web.api.dto;
+
+import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+/**
+ * Ein Ereignis für Zuschauer. Enthält nie Schiffspositionen.
+ * type: SHOT, FINISHED oder RESYNC (Client soll den Snapshot neu laden).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SpectatorEventDto(
+        String type,
+        String gameCode,
+        int sequence,
+        UUID shooterId,
+        UUID targetBoardId,
+        Integer x,
+        Integer y,
+        ShotResult result,
+        UUID winnerId
+) {
+    public static SpectatorEventDto shot(String gameCode, int sequence, UUID shooterId,
+                                         UUID targetBoardId, int x, int y, ShotResult result) {
+        return new SpectatorEventDto("SHOT", gameCode, sequence, shooterId, targetBoardId, x, y, result, null);
+    }
+
+    public static SpectatorEventDto finished(String gameCode, int sequence, UUID winnerId) {
+        return new SpectatorEventDto("FINISHED", gameCode, sequence, null, null, null, null, null, winnerId);
+    }
+
+    public static SpectatorEventDto resync(String gameCode, int sequence) {
+        return new SpectatorEventDto("RESYNC", gameCode, sequence, null, null, null, null, null, null);
+    }
+}
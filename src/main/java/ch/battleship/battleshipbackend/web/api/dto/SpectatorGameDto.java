@@ -0,0 +1,45 @@
+package ch.battleship.battleshipbackend.web.api.dto;
+
+import ch.battleship.battleshipbackend.domain.Game;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Snapshot eines Spiels aus Zuschauersicht: Spieler, Boards und Schüsse, aber keine
+ * ShipPlacements. sequence = Anzahl Schüsse; Events mit grösserer sequence folgen danach.
+ */
+public record SpectatorGameDto(
+        String gameCode,
+        String status,
+        int boardWidth,
+        int boardHeight,
+        int sequence,
+        List<PlayerDto> players,
+        List<BoardDto> boards,
+        List<ShotDto> shots,
+        UUID currentTurnPlayerId,
+        UUID winnerPlayerId
+) {
+    public static SpectatorGameDto from(Game game) {
+        var config = game.getConfig();
+        return new SpectatorGameDto(
+                game.getGameCode(),
+                game.getStatus().name(),
+                config.getBoardWidth(),
+                config.getBoardHeight(),
+                game.getShots().size(),
+                game.getPlayers().stream()
+                        .map(PlayerDto::from)
+                        .toList(),
+                game.getBoards().stream()
+                        .map(BoardDto::from)
+                        .toList(),
+                game.getShots().stream()
+                        .map(ShotDto::from)
+                        .toList(),
+                game.getCurrentTurn() != null ? game.getCurrentTurn().getId() : null,
+                game.getWinner() != null ? game.getWinner().getId() : null
+        );
+    }
+}
@@ -0,0 +1,48 @@
+package ch.battleship.battleshipbackend.web.websocket;
+
+import ch.battleship.battleshipbackend.service.bot.BotConnection;
+import ch.battleship.battleshipbackend.service.bot.BotGateway;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+/**
+ * Binärer WebSocket für Bots: /ws/bot (Protokoll siehe BotProtocol).
+ * Textnachrichten schliessen die Verbindung (NOT_ACCEPTABLE).
+ */
+@Component
+public class BotWebSocketHandler extends BinaryWebSocketHandler {
+
+    public static final String PATH = "/ws/bot";
+
+    private static final String CONNECTION_ATTRIBUTE = "bot.connection";
+    private static final int SEND_TIME_LIMIT_MS = 5_000;
+
+    private final BotGateway gateway;
+    private final int sendBufferLimit;
+
+    public BotWebSocketHandler(BotGateway gateway,
+                               @Value("${battleship.bot.send-buffer-limit:262144}") int sendBufferLimit) {
+        this.gateway = gateway;
+        this.sendBufferLimit = sendBufferLimit;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        // Antworten kommen von mehreren Threads; liest der Bot nicht mehr, wird geschlossen
+        WebSocketSession concurrent =
+                new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, sendBufferLimit);
+        session.getAttributes().put(CONNECTION_ATTRIBUTE, gateway.open(concurrent));
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        if (session.getAttributes().get(CONNECTION_ATTRIBUTE) instanceof BotConnection connection) {
+            gateway.handle(connection, message.getPayload());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ch.battleship.battleshipbackend.web.websocket;
+
+import ch.battleship.battleshipbackend.service.GameService;
+import ch.battleship.battleshipbackend.service.spectator.SpectatorHub;
+import ch.battleship.battleshipbackend.service.spectator.SpectatorSubscriber;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.util.UriTemplate;
+
+import java.util.Map;
+
+/**
+ * Read-only WebSocket für Zuschauer: /ws/games/{gameCode}/spectate.
+ * Der Server sendet binäre Frames mit UTF-8 JSON (SpectatorEventDto).
+ * Nachrichten vom Client werden ignoriert.
+ */
+@Component
+public class SpectatorWebSocketHandler extends AbstractWebSocketHandler {
+
+    public static final String PATH = "/ws/games/{gameCode}/spectate";
+
+    private static final UriTemplate PATH_TEMPLATE = new UriTemplate(PATH);
+    private static final String GAME_CODE_ATTRIBUTE = "spectator.gameCode";
+    private static final String SUBSCRIBER_ATTRIBUTE = "spectator.subscriber";
+
+    private final GameService gameService;
+    private final SpectatorHub spectatorHub;
+
+    public SpectatorWebSocketHandler(GameService gameService, SpectatorHub spectatorHub) {
+        this.gameService = gameService;
+        this.spectatorHub = spectatorHub;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        String gameCode = gameCodeOf(session);
+        if (gameCode == null || gameService.getByGameCode(gameCode).isEmpty()) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Game not found"));
+            return;
+        }
+
+        SpectatorSubscriber subscriber = spectatorHub.subscribe(gameCode, session);
+        session.getAttributes().put(GAME_CODE_ATTRIBUTE, gameCode);
+        session.getAttributes().put(SUBSCRIBER_ATTRIBUTE, subscriber);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Object gameCode = session.getAttributes().get(GAME_CODE_ATTRIBUTE);
+        Object subscriber = session.getAttributes().get(SUBSCRIBER_ATTRIBUTE);
+        if (gameCode instanceof String code && subscriber instanceof SpectatorSubscriber s) {
+            spectatorHub.unsubscribe(code, s);
+        }
+    }
+
+    private static String gameCodeOf(WebSocketSession session) {
+        if (session.getUri() == null) {
+            return null;
+        }
+        Map<String, String> vars = PATH_TEMPLATE.match(session.getUri().getPath());
+        return vars.get("gameCode");
+    }
+}
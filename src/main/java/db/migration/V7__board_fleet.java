@@ -0,0 +1,69 @@
+package db.migration;
+
+import ch.battleship.battleshipbackend.domain.Fleet;
+import ch.battleship.battleshipbackend.domain.enums.ShipType;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Kopiert die Flotten aus {@code ship_placements}/{@code ships} in die gepackte Spalte
+ * {@code boards.fleet} (Format siehe {@link Fleet}) und löscht danach die beiden Tabellen.
+ * In Java, weil sich die Bytes nicht portabel in SQL zusammensetzen lassen.
+ */
+public class V7__board_fleet extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table boards add column fleet bytea");
+        }
+
+        // Platzierungsreihenfolge wie bisher: nach Erstellung
+        Map<UUID, ByteArrayOutputStream> fleets = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "select p.board_id, s.type, p.orientation, p.x, p.y "
+                             + "from ship_placements p join ships s on s.id = p.ship_id "
+                             + "where p.board_id is not null "
+                             + "order by p.board_id, p.created_at, p.id")) {
+            while (rs.next()) {
+                ByteArrayOutputStream fleet = fleets.computeIfAbsent(rs.getObject(1, UUID.class),
+                        id -> new ByteArrayOutputStream());
+                fleet.write(ShipType.valueOf(rs.getString(2)).ordinal() << 1
+                        | ("VERTICAL".equals(rs.getString(3)) ? 1 : 0));
+                fleet.write(rs.getInt(4));
+                fleet.write(rs.getInt(5));
+            }
+        }
+
+        try (PreparedStatement update = connection.prepareStatement("update boards set fleet = ? where id = ?")) {
+            for (Map.Entry<UUID, ByteArrayOutputStream> entry : fleets.entrySet()) {
+                update.setBytes(1, entry.getValue().toByteArray());
+                update.setObject(2, entry.getKey());
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+
+        try (PreparedStatement empty = connection.prepareStatement("update boards set fleet = ? where fleet is null")) {
+            empty.setBytes(1, new byte[0]);
+            empty.executeUpdate();
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table boards alter column fleet set not null");
+            statement.execute("drop table ship_placements");
+            statement.execute("drop table ships");
+        }
+    }
+}
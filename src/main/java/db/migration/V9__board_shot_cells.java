@@ -0,0 +1,66 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Legt pro Board das Bitset der beschossenen Felder an ({@code boards.shot_cells}, Bit
+ * {@code y * width + x}, niederwertigstes Bit zuerst) und füllt es aus {@code shots}. Damit lädt
+ * {@code Board} seinen Zustand, ohne die Schüsse des Spiels erneut abzugeben.
+ * In Java, weil sich die Bytes nicht portabel in SQL zusammensetzen lassen.
+ */
+public class V9__board_shot_cells extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table boards add column shot_cells bytea");
+        }
+
+        Map<UUID, byte[]> cells = new LinkedHashMap<>();
+        Map<UUID, Integer> widths = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select id, width, height from boards")) {
+            while (rs.next()) {
+                UUID board = rs.getObject(1, UUID.class);
+                cells.put(board, new byte[(rs.getInt(2) * rs.getInt(3) + 7) / 8]);
+                widths.put(board, rs.getInt(2));
+            }
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select target_board_id, x, y from shots")) {
+            while (rs.next()) {
+                UUID board = rs.getObject(1, UUID.class);
+                byte[] bits = cells.get(board);
+                if (bits == null) {
+                    continue;
+                }
+                int cell = rs.getInt(3) * widths.get(board) + rs.getInt(2);
+                bits[cell >>> 3] |= (byte) (1 << (cell & 7));
+            }
+        }
+
+        try (PreparedStatement update = connection.prepareStatement("update boards set shot_cells = ? where id = ?")) {
+            for (Map.Entry<UUID, byte[]> entry : cells.entrySet()) {
+                update.setBytes(1, entry.getValue());
+                update.setObject(2, entry.getKey());
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table boards alter column shot_cells set not null");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+-- Schema vor Einführung von Flyway. Bestehende Datenbanken stehen auf diesem Stand und
+-- überspringen die Datei (spring.flyway.baseline-on-migrate im Profil prod).
+
+create table games (
+    id uuid not null,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    status varchar(255) not null check (status in ('WAITING', 'RUNNING', 'PAUSED', 'FINISHED')),
+    game_code varchar(64) not null unique,
+    board_width integer not null,
+    board_height integer not null,
+    fleet_definition varchar(100) not null,
+    primary key (id)
+);
+
+create table players (
+    id uuid not null,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    username varchar(50) not null,
+    game_id uuid,
+    primary key (id)
+);
+
+create table boards (
+    id uuid not null,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    width integer not null,
+    height integer not null,
+    owner_id uuid not null,
+    game_id uuid,
+    primary key (id)
+);
+
+create table ships (
+    id uuid not null,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    type varchar(20) not null check (type in ('DESTROYER', 'CRUISER', 'BATTLESHIP', 'CARRIER')),
+    primary key (id)
+);
+
+create table ship_placements (
+    id uuid not null,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    x integer not null,
+    y integer not null,
+    orientation varchar(10) not null check (orientation in ('HORIZONTAL', 'VERTICAL')),
+    ship_id uuid not null,
+    board_id uuid,
+    primary key (id)
+);
+
+create table shots (
+    id uuid not null,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    x integer not null,
+    y integer not null,
+    result varchar(20) not null check (result in ('MISS', 'HIT', 'SUNK', 'ALREADY_SHOT')),
+    shooter_id uuid not null,
+    target_board_id uuid not null,
+    game_id uuid,
+    primary key (id)
+);
+
+-- Namen wie von Hibernate vergeben, damit neue und bestehende Datenbanken gleich aussehen
+alter table players add constraint FKchry7scrns4qyuyxe9dpod9k3 foreign key (game_id) references games (id);
+alter table boards add constraint FKg9qear5trho41atawalvl3lr3 foreign key (owner_id) references players (id);
+alter table boards add constraint FK3yjlij7ml6glqkl3dwf2ei4d5 foreign key (game_id) references games (id);
+alter table ship_placements add constraint FKbgm15u44jsiypyn0gu4xi84ll foreign key (ship_id) references ships (id);
+alter table ship_placements add constraint FKaojxq4t1a6gq6qj5oxkmtmcla foreign key (board_id) references boards (id);
+alter table shots add constraint FKon7f3h1y1lpsnln2mlin2yf5b foreign key (shooter_id) references players (id);
+alter table shots add constraint FKo3db9wf1pk83es4cjaqradm8d foreign key (target_board_id) references boards (id);
+alter table shots add constraint FKmsiryftkw55vgll8dxrmgcwpu foreign key (game_id) references games (id);
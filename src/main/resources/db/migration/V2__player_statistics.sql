@@ -0,0 +1,13 @@
+-- Spielerstatistik und Rangliste
+create table player_statistics (
+    id uuid not null,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    username varchar(50) not null unique,
+    games_played bigint not null,
+    wins bigint not null,
+    shots_fired bigint not null,
+    hits bigint not null,
+    sunk bigint not null,
+    primary key (id)
+);
@@ -0,0 +1,2 @@
+-- Aggregat-Version für optimistisches Locking und den Antwort-Cache
+alter table games add column version bigint default 0 not null;
@@ -0,0 +1,7 @@
+-- Zug-Timeout und Idle-Ablauf
+alter table games add column last_activity_at timestamp(6) with time zone;
+alter table games add column turn_timeout_seconds integer;
+alter table games add column idle_timeout_seconds integer;
+
+-- bestehende Spiele laufen ab der letzten Änderung ab
+update games set last_activity_at = updated_at;
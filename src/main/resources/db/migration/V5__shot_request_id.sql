@@ -0,0 +1,3 @@
+-- Idempotente Schüsse
+alter table shots add column request_id varchar(64);
+alter table shots add constraint uk_shots_shooter_request unique (shooter_id, request_id);
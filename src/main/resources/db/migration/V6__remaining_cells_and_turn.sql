@@ -0,0 +1,55 @@
+-- Verbleibende Schiffsfelder pro Board sowie Spieler am Zug und Gewinner pro Spiel.
+-- Bestehende Spiele bekommen die Werte, die sie unter den neuen Regeln hätten.
+
+alter table boards add column remaining_ship_cells integer;
+
+-- Schiffsfelder minus Treffer (jedes Feld zählt nur einmal als HIT oder SUNK)
+update boards set remaining_ship_cells =
+    coalesce((select sum(case s.type
+                             when 'DESTROYER' then 2
+                             when 'CRUISER' then 3
+                             when 'BATTLESHIP' then 4
+                             when 'CARRIER' then 5
+                         end)
+              from ship_placements p
+              join ships s on s.id = p.ship_id
+              where p.board_id = boards.id), 0)
+    - (select count(*)
+       from shots t
+       where t.target_board_id = boards.id and t.result in ('HIT', 'SUNK'));
+
+alter table boards alter column remaining_ship_cells set not null;
+
+alter table games add column current_turn_player_id uuid;
+alter table games add column winner_player_id uuid;
+alter table games add constraint FK3h0ruke1gj25y6qj9ut6jekwj foreign key (current_turn_player_id) references players (id);
+alter table games add constraint FKipto5yppvmji2bphrgpoc1p4f foreign key (winner_player_id) references players (id);
+
+-- Laufende Spiele mit zerstörter Flotte sind vorbei; gewonnen hat, wer den letzten Treffer gesetzt hat
+update games set status = 'FINISHED', winner_player_id =
+    (select t.shooter_id
+     from shots t
+     join boards b on b.id = t.target_board_id
+     where t.game_id = games.id and b.remaining_ship_cells = 0 and t.result in ('HIT', 'SUNK')
+     order by t.created_at desc, t.id desc
+     limit 1)
+where status = 'RUNNING'
+  and exists (select 1
+              from boards b
+              where b.game_id = games.id and b.remaining_ship_cells = 0
+                and exists (select 1 from ship_placements p where p.board_id = b.id));
+
+-- Am Zug ist der Besitzer des zuletzt beschossenen Boards, ohne Schüsse der erste Spieler
+update games set current_turn_player_id = coalesce(
+    (select b.owner_id
+     from shots t
+     join boards b on b.id = t.target_board_id
+     where t.game_id = games.id
+     order by t.created_at desc, t.id desc
+     limit 1),
+    (select p.id
+     from players p
+     where p.game_id = games.id
+     order by p.created_at, p.id
+     limit 1))
+where status = 'RUNNING';
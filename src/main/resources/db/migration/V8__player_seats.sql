@@ -0,0 +1,30 @@
+-- Sitz pro Spieler und Bitmaske der verbliebenen Spieler pro Spiel (Jeder gegen jeden).
+-- Bestehende Spiele sind Duelle: max_players bleibt null.
+
+alter table players add column seat integer;
+
+-- Sitz in Beitrittsreihenfolge, wie Game.addPlayer ihn vergibt
+update players set seat =
+    (select count(*)
+     from players q
+     where q.game_id = players.game_id
+       and (q.created_at < players.created_at or (q.created_at = players.created_at and q.id < players.id)));
+
+alter table players alter column seat set not null;
+
+alter table games add column max_players integer;
+alter table games add column alive_players bigint;
+
+-- Bit i = Sitz i hat noch Schiffe; ein beendetes Spiel hat nur noch den Gewinner.
+-- Bisherige Spiele haben höchstens zwei Sitze, power(2, seat) ist also exakt.
+update games set alive_players = coalesce(
+    (select cast(sum(cast(power(2, p.seat) as bigint)) as bigint)
+     from players p
+     where p.game_id = games.id
+       and (games.status <> 'FINISHED' or p.id = games.winner_player_id)
+       and not exists (select 1
+                       from boards b
+                       where b.owner_id = p.id and b.remaining_ship_cells = 0 and octet_length(b.fleet) > 0)),
+    0);
+
+alter table games alter column alive_players set not null;
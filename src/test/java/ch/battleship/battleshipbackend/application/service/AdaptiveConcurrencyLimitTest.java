@@ -0,0 +1,70 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import ch.battleship.battleshipbackend.limit.AdaptiveConcurrencyLimit;
+import ch.battleship.battleshipbackend.limit.AdaptiveConcurrencyLimit.Permit;
+import ch.battleship.battleshipbackend.limit.AdaptiveConcurrencyLimit.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+            10, 2, 20, Duration.ofMillis(100), 0.5, Duration.ofSeconds(5), now::get);
+
+    @Test
+    void tryAcquire_shouldShedLowPriorityFirst_andReportOverload() {
+        List<Permit> permits = new ArrayList<>();
+        while (true) {
+            var permit = limit.tryAcquire(Priority.LOW);
+            if (permit.isEmpty()) {
+                break;
+            }
+            permits.add(permit.get());
+        }
+
+        assertThat(permits).hasSize(6);
+        assertThat(limit.tryAcquire(Priority.CRITICAL)).isPresent();
+        assertThat(limit.isOverloaded()).isTrue();
+        assertThat(limit.getRejected()).isEqualTo(1);
+
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThat(limit.isOverloaded()).isFalse();
+    }
+
+    @Test
+    void release_shouldBackOffOncePerThreshold_andGrowWhenUtilized() {
+        List<Permit> slow = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            slow.add(limit.tryAcquire(Priority.NORMAL).orElseThrow());
+        }
+        now.addAndGet(Duration.ofMillis(200).toNanos());
+        slow.forEach(p -> p.release(true));
+
+        // vier langsame Antworten im selben Fenster: nur eine Halbierung
+        assertThat(limit.getLimit()).isEqualTo(5);
+        assertThat(limit.getInFlight()).isZero();
+
+        for (int round = 0; round < 20; round++) {
+            List<Permit> fast = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                fast.add(limit.tryAcquire(Priority.CRITICAL).orElseThrow());
+            }
+            now.addAndGet(Duration.ofMillis(10).toNanos());
+            fast.forEach(p -> p.release(true));
+        }
+        assertThat(limit.getLimit()).isGreaterThan(5);
+
+        var failed = limit.tryAcquire(Priority.CRITICAL).orElseThrow();
+        int before = limit.getLimit();
+        failed.release(false);
+        assertThat(limit.getLimit()).isLessThan(before);
+    }
+}
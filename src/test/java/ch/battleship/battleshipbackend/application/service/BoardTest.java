@@ -115,4 +115,26 @@ class BoardTest {
 
         assertThat(board.getPlacements()).isEmpty();
     }
+
+    @Test
+    void placementAt_shouldFindShipOnEveryCoveredCell_andRoundTripThroughFleetEncoding() {
+        // Arrange
+        Board board = createEmptyBoard();
+        ShipPlacement carrier = board.placeShip(new Ship(ShipType.CARRIER), new Coordinate(2, 3), Orientation.VERTICAL);
+        ShipPlacement destroyer = board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(8, 9), Orientation.HORIZONTAL);
+
+        // Act + Assert
+        assertThat(board.placementAt(new Coordinate(2, 7))).isSameAs(carrier);
+        assertThat(board.placementAt(new Coordinate(9, 9))).isSameAs(destroyer);
+        assertThat(board.placementAt(new Coordinate(3, 3))).isNull();
+        assertThat(board.placementAt(new Coordinate(10, 0))).isNull();
+        assertThat(board.getRemainingShipCells()).isEqualTo(7);
+
+        // 3 Bytes pro Schiff: Typ << 1 | vertikal, x, y
+        assertThat(Fleet.decode(new byte[]{7, 2, 3, 0, 8, 9}))
+                .extracting(p -> p.getShip().getType(), p -> p.getStart(), ShipPlacement::getOrientation)
+                .containsExactly(
+                        tuple(ShipType.CARRIER, new Coordinate(2, 3), Orientation.VERTICAL),
+                        tuple(ShipType.DESTROYER, new Coordinate(8, 9), Orientation.HORIZONTAL));
+    }
 }
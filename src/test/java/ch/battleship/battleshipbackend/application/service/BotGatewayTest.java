@@ -0,0 +1,234 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import ch.battleship.battleshipbackend.cluster.ClusterMembership;
+import ch.battleship.battleshipbackend.domain.*;
+import ch.battleship.battleshipbackend.domain.common.BaseEntity;
+import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+import ch.battleship.battleshipbackend.service.GameService;
+import ch.battleship.battleshipbackend.service.bot.BotConnection;
+import ch.battleship.battleshipbackend.service.bot.BotGateway;
+import ch.battleship.battleshipbackend.service.bot.BotProtocol;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BotGatewayTest {
+
+    private static final String CODE = "TEST-CODE";
+
+    private final GameService gameService = mock(GameService.class);
+    private final ClusterMembership membership = mock(ClusterMembership.class);
+
+    // Executor, der Aufgaben erst auf Kommando ausführt
+    private final Queue<Runnable> pendingTasks = new ArrayDeque<>();
+
+    private final UUID attackerId = UUID.randomUUID();
+    private final UUID defenderBoardId = UUID.randomUUID();
+
+    private WebSocketSession session;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        when(membership.isLocal(anyString())).thenReturn(true);
+
+        game = new Game(CODE, GameConfiguration.defaultConfig());
+        Player attacker = new Player("Attacker");
+        Player defender = new Player("Defender");
+        game.addPlayer(attacker);
+        game.addPlayer(defender);
+        Board attackerBoard = new Board(10, 10, attacker);
+        Board defenderBoard = new Board(10, 10, defender);
+        game.addBoard(attackerBoard);
+        game.addBoard(defenderBoard);
+        setId(attacker, attackerId);
+        setId(defender, UUID.randomUUID());
+        setId(attackerBoard, UUID.randomUUID());
+        setId(defenderBoard, defenderBoardId);
+
+        when(gameService.withGame(eq(CODE), any())).thenAnswer(inv -> {
+            Function<Game, ?> reader = inv.getArgument(1);
+            return Optional.ofNullable(reader.apply(game));
+        });
+    }
+
+    private BotGateway gateway(int maxInFlight) {
+        return new BotGateway(gameService, membership, maxInFlight, pendingTasks::add);
+    }
+
+    private void runPendingTasks() {
+        Runnable task;
+        while ((task = pendingTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    @Test
+    void bindThenShot_shouldAnswerWithHandleAndShotResult() throws Exception {
+        game.start();
+        Shot hit = mock(Shot.class);
+        when(hit.getResult()).thenReturn(ShotResult.HIT);
+        when(gameService.fireShot(CODE, attackerId, defenderBoardId, 3, 4)).thenReturn(hit);
+
+        BotGateway gateway = gateway(16);
+        BotConnection connection = gateway.open(session);
+
+        gateway.handle(connection, bindFrame(7, attackerId, CODE));
+        runPendingTasks();
+        int handle = sentFrames(1).get(0).getShort(5) & 0xFFFF;
+
+        gateway.handle(connection, shotFrame(handle, 1, 42, 43)); // Zelle 43 = (3,4)
+        runPendingTasks();
+
+        List<ByteBuffer> frames = sentFrames(2);
+        assertThat(frames.get(0).get(0)).isEqualTo(BotProtocol.STATUS_BOUND);
+        assertThat(frames.get(0).getInt(1)).isEqualTo(7);
+        assertThat(frames.get(1).get(0)).isEqualTo(BotProtocol.statusOf(ShotResult.HIT));
+        assertThat(frames.get(1).getInt(1)).isEqualTo(42);
+    }
+
+    @Test
+    void shot_shouldResolveBoardIndexThroughOwnerSeat() throws Exception {
+        game.start();
+        // Boards in anderer Reihenfolge geladen als die Sitze
+        Collections.reverse(game.getBoards());
+        Shot miss = mock(Shot.class);
+        when(miss.getResult()).thenReturn(ShotResult.MISS);
+        when(gameService.fireShot(CODE, attackerId, defenderBoardId, 0, 0)).thenReturn(miss);
+
+        BotGateway gateway = gateway(16);
+        BotConnection connection = gateway.open(session);
+        gateway.handle(connection, bindFrame(1, attackerId, CODE));
+        runPendingTasks();
+        int handle = sentFrames(1).get(0).getShort(5) & 0xFFFF;
+
+        gateway.handle(connection, shotFrame(handle, 1, 2, 0));
+        runPendingTasks();
+
+        assertThat(sentFrames(2).get(1).get(0)).isEqualTo(BotProtocol.statusOf(ShotResult.MISS));
+    }
+
+    @Test
+    void bind_shouldBeRejected_whileGameIsWaiting() throws Exception {
+        BotGateway gateway = gateway(16);
+        BotConnection connection = gateway.open(session);
+
+        gateway.handle(connection, bindFrame(1, attackerId, CODE));
+        runPendingTasks();
+
+        assertThat(sentFrames(1).get(0).get(0)).isEqualTo(BotProtocol.ERROR_REJECTED);
+    }
+
+    @Test
+    void shot_shouldReportUnknownHandleAndMalformedFrames() throws Exception {
+        BotGateway gateway = gateway(16);
+        BotConnection connection = gateway.open(session);
+
+        gateway.handle(connection, shotFrame(99, 0, 5, 0));
+        gateway.handle(connection, ByteBuffer.wrap(new byte[]{BotProtocol.OP_SHOT, 0, 1}));
+
+        List<ByteBuffer> frames = sentFrames(2);
+        assertThat(frames.get(0).get(0)).isEqualTo(BotProtocol.ERROR_UNKNOWN_HANDLE);
+        assertThat(frames.get(0).getInt(1)).isEqualTo(5);
+        assertThat(frames.get(1).get(0)).isEqualTo(BotProtocol.ERROR_MALFORMED);
+        verify(gameService, never()).fireShot(any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void shot_shouldMapRuleViolationToRejected() throws Exception {
+        game.start();
+        when(gameService.fireShot(any(), any(), any(), anyInt(), anyInt()))
+                .thenThrow(new IllegalStateException("It is not the turn of this player"));
+
+        BotGateway gateway = gateway(16);
+        BotConnection connection = gateway.open(session);
+        gateway.handle(connection, bindFrame(1, attackerId, CODE));
+        runPendingTasks();
+
+        gateway.handle(connection, shotFrame(1, 1, 2, 0));
+        runPendingTasks();
+
+        assertThat(sentFrames(2).get(1).get(0)).isEqualTo(BotProtocol.ERROR_REJECTED);
+    }
+
+    @Test
+    void shot_shouldAnswerBusy_whenTooManyFramesAreInFlight() throws Exception {
+        game.start();
+        BotGateway gateway = gateway(1);
+        BotConnection connection = gateway.open(session);
+        gateway.handle(connection, bindFrame(1, attackerId, CODE));
+        runPendingTasks();
+
+        // erster Schuss bleibt ausstehend, zweiter überschreitet das Limit
+        gateway.handle(connection, shotFrame(1, 1, 10, 0));
+        gateway.handle(connection, shotFrame(1, 1, 11, 1));
+
+        ByteBuffer busy = sentFrames(2).get(1);
+        assertThat(busy.get(0)).isEqualTo(BotProtocol.ERROR_BUSY);
+        assertThat(busy.getInt(1)).isEqualTo(11);
+        assertThat(connection.getInFlight()).isEqualTo(1);
+    }
+
+    private List<ByteBuffer> sentFrames(int expected) throws Exception {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<WebSocketMessage<?>> captor = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session, times(expected)).sendMessage(captor.capture());
+        return captor.getAllValues().stream()
+                .map(m -> ((BinaryMessage) m).getPayload())
+                .toList();
+    }
+
+    private static ByteBuffer bindFrame(int sequence, UUID playerId, String gameCode) {
+        byte[] code = gameCode.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(BotProtocol.BIND_HEADER_SIZE + code.length)
+                .put(BotProtocol.OP_BIND)
+                .putInt(sequence)
+                .putLong(playerId.getMostSignificantBits())
+                .putLong(playerId.getLeastSignificantBits())
+                .put(code)
+                .flip();
+    }
+
+    private static ByteBuffer shotFrame(int handle, int boardIndex, int sequence, int cell) {
+        return ByteBuffer.allocate(BotProtocol.SHOT_FRAME_SIZE)
+                .put(BotProtocol.OP_SHOT)
+                .put((byte) boardIndex)
+                .putShort((short) handle)
+                .putInt(sequence)
+                .putShort((short) cell)
+                .flip();
+    }
+
+    private static void setId(BaseEntity entity, UUID id) {
+        try {
+            Field idField = BaseEntity.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(entity, id);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new RuntimeException("Failed to set id via reflection", e);
+        }
+    }
+}
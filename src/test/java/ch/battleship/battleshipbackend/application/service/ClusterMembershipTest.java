@@ -0,0 +1,127 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import ch.battleship.battleshipbackend.cluster.ClusterMembership;
+import ch.battleship.battleshipbackend.cluster.GameForwardingFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClusterMembershipTest {
+
+    private static final String SELF = "http://localhost:8080";
+    private static final List<String> MEMBERS = List.of(SELF, "http://localhost:8081", "http://localhost:8082");
+
+    private ClusterMembership membership() {
+        return new ClusterMembership(true, SELF, MEMBERS, 16, "s3cret", event -> { });
+    }
+
+    @Test
+    void updateMembers_shouldRejectUrlsOutsideConfiguredMembers() {
+        ClusterMembership membership = membership();
+
+        assertThatThrownBy(() -> membership.updateMembers(List.of("http://localhost:8081", "http://attacker.example")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(membership.getRing().getMembers()).containsExactlyInAnyOrderElementsOf(MEMBERS);
+
+        membership.updateMembers(List.of("http://localhost:8081/"));
+        assertThat(membership.getRing().getMembers()).containsExactlyInAnyOrder(SELF, "http://localhost:8081");
+    }
+
+    @Test
+    void constructor_shouldRequireSecretInClusterMode() {
+        assertThatThrownBy(() -> new ClusterMembership(true, SELF, MEMBERS, 16, " ", event -> { }))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(membership().isClusterSecret("s3cret")).isTrue();
+        assertThat(membership().isClusterSecret("guess")).isFalse();
+        assertThat(membership().isClusterSecret(null)).isFalse();
+    }
+
+    @Test
+    void filter_shouldStripClusterHeadersWithoutValidSecret() throws Exception {
+        GameForwardingFilter filter = new GameForwardingFilter(
+                new ClusterMembership(true, SELF, List.of(), 16, "s3cret", event -> { }), Duration.ofSeconds(1));
+
+        MockHttpServletRequest spoofed = new MockHttpServletRequest("GET", "/api/games/ABC");
+        spoofed.addHeader(GameForwardingFilter.FORWARDED_HEADER, "http://localhost:8081");
+        spoofed.addHeader(GameForwardingFilter.SECRET_HEADER, "guess");
+        HttpServletRequest seen = filtered(filter, spoofed);
+        assertThat(seen.getHeader(GameForwardingFilter.FORWARDED_HEADER)).isNull();
+        assertThat(Collections.list(seen.getHeaderNames()))
+                .doesNotContain(GameForwardingFilter.FORWARDED_HEADER, GameForwardingFilter.SECRET_HEADER);
+
+        MockHttpServletRequest trusted = new MockHttpServletRequest("GET", "/api/games/ABC");
+        trusted.addHeader(GameForwardingFilter.FORWARDED_HEADER, "http://localhost:8081");
+        trusted.addHeader(GameForwardingFilter.SECRET_HEADER, "s3cret");
+        assertThat(filtered(filter, trusted)).isSameAs(trusted);
+    }
+
+    @Test
+    void filter_shouldHandleOnlyReadsLocally_whenOwnerIsUnreachable() throws Exception {
+        // Port ohne Server: Verbindung wird abgelehnt
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        String owner = "http://localhost:" + closedPort;
+        GameForwardingFilter filter = new GameForwardingFilter(
+                new ClusterMembership(true, SELF, List.of(SELF, owner), 16, "s3cret", event -> { }),
+                Duration.ofSeconds(1));
+        String code = remoteGame(owner);
+
+        MockFilterChain read = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/games/" + code), new MockHttpServletResponse(), read);
+        assertThat(read.getRequest()).isNotNull();
+
+        MockFilterChain write = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/games/" + code + "/join"), response, write);
+        assertThat(write.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    void filter_shouldNotFallBackLocally_whenOwnerTimesOutAfterReceivingRequest() throws Exception {
+        // nimmt Verbindungen an, antwortet aber nie
+        try (ServerSocket silent = new ServerSocket(0)) {
+            String owner = "http://localhost:" + silent.getLocalPort();
+            GameForwardingFilter filter = new GameForwardingFilter(
+                    new ClusterMembership(true, SELF, List.of(SELF, owner), 16, "s3cret", event -> { }),
+                    Duration.ofMillis(300));
+            String code = remoteGame(owner);
+
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/games/" + code), response, chain);
+
+            assertThat(chain.getRequest()).isNull();
+            assertThat(response.getStatus()).isEqualTo(502);
+        }
+    }
+
+    private String remoteGame(String owner) {
+        ClusterMembership membership = new ClusterMembership(true, SELF, List.of(SELF, owner), 16, "s3cret", event -> { });
+        for (int i = 0; ; i++) {
+            String code = "CODE" + i;
+            if (membership.ownerOf(code).equals(owner)) {
+                return code;
+            }
+        }
+    }
+
+    private HttpServletRequest filtered(GameForwardingFilter filter, MockHttpServletRequest request) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return (HttpServletRequest) chain.getRequest();
+    }
+}
@@ -0,0 +1,77 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import ch.battleship.battleshipbackend.cluster.ConsistentHashRing;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> THREE_NODES = List.of(
+            "http://localhost:8080", "http://localhost:8081", "http://localhost:8082");
+
+    private List<String> keys(int count) {
+        return java.util.stream.IntStream.range(0, count)
+                .mapToObj(i -> UUID.nameUUIDFromBytes(("game-" + i).getBytes()).toString())
+                .toList();
+    }
+
+    @Test
+    void ownerOf_shouldBeStableAndIndependentOfMemberOrder() {
+        ConsistentHashRing a = new ConsistentHashRing(THREE_NODES, 128);
+        ConsistentHashRing b = new ConsistentHashRing(List.of(
+                "http://localhost:8082", "http://localhost:8080", "http://localhost:8081"), 128);
+
+        for (String key : keys(1000)) {
+            assertThat(a.ownerOf(key)).isEqualTo(b.ownerOf(key));
+        }
+    }
+
+    @Test
+    void ownerOf_shouldSpreadKeysRoughlyEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(THREE_NODES, 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (String key : keys(30_000)) {
+            counts.merge(ring.ownerOf(key), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(3);
+        // je Knoten ca. 10'000, mit 128 virtuellen Knoten deutlich unter ±25 %
+        assertThat(counts.values()).allSatisfy(c -> assertThat(c).isBetween(7_500, 12_500));
+    }
+
+    @Test
+    void addingNode_shouldOnlyMoveKeysToTheNewNode() {
+        ConsistentHashRing before = new ConsistentHashRing(THREE_NODES, 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of(
+                "http://localhost:8080", "http://localhost:8081", "http://localhost:8082",
+                "http://localhost:8083"), 128);
+
+        int moved = 0;
+        List<String> keys = keys(20_000);
+        for (String key : keys) {
+            String oldOwner = before.ownerOf(key);
+            String newOwner = after.ownerOf(key);
+            if (!oldOwner.equals(newOwner)) {
+                moved++;
+                assertThat(newOwner).isEqualTo("http://localhost:8083");
+            }
+        }
+
+        // erwartet ca. 1/4 der Schlüssel
+        assertThat(moved).isBetween(keys.size() / 6, keys.size() / 3);
+    }
+
+    @Test
+    void constructor_shouldRejectEmptyMembership() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 16))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,48 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Der Server kompiliert engine/ mit seinem eigenen Klassenpfad mit; hier wird geprüft, dass die
+ * Engine auch ohne JPA, Lombok und Spring kompiliert (leerer Klassenpfad, nur das JDK).
+ */
+class EngineBoundaryTest {
+
+    private static final Path ENGINE_SOURCES = Path.of("engine", "src", "main", "java");
+
+    @Test
+    void engine_shouldCompileWithoutApplicationClasspath(@TempDir Path output) throws IOException {
+        List<Path> sources;
+        try (Stream<Path> files = Files.walk(ENGINE_SOURCES)) {
+            sources = files.filter(f -> f.toString().endsWith(".java")).toList();
+        }
+        assertThat(sources).isNotEmpty();
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        boolean compiled;
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+            compiled = compiler.getTask(null, files, diagnostics,
+                    List.of("-classpath", "", "-proc:none", "-d", output.toString()),
+                    null, files.getJavaFileObjectsFromPaths(sources)).call();
+        }
+
+        assertThat(compiled)
+                .as("engine/ must not depend on the application classpath: %s", diagnostics.getDiagnostics())
+                .isTrue();
+    }
+}
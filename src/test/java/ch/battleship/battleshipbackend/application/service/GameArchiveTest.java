@@ -0,0 +1,201 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import ch.battleship.battleshipbackend.domain.Board;
+import ch.battleship.battleshipbackend.domain.Coordinate;
+import ch.battleship.battleshipbackend.domain.Game;
+import ch.battleship.battleshipbackend.domain.GameConfiguration;
+import ch.battleship.battleshipbackend.domain.Player;
+import ch.battleship.battleshipbackend.domain.Shot;
+import ch.battleship.battleshipbackend.domain.enums.Orientation;
+import ch.battleship.battleshipbackend.domain.enums.ShipType;
+import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+import ch.battleship.battleshipbackend.service.archive.ArchiveSegmentStore;
+import ch.battleship.battleshipbackend.service.archive.ArchivedGame;
+import ch.battleship.battleshipbackend.service.archive.ArchivedGameCodec;
+import ch.battleship.battleshipbackend.web.api.dto.BoardStateDto;
+import ch.battleship.battleshipbackend.web.api.dto.CompactBoardStateDto;
+import ch.battleship.battleshipbackend.web.api.dto.PlayerDto;
+import ch.battleship.battleshipbackend.web.api.dto.ShipPlacementDto;
+import ch.battleship.battleshipbackend.web.api.dto.ShotDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameArchiveTest {
+
+    private static final Instant FIRST_SHOT = Instant.parse("2026-01-01T10:00:00.123456Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void codec_shouldRoundTripFinishedGame() {
+        ArchivedGame game = finishedGame("TEST-CODE", 80);
+
+        byte[] encoded = ArchivedGameCodec.encode(game);
+        ArchivedGame decoded = ArchivedGameCodec.decode(encoded);
+
+        assertThat(decoded).isEqualTo(game);
+        // 80 Schüsse mit je 16 Byte Id: komprimiert deutlich kleiner als das JSON der Board-Zustände
+        assertThat(encoded.length).isLessThan(2000);
+    }
+
+    @Test
+    void codec_shouldDecodeFormat1WithoutTimestamps() throws IOException {
+        UUID playerId = UUID.randomUUID();
+        UUID boardId = UUID.randomUUID();
+        UUID shotId = UUID.randomUUID();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeByte(1);
+            writeUuid(out, UUID.randomUUID());
+            out.writeUTF("OLD-CODE");
+            out.writeLong(7);
+            out.writeShort(10);
+            out.writeShort(10);
+            out.writeByte(1);
+            writeUuid(out, playerId);
+            out.writeUTF("attacker");
+            out.writeByte(0);
+            out.writeByte(1);
+            writeUuid(out, boardId);
+            out.writeByte(0);
+            out.writeByte(0);
+            out.writeInt(1);
+            writeUuid(out, shotId);
+            out.writeByte(0);
+            out.writeByte(0);
+            out.writeShort(3);
+            out.writeShort(4);
+            out.writeByte(ShotResult.HIT.ordinal());
+        }
+
+        ArchivedGame decoded = ArchivedGameCodec.decode(bytes.toByteArray());
+
+        assertThat(decoded.shots()).containsExactly(new ArchivedGame.TimedShot(
+                new ShotDto(shotId, playerId, boardId, 3, 4, ShotResult.HIT), null));
+    }
+
+    @Test
+    void from_shouldOrderShotsByCreation() {
+        Game game = new Game("TEST-CODE", GameConfiguration.defaultConfig());
+        Player attacker = new Player("attacker");
+        Player defender = new Player("defender");
+        game.addPlayer(attacker);
+        game.addPlayer(defender);
+        Board board = new Board(10, 10, defender);
+        game.addBoard(board);
+        Shot first = game.fireShot(attacker, board, new Coordinate(0, 0));
+        Shot second = game.fireShot(attacker, board, new Coordinate(1, 0));
+        Shot third = game.fireShot(attacker, board, new Coordinate(2, 0));
+        // Game.shots in anderer Reihenfolge als geschossen; gleiche Zeit entscheidet die Id
+        created(second, FIRST_SHOT, new UUID(0, 2));
+        created(third, FIRST_SHOT, new UUID(0, 3));
+        created(first, FIRST_SHOT.minusSeconds(1), new UUID(0, 9));
+        game.getShots().sort(Comparator.comparing(Shot::getId).reversed());
+
+        ArchivedGame archived = ArchivedGame.from(game);
+
+        assertThat(archived.shots()).extracting(s -> s.shot().x()).containsExactly(0, 1, 2);
+        assertThat(archived.shots().getFirst().firedAt()).isEqualTo(FIRST_SHOT.minusSeconds(1));
+    }
+
+    @Test
+    void archivedGame_shouldServeGameAndBoardViews() {
+        ArchivedGame game = finishedGame("TEST-CODE", 10);
+        UUID defenderBoard = game.boards().get(1).id();
+
+        BoardStateDto state = game.toBoardState(defenderBoard);
+        CompactBoardStateDto compact = CompactBoardStateDto.from(state);
+
+        assertThat(game.toGameDto().status()).isEqualTo("FINISHED");
+        assertThat(game.toGameDto().winnerPlayerId()).isEqualTo(game.players().get(0).id());
+        assertThat(state.ownerUsername()).isEqualTo("defender");
+        assertThat(state.shotsOnThisBoard()).hasSize(10);
+        assertThat(compact.shotGrid()[0]).isEqualTo((byte) 0xFF);   // Zellen 0..7 beschossen
+        assertThat(compact.ships()).hasSize(1);
+    }
+
+    @Test
+    void segmentStore_shouldFindRecordsAfterReopen_acrossSegments() throws IOException {
+        // sehr kleine Segmente: jedes Append beginnt ein neues
+        try (ArchiveSegmentStore store = new ArchiveSegmentStore(directory, 1)) {
+            for (int i = 0; i < 3; i++) {
+                ArchivedGame game = finishedGame("CODE-" + i, i);
+                store.append(List.of(new ArchiveSegmentStore.Entry(game.gameCode(), ArchivedGameCodec.encode(game))));
+            }
+        }
+
+        try (ArchiveSegmentStore reopened = new ArchiveSegmentStore(directory, 1)) {
+            assertThat(reopened.size()).isEqualTo(3);
+            assertThat(reopened.read("CODE-2").map(ArchivedGameCodec::decode))
+                    .hasValueSatisfying(g -> assertThat(g.shots()).hasSize(2));
+            assertThat(reopened.read("UNKNOWN")).isEmpty();
+        }
+        try (var files = Files.list(directory)) {
+            assertThat(files.filter(p -> p.toString().endsWith(".dat"))).hasSize(3);
+        }
+    }
+
+    @Test
+    void segmentStore_shouldIgnoreTruncatedIndexEntry() throws IOException {
+        ArchivedGame game = finishedGame("TEST-CODE", 3);
+        try (ArchiveSegmentStore store = new ArchiveSegmentStore(directory, 1 << 20)) {
+            store.append(List.of(new ArchiveSegmentStore.Entry(game.gameCode(), ArchivedGameCodec.encode(game))));
+        }
+        // Absturz mitten im Schreiben des Index simulieren
+        Files.write(directory.resolve("segment-000001.idx"), new byte[]{0, 5, 'X'},
+                java.nio.file.StandardOpenOption.APPEND);
+
+        try (ArchiveSegmentStore reopened = new ArchiveSegmentStore(directory, 1 << 20)) {
+            ArchivedGame other = finishedGame("OTHER-CODE", 1);
+            reopened.append(List.of(new ArchiveSegmentStore.Entry(other.gameCode(), ArchivedGameCodec.encode(other))));
+        }
+
+        try (ArchiveSegmentStore reopened = new ArchiveSegmentStore(directory, 1 << 20)) {
+            assertThat(reopened.size()).isEqualTo(2);
+            assertThat(reopened.read("OTHER-CODE").map(ArchivedGameCodec::decode))
+                    .hasValueSatisfying(g -> assertThat(g.gameCode()).isEqualTo("OTHER-CODE"));
+        }
+    }
+
+    private static void created(Shot shot, Instant at, UUID id) {
+        ReflectionTestUtils.setField(shot, "createdAt", at);
+        ReflectionTestUtils.setField(shot, "id", id);
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static ArchivedGame finishedGame(String gameCode, int shotCount) {
+        PlayerDto attacker = new PlayerDto(UUID.randomUUID(), "attacker");
+        PlayerDto defender = new PlayerDto(UUID.randomUUID(), "defender");
+        ArchivedGame.Board attackerBoard = new ArchivedGame.Board(UUID.randomUUID(), attacker.id(), List.of());
+        ArchivedGame.Board defenderBoard = new ArchivedGame.Board(UUID.randomUUID(), defender.id(), List.of(
+                new ShipPlacementDto(ShipType.CARRIER, 2, 7, Orientation.HORIZONTAL, 5)));
+
+        List<ArchivedGame.TimedShot> shots = new ArrayList<>();
+        for (int i = 0; i < shotCount; i++) {
+            shots.add(new ArchivedGame.TimedShot(new ShotDto(UUID.randomUUID(), attacker.id(), defenderBoard.id(),
+                    i % 10, i / 10, i % 3 == 0 ? ShotResult.HIT : ShotResult.MISS), FIRST_SHOT.plusMillis(1500L * i)));
+        }
+        return new ArchivedGame(UUID.randomUUID(), gameCode, 42, 10, 10,
+                List.of(attacker, defender), List.of(attackerBoard, defenderBoard), shots, attacker.id());
+    }
+}
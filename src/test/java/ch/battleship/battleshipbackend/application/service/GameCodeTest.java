@@ -0,0 +1,48 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import ch.battleship.battleshipbackend.cluster.ClusterMembership;
+import ch.battleship.battleshipbackend.service.code.BloomFilter;
+import ch.battleship.battleshipbackend.service.code.GameCodeGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameCodeTest {
+
+    @Test
+    void next_shouldGenerateShortCrockfordCodes() {
+        ClusterMembership membership = new ClusterMembership(false, "http://localhost:8080", List.of(), 16, "", event -> { });
+        GameCodeGenerator generator = new GameCodeGenerator(membership, 8);
+
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            codes.add(generator.next());
+        }
+
+        assertThat(codes).hasSize(10_000)
+                .allMatch(code -> code.matches("[0-9A-HJKMNP-TV-Z]{8}"));
+    }
+
+    @Test
+    void bloomFilter_shouldNeverMissAddedCodes_andRarelyMatchOthers() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("GAME" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("GAME" + i)).isTrue();
+            if (filter.mightContain("OTHER" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // erwartet ~1 %, Spielraum für Streuung
+        assertThat(falsePositives).isLessThan(250);
+    }
+}
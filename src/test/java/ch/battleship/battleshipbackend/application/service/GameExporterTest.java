@@ -0,0 +1,133 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import ch.battleship.battleshipbackend.datasource.ReplicaReadPolicy;
+import ch.battleship.battleshipbackend.service.export.GameExporter;
+import ch.battleship.battleshipbackend.web.api.controller.ExportController;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private GameExporter exporter;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:export-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(dataSource);
+        // nur die exportierten Spalten
+        jdbc.execute("""
+                create table games (id uuid, game_code varchar(64), status varchar(20), board_width int,
+                    board_height int, fleet_definition varchar(100), turn_timeout_seconds int,
+                    idle_timeout_seconds int, winner_player_id uuid, created_at timestamp(6) with time zone,
+                    last_activity_at timestamp(6) with time zone, updated_at timestamp(6) with time zone,
+                    max_players int);
+                create table players (id uuid, game_id uuid, username varchar(50), created_at timestamp(6) with time zone,
+                    seat int);
+                create table boards (id uuid, game_id uuid, owner_id uuid, width int, height int, remaining_ship_cells int,
+                    fleet varbinary(3072));
+                create table shots (id uuid, game_id uuid, shooter_id uuid, target_board_id uuid, x int, y int,
+                    result varchar(20), created_at timestamp(6) with time zone);
+                """);
+
+        exporter = new GameExporter(dataSource, new ReplicaReadPolicy("", Duration.ofSeconds(2)), objectMapper,
+                new DataSourceTransactionManager(dataSource), 100, 0, 1);
+    }
+
+    @Test
+    void export_shouldWriteOneGzippedJsonLinePerRow() throws IOException {
+        UUID game = UUID.randomUUID();
+        UUID player = UUID.randomUUID();
+        UUID board = UUID.randomUUID();
+        jdbc.update("insert into games values (?, 'TEST-CODE', 'RUNNING', 10, 10, '5,4,3', null, 0, null, "
+                + "timestamp with time zone '2026-01-01 10:00:00+00', current_timestamp, current_timestamp, 3)", game);
+        jdbc.update("insert into players values (?, ?, 'alice', current_timestamp, 2)", player, game);
+        // CARRIER waagrecht ab (2, 3), CRUISER senkrecht ab (7, 0)
+        jdbc.update("insert into boards values (?, ?, ?, 10, 10, 8, X'060203030700')", board, game, player);
+        for (int i = 0; i < 250; i++) {
+            jdbc.update("insert into shots values (?, ?, ?, ?, ?, 0, 'MISS', current_timestamp)",
+                    UUID.randomUUID(), game, player, board, i % 10);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Map<String, Long> counts = exporter.export(out);
+
+        List<JsonNode> records = read(out.toByteArray());
+        assertThat(counts).containsExactly(Map.entry("game", 1L), Map.entry("player", 1L), Map.entry("board", 1L),
+                Map.entry("placement", 2L), Map.entry("shot", 250L));
+        assertThat(records).hasSize(255);
+
+        JsonNode first = records.getFirst();
+        assertThat(first.get("type").asText()).isEqualTo("game");
+        assertThat(first.get("id").asText()).isEqualTo(game.toString());
+        assertThat(first.get("created_at").asText()).isEqualTo("2026-01-01T10:00:00Z");
+        assertThat(first.get("idle_timeout_seconds").asInt()).isZero();
+        assertThat(first.get("turn_timeout_seconds").isNull()).isTrue();
+        assertThat(first.get("max_players").asInt()).isEqualTo(3);
+        assertThat(records.get(1).get("seat").asInt()).isEqualTo(2);
+        assertThat(records.get(3).get("ship_type").asText()).isEqualTo("CARRIER");
+        assertThat(records.get(3).get("board_id").asText()).isEqualTo(board.toString());
+        assertThat(records.get(4).get("x").asInt()).isEqualTo(7);
+        assertThat(records.get(4).get("orientation").asText()).isEqualTo("VERTICAL");
+        assertThat(records.getLast().get("type").asText()).isEqualTo("shot");
+    }
+
+    @Test
+    void tryAcquire_shouldAllowOnlyConfiguredNumberOfExports() {
+        assertThat(exporter.tryAcquire()).isTrue();
+        assertThat(exporter.tryAcquire()).isFalse();
+
+        exporter.release();
+
+        assertThat(exporter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void controller_shouldRequireEnabledFlagAndToken() {
+        assertThat(new ExportController(exporter, false, "").export("Bearer ").getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThatThrownBy(() -> new ExportController(exporter, true, ""))
+                .isInstanceOf(IllegalStateException.class);
+
+        ExportController controller = new ExportController(exporter, true, "t0ken");
+        assertThat(controller.export(null).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(controller.export("Bearer wrong").getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(controller.export("Bearer t0ken").getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private List<JsonNode> read(byte[] gzipped) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(text).endsWith("}\n");
+            return text.lines().map(line -> {
+                try {
+                    return objectMapper.readTree(line);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }).toList();
+        }
+    }
+}
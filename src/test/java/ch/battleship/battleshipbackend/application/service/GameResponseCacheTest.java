@@ -0,0 +1,178 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import ch.battleship.battleshipbackend.service.cache.CachedResponse;
+import ch.battleship.battleshipbackend.service.cache.GameResponseCache;
+import ch.battleship.battleshipbackend.service.cache.WireFormat;
+import ch.battleship.battleshipbackend.service.event.GameChangedEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameResponseCacheTest {
+
+    private final GameResponseCache cache = new GameResponseCache(new ObjectMapper(), 100);
+
+    @Test
+    void getOrLoad_shouldServeSecondRequestFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            cache.getOrLoad("TEST-CODE", "game", () -> {
+                loads.incrementAndGet();
+                return Optional.of(cache.encode(1, Map.of("status", "WAITING")));
+            });
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void onGameChanged_shouldInvalidateAllViewsOfGame() {
+        cache.getOrLoad("TEST-CODE", "game", () -> Optional.of(cache.encode(1, Map.of())));
+
+        cache.onGameChanged(new GameChangedEvent("TEST-CODE"));
+
+        CachedResponse reloaded = cache.getOrLoad("TEST-CODE", "game",
+                () -> Optional.of(cache.encode(2, Map.of()))).orElseThrow();
+        assertThat(reloaded.version()).isEqualTo(2);
+        assertThat(reloaded.etag()).isEqualTo("\"2\"");
+    }
+
+    @Test
+    void getOrLoad_shouldDiscardResult_whenInvalidatedWhileLoading() {
+        // Während des Ladens (alter Stand) wird das Spiel geändert
+        cache.getOrLoad("TEST-CODE", "game", () -> {
+            cache.invalidate("TEST-CODE");
+            return Optional.of(cache.encode(1, Map.of()));
+        });
+
+        CachedResponse next = cache.getOrLoad("TEST-CODE", "game",
+                () -> Optional.of(cache.encode(2, Map.of()))).orElseThrow();
+        assertThat(next.version()).isEqualTo(2);
+    }
+
+    @Test
+    void getOrLoad_shouldCoalesceConcurrentMisses_andReportRatio() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            Future<Optional<CachedResponse>> leader = executor.submit(() -> cache.getOrLoad("TEST-CODE", "spectate", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return Optional.of(cache.encode(1, Map.of()));
+            }));
+            loading.await();
+
+            List<Future<Optional<CachedResponse>>> followers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                followers.add(executor.submit(() -> cache.getOrLoad("TEST-CODE", "spectate", () -> {
+                    loads.incrementAndGet();
+                    return Optional.of(cache.encode(2, Map.of()));
+                })));
+            }
+            // warten, bis sich alle angehängt haben
+            while (cache.coalescingStats().get("spectate").coalesced() < 3) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertThat(leader.get().orElseThrow().version()).isEqualTo(1);
+            for (Future<Optional<CachedResponse>> follower : followers) {
+                assertThat(follower.get().orElseThrow().version()).isEqualTo(1);
+            }
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.coalescingStats().get("spectate").coalescingRatio()).isEqualTo(0.75);
+    }
+
+    @Test
+    void getOrLoad_shouldPassLoaderFailureToWaiters_andGroupBoardViews() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<?> leader = executor.submit(() -> cache.getOrLoad("TEST-CODE", "board:42", () -> {
+                loading.countDown();
+                await(release);
+                throw new IllegalStateException("Board does not belong to game");
+            }));
+            loading.await();
+            Future<?> follower = executor.submit(() -> cache.getOrLoad("TEST-CODE", "board:42", Optional::empty));
+            while (cache.coalescingStats().get("board").coalesced() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertThatThrownBy(leader::get).hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(follower::get).hasCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void getOrLoad_shouldNotCacheMissingGame() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad("UNKNOWN", "game", () -> { loads.incrementAndGet(); return Optional.empty(); });
+        cache.getOrLoad("UNKNOWN", "game", () -> { loads.incrementAndGet(); return Optional.empty(); });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void matches_shouldHandleListsAndWeakTags() {
+        CachedResponse response = cache.encode(7, Map.of());
+
+        assertThat(response.matches("\"7\"")).isTrue();
+        assertThat(response.matches("\"3\", W/\"7\"")).isTrue();
+        assertThat(response.matches("*")).isTrue();
+        assertThat(response.matches("\"6\"")).isFalse();
+        assertThat(response.matches(null)).isFalse();
+    }
+
+    @Test
+    void encode_shouldProduceDecodableCborWithOwnEtag() throws Exception {
+        CachedResponse json = cache.encode(7, Map.of("status", "RUNNING"));
+        CachedResponse cbor = cache.encode(7, Map.of("status", "RUNNING"), WireFormat.CBOR);
+
+        JsonNode decoded = new ObjectMapper(new CBORFactory()).readTree(cbor.body());
+        assertThat(decoded.get("status").asText()).isEqualTo("RUNNING");
+        assertThat(cbor.etag()).isNotEqualTo(json.etag());
+        assertThat(cbor.body()).isNotEqualTo(json.body());
+    }
+
+    @Test
+    void negotiate_shouldRespectAcceptHeaderAndDefaultToJson() {
+        assertThat(WireFormat.negotiate(null)).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.negotiate("*/*")).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.negotiate("application/cbor")).isEqualTo(WireFormat.CBOR);
+        assertThat(WireFormat.negotiate("application/json;q=0.5, application/x-jackson-smile")).isEqualTo(WireFormat.SMILE);
+        assertThat(WireFormat.negotiate("text/html")).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.negotiate("not a media type")).isEqualTo(WireFormat.JSON);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ch.battleship.battleshipbackend.application.service;
 
+import ch.battleship.battleshipbackend.datasource.ReplicaReadPolicy;
 import ch.battleship.battleshipbackend.domain.*;
 import ch.battleship.battleshipbackend.domain.common.BaseEntity;
 import ch.battleship.battleshipbackend.domain.enums.GameStatus;
@@ -8,8 +9,14 @@ import ch.battleship.battleshipbackend.domain.enums.ShipType;
 import ch.battleship.battleshipbackend.domain.enums.ShotResult;
 import ch.battleship.battleshipbackend.repository.GameRepository;
 import ch.battleship.battleshipbackend.service.GameService;
+import ch.battleship.battleshipbackend.service.code.GameCodeFilter;
+import ch.battleship.battleshipbackend.service.code.GameCodeGenerator;
+import ch.battleship.battleshipbackend.service.event.GameFinishedEvent;
+import ch.battleship.battleshipbackend.service.event.ShotFiredEvent;
 import ch.battleship.battleshipbackend.web.api.dto.BoardStateDto;
+import ch.battleship.battleshipbackend.web.api.dto.CompactBoardStateDto;
 import ch.battleship.battleshipbackend.web.api.dto.ShipPlacementDto;
+import ch.battleship.battleshipbackend.web.api.dto.ShotDto;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -18,8 +25,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,6 +43,18 @@ class GameServiceTest {
     @Mock
     private GameRepository gameRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ReplicaReadPolicy replicaReadPolicy;
+
+    @Mock
+    private GameCodeGenerator codeGenerator;
+
+    @Mock
+    private GameCodeFilter codeFilter;
+
     @InjectMocks
     private GameService gameService;
 
@@ -44,6 +65,7 @@ class GameServiceTest {
     @Test
     void createNewGame_shouldSetWaitingStatusAndGenerateGameCode_andSaveGame() {
         // Arrange
+        when(codeGenerator.next()).thenReturn("7K3QW9ZD");
         when(gameRepository.save(any(Game.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -55,7 +77,7 @@ class GameServiceTest {
         // Assert: Rückgabewert
         assertThat(game).isNotNull();
         assertThat(game.getStatus()).isEqualTo(GameStatus.WAITING);
-        assertThat(game.getGameCode()).isNotBlank();
+        assertThat(game.getGameCode()).isEqualTo("7K3QW9ZD");
 
         // Assert: Interaktion mit Repository
         verify(gameRepository, times(1)).save(gameCaptor.capture());
@@ -67,6 +89,7 @@ class GameServiceTest {
     @Test
     void createNewGame_shouldUseDefaultConfiguration() {
         // Arrange
+        when(codeGenerator.next()).thenReturn("7K3QW9ZD");
         when(gameRepository.save(any(Game.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -80,6 +103,24 @@ class GameServiceTest {
         assertThat(game.getConfig().getFleetDefinition()).isEqualTo("2x2,2x3,1x4,1x5");
     }
 
+    @Test
+    void createNewGame_shouldSkipCodesThatAlreadyExist() {
+        // Arrange: erster Code laut Filter und DB vergeben, zweiter laut Filter sicher frei
+        when(codeGenerator.next()).thenReturn("AAAAAAAA", "BBBBBBBB");
+        when(codeFilter.mightExist("AAAAAAAA")).thenReturn(true);
+        when(gameRepository.existsByGameCode("AAAAAAAA")).thenReturn(true);
+        when(codeFilter.mightExist("BBBBBBBB")).thenReturn(false);
+        when(gameRepository.save(any(Game.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Game game = gameService.createNewGame();
+
+        // Assert: freier Code ohne zusätzliche DB-Abfrage
+        assertThat(game.getGameCode()).isEqualTo("BBBBBBBB");
+        verify(gameRepository, never()).existsByGameCode("BBBBBBBB");
+    }
+
     // ------------------------------------------------------------------------------------
     // getByGameCode
     // ------------------------------------------------------------------------------------
@@ -159,6 +200,7 @@ class GameServiceTest {
                 .anyMatch(b -> b.getOwner().equals(p2));
 
         assertThat(result.getStatus()).isEqualTo(GameStatus.RUNNING);
+        assertThat(result.getCurrentTurn()).isEqualTo(existing);
         verify(gameRepository, times(1)).save(game);
     }
 
@@ -257,6 +299,81 @@ class GameServiceTest {
         assertThat(game.getShots()).hasSize(1);
 
         verify(gameRepository, times(1)).save(game);
+        verify(eventPublisher, times(1)).publishEvent(any(ShotFiredEvent.class));
+    }
+
+    @Test
+    void fireShotOnce_shouldReturnOriginalShot_withoutLoadingGame() {
+        UUID shooterId = UUID.randomUUID();
+        UUID boardId = UUID.randomUUID();
+        ShotDto original = new ShotDto(UUID.randomUUID(), shooterId, boardId, 3, 3, ShotResult.HIT);
+        when(gameRepository.findShotByRequestId("TEST-CODE", shooterId, "retry-1")).thenReturn(Optional.of(original));
+
+        ShotDto retried = gameService.fireShotOnce("TEST-CODE", shooterId, boardId, 3, 3, "retry-1");
+
+        assertThat(retried).isEqualTo(original);
+        assertThatThrownBy(() -> gameService.fireShotOnce("TEST-CODE", shooterId, boardId, 4, 3, "retry-1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(gameRepository, never()).findByGameCode(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void fireShotOnce_shouldStoreRequestIdOnNewShot() {
+        Game game = new Game("TEST-CODE", GameConfiguration.defaultConfig());
+        game.setStatus(GameStatus.RUNNING);
+        Player attacker = new Player("Attacker");
+        Player defender = new Player("Defender");
+        game.addPlayer(attacker);
+        game.addPlayer(defender);
+        Board defenderBoard = new Board(10, 10, defender);
+        game.addBoard(defenderBoard);
+        UUID attackerId = UUID.randomUUID();
+        UUID boardId = UUID.randomUUID();
+        setId(attacker, attackerId);
+        setId(defender, UUID.randomUUID());
+        setId(defenderBoard, boardId);
+
+        when(gameRepository.findShotByRequestId("TEST-CODE", attackerId, "retry-1")).thenReturn(Optional.empty());
+        when(gameRepository.findByGameCode("TEST-CODE")).thenReturn(Optional.of(game));
+        when(gameRepository.save(any(Game.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        ShotDto shot = gameService.fireShotOnce("TEST-CODE", attackerId, boardId, 1, 2, "retry-1");
+
+        assertThat(shot.x()).isEqualTo(1);
+        assertThat(game.getShots().getFirst().getRequestId()).isEqualTo("retry-1");
+    }
+
+    @Test
+    void fireShot_shouldThrowIllegalState_whenItIsNotTheShootersTurn() {
+        GameConfiguration config = GameConfiguration.defaultConfig();
+        String code = "TEST-CODE";
+        Game game = new Game(code, config);
+
+        Player first = new Player("First");
+        Player second = new Player("Second");
+        game.addPlayer(first);
+        game.addPlayer(second);
+        game.addBoard(new Board(10, 10, first));
+        Board secondBoard = new Board(10, 10, second);
+        game.addBoard(secondBoard);
+
+        setId(first, UUID.randomUUID());
+        UUID secondId = UUID.randomUUID();
+        setId(second, secondId);
+        setId(secondBoard, UUID.randomUUID());
+
+        game.start(); // "First" ist am Zug
+
+        when(gameRepository.findByGameCode(code)).thenReturn(Optional.of(game));
+
+        assertThatThrownBy(() ->
+                gameService.fireShot(code, secondId, secondBoard.getId(), 0, 0)
+        ).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not the turn");
+
+        assertThat(game.getShots()).isEmpty();
+        verify(gameRepository, never()).save(any());
     }
 
     @Test
@@ -504,6 +621,80 @@ class GameServiceTest {
         verifyNoMoreInteractions(gameRepository);
     }
 
+    @Test
+    void toCompactBoardState_shouldEncodeShotsAndShipsAsBits() {
+        // Arrange
+        GameConfiguration config = GameConfiguration.defaultConfig();
+        Game game = new Game("TEST-CODE", config);
+
+        Player attacker = new Player("Attacker");
+        Player defender = new Player("Defender");
+        game.addPlayer(attacker);
+        game.addPlayer(defender);
+
+        Board defenderBoard = new Board(config.getBoardWidth(), config.getBoardHeight(), defender);
+        defenderBoard.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(3, 3), Orientation.HORIZONTAL);
+        game.addBoard(defenderBoard);
+
+        game.fireShot(attacker, defenderBoard, new Coordinate(3, 3)); // HIT, Index 33
+        game.fireShot(attacker, defenderBoard, new Coordinate(0, 0)); // MISS, Index 0
+
+        UUID boardId = UUID.randomUUID();
+        setId(defenderBoard, boardId);
+
+        // Act
+        CompactBoardStateDto state = gameService.toCompactBoardState(game, boardId);
+
+        // Assert: 100 Zellen -> 13 Bytes pro Grid, unabhängig von der Anzahl Schüsse
+        assertThat(state.shotGrid()).hasSize(13);
+        assertThat(state.hitGrid()).hasSize(13);
+        assertThat(state.sunkGrid()).hasSize(13);
+
+        assertThat(state.shotGrid()[0]).isEqualTo((byte) 0b0000_0001);   // Index 0
+        assertThat(state.shotGrid()[4]).isEqualTo((byte) 0b0000_0010);   // Index 33
+        assertThat(state.hitGrid()[0]).isZero();
+        assertThat(state.hitGrid()[4]).isEqualTo((byte) 0b0000_0010);
+        assertThat(state.sunkGrid()).containsOnly(0);
+
+        // DESTROYER (ordinal 0), HORIZONTAL (ordinal 0), Start-Index 33
+        assertThat(state.ships()).containsExactly(33 << 4);
+    }
+
+    // ------------------------------------------------------------------------------------
+    // expireGames
+    // ------------------------------------------------------------------------------------
+
+    @Test
+    void expireGames_shouldForfeitRunningGame_andDeleteWaitingGame() {
+        // Arrange
+        Game running = new Game("RUNNING-CODE", GameConfiguration.defaultConfig());
+        Player first = new Player("First");
+        Player second = new Player("Second");
+        running.addPlayer(first);
+        running.addPlayer(second);
+        running.start(); // First ist am Zug
+        setId(first, UUID.randomUUID());
+        setId(second, UUID.randomUUID());
+
+        Game waiting = new Game("WAITING-CODE", GameConfiguration.defaultConfig());
+        Game notDue = new Game("NOT-DUE-CODE", GameConfiguration.defaultConfig());
+
+        List<String> codes = List.of("RUNNING-CODE", "WAITING-CODE", "NOT-DUE-CODE");
+        when(gameRepository.findAllByGameCodeIn(codes)).thenReturn(List.of(running, waiting, notDue));
+
+        // Act
+        int expired = gameService.expireGames(codes, game -> game != notDue);
+
+        // Assert
+        assertThat(expired).isEqualTo(2);
+        assertThat(running.getStatus()).isEqualTo(GameStatus.FINISHED);
+        assertThat(running.getWinner()).isSameAs(second);
+        verify(gameRepository).delete(waiting);
+        verify(gameRepository, never()).delete(notDue);
+        verify(eventPublisher).publishEvent(any(GameFinishedEvent.class));
+        assertThat(notDue.getStatus()).isEqualTo(GameStatus.WAITING);
+    }
+
     // Helper Methode um die Id manuell zu setzen, dies wird
     // in einem realen Spiel durch JPA gesetzt
     private void setId(BaseEntity entity, UUID id) {
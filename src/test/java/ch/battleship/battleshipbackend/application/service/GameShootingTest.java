@@ -10,10 +10,14 @@ import ch.battleship.battleshipbackend.service.GameService;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.beans.BeanUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
 class GameShootingTest {
@@ -123,4 +127,140 @@ class GameShootingTest {
         assertThat(second.getResult()).isEqualTo(ShotResult.ALREADY_SHOT);
         assertThat(game.getShots()).hasSize(2);
     }
+
+    @Test
+    void fireShot_shouldFinishGame_whenLastShipCellIsHit() {
+        // Arrange
+        Game game = createGameWithTwoPlayersAndOneBoardWithOneShip();
+        game.start();
+        Player attacker = getAttacker(game);
+        Board defenderBoard = getDefenderBoard(game);
+
+        assertThat(defenderBoard.getRemainingShipCells()).isEqualTo(2);
+
+        // Act
+        game.fireShot(attacker, defenderBoard, new Coordinate(3, 3));
+        assertThat(game.getStatus()).isEqualTo(GameStatus.RUNNING);
+        assertThat(defenderBoard.getRemainingShipCells()).isEqualTo(1);
+
+        game.fireShot(attacker, defenderBoard, new Coordinate(4, 3));
+
+        // Assert
+        assertThat(defenderBoard.getRemainingShipCells()).isZero();
+        assertThat(game.getStatus()).isEqualTo(GameStatus.FINISHED);
+        assertThat(game.getWinner()).isEqualTo(attacker);
+        assertThat(game.getCurrentTurn()).isNull();
+    }
+
+    @Test
+    void fireShot_shouldNotCountAlreadyShotAsHit() {
+        // Arrange
+        Game game = createGameWithTwoPlayersAndOneBoardWithOneShip();
+        Player attacker = getAttacker(game);
+        Board defenderBoard = getDefenderBoard(game);
+
+        // Act: zweimal dasselbe Schiffsfeld
+        game.fireShot(attacker, defenderBoard, new Coordinate(3, 3));
+        Shot second = game.fireShot(attacker, defenderBoard, new Coordinate(3, 3));
+
+        // Assert
+        assertThat(second.getResult()).isEqualTo(ShotResult.ALREADY_SHOT);
+        assertThat(defenderBoard.getRemainingShipCells()).isEqualTo(1);
+    }
+
+    @Test
+    void fireShot_shouldPassTurnToOwnerOfTargetBoard() {
+        // Arrange
+        Game game = createGameWithTwoPlayersAndOneBoardWithOneShip();
+        game.start();
+        Player attacker = getAttacker(game);
+        Board defenderBoard = getDefenderBoard(game);
+
+        assertThat(game.getCurrentTurn()).isEqualTo(attacker);
+
+        // Act
+        game.fireShot(attacker, defenderBoard, new Coordinate(0, 0));
+
+        // Assert
+        assertThat(game.getCurrentTurn()).isEqualTo(defenderBoard.getOwner());
+    }
+
+    @Test
+    void fireShot_inFreeForAll_shouldEliminatePlayersAndSkipThemInTurnOrder() {
+        // Arrange: drei Spieler, je ein DESTROYER bei (0,0)-(1,0)
+        Game game = new Game("FFA-CODE", GameConfiguration.of(3, 12, 12));
+        Board[] boards = new Board[3];
+        for (int seat = 0; seat < 3; seat++) {
+            Player player = new Player("P" + seat);
+            game.addPlayer(player);
+            boards[seat] = new Board(12, 12, player);
+            boards[seat].placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+            game.addBoard(boards[seat]);
+        }
+        game.start();
+        Player p0 = game.getPlayers().get(0);
+        Player p1 = game.getPlayers().get(1);
+        Player p2 = game.getPlayers().get(2);
+        assertThat(game.getConfig().isFreeForAll()).isTrue();
+
+        // Act + Assert: Zug reihum 0 → 1 → 2 → 0, unabhängig vom Ziel
+        game.fireShot(p0, boards[2], new Coordinate(0, 0));
+        assertThat(game.getCurrentTurn()).isSameAs(p1);
+        game.fireShot(p1, boards[0], new Coordinate(5, 5));
+        game.fireShot(p2, boards[1], new Coordinate(5, 5));
+        assertThat(game.getCurrentTurn()).isSameAs(p0);
+
+        // P2 verliert seine Flotte: scheidet aus, Spiel läuft weiter, P2 wird übersprungen
+        game.fireShot(p0, boards[2], new Coordinate(1, 0));
+        assertThat(game.isEliminated(p2)).isTrue();
+        assertThat(game.getPlayersLeft()).isEqualTo(2);
+        assertThat(game.getStatus()).isEqualTo(GameStatus.RUNNING);
+        game.fireShot(p1, boards[0], new Coordinate(6, 6));
+        assertThat(game.getCurrentTurn()).isSameAs(p0);
+
+        // Zeitüberschreitung von P0: P1 bleibt als letzter übrig und gewinnt
+        game.forfeit();
+        assertThat(game.getStatus()).isEqualTo(GameStatus.FINISHED);
+        assertThat(game.getWinner()).isSameAs(p1);
+    }
+
+    @Test
+    void forfeit_shouldLeaveGameUnchanged_whenThereIsNoOpponent() {
+        Game game = new Game("SOLO-CODE", GameConfiguration.defaultConfig());
+        Player alone = new Player("Alone");
+        game.addPlayer(alone);
+        game.start();
+
+        assertThatThrownBy(game::forfeit).isInstanceOf(IllegalStateException.class);
+        assertThat(game.isEliminated(alone)).isFalse();
+        assertThat(game.getPlayersLeft()).isEqualTo(1);
+        assertThat(game.getStatus()).isEqualTo(GameStatus.RUNNING);
+    }
+
+    @Test
+    void fireShot_shouldContinueFromPersistedBoardState_withoutReplayingShots() {
+        Game game = createGameWithTwoPlayersAndOneBoardWithOneShip();
+        game.start();
+        game.fireShot(getAttacker(game), getDefenderBoard(game), new Coordinate(3, 3));
+
+        // wie nach dem Laden: nur die Spalten des Boards, das neue Spiel kennt keine Schüsse
+        Board loaded = BeanUtils.instantiateClass(Board.class);
+        for (String column : List.of("width", "height", "owner", "fleetData", "shotData", "remainingShipCells")) {
+            ReflectionTestUtils.setField(loaded, column, ReflectionTestUtils.getField(getDefenderBoard(game), column));
+        }
+        Game reloaded = new Game("TEST-CODE", GameConfiguration.defaultConfig());
+        Player attacker = new Player("Attacker");
+        reloaded.addPlayer(attacker);
+        reloaded.addPlayer(loaded.getOwner());
+        reloaded.addBoard(loaded);
+        reloaded.start();
+        assertThat(loaded.isFleetDestroyed()).isFalse();
+
+        assertThat(reloaded.fireShot(attacker, loaded, new Coordinate(3, 3)).getResult())
+                .isEqualTo(ShotResult.ALREADY_SHOT);
+        assertThat(reloaded.fireShot(attacker, loaded, new Coordinate(4, 3)).getResult())
+                .isEqualTo(ShotResult.SUNK);
+        assertThat(loaded.isFleetDestroyed()).isTrue();
+        assertThat(reloaded.getStatus()).isEqualTo(GameStatus.FINISHED);
+    }
 }
@@ -0,0 +1,71 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import ch.battleship.battleshipbackend.service.timeout.HashedWheelTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashedWheelTimerTest {
+
+    private final Set<Integer> expired = ConcurrentHashMap.newKeySet();
+    private HashedWheelTimer<Integer> timer;
+
+    @AfterEach
+    void tearDown() {
+        if (timer != null) {
+            timer.close();
+        }
+    }
+
+    @Test
+    void schedule_shouldExpireAllTimeouts_exceptCancelledOnes() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(500);
+        timer = new HashedWheelTimer<>(Duration.ofMillis(5), 8, "test-wheel", batch -> {
+            expired.addAll(batch);
+            batch.forEach(i -> latch.countDown());
+        });
+
+        // Delays über mehrere Radumdrehungen (8 Buckets à 5 ms = 40 ms)
+        List<HashedWheelTimer.Timeout<Integer>> timeouts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            timeouts.add(timer.schedule(i, Duration.ofMillis(10 + i % 100)));
+        }
+        for (int i = 1; i < 1000; i += 2) {
+            assertThat(timeouts.get(i).cancel()).isTrue();
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(expired).hasSize(500).allMatch(i -> i % 2 == 0);
+        assertThat(timer.size()).isZero();
+        assertThat(timeouts.get(0).isExpired()).isTrue();
+        assertThat(timeouts.get(0).cancel()).isFalse();
+    }
+
+    @Test
+    void schedule_shouldNotExpireBeforeDeadline() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        timer = new HashedWheelTimer<>(Duration.ofMillis(10), 4, "test-wheel", batch -> latch.countDown());
+
+        long start = System.nanoTime();
+        timer.schedule(1, Duration.ofMillis(200)); // 20 Ticks = 5 Umdrehungen
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+    }
+
+    @Test
+    void constructor_shouldRejectWheelSizeThatIsNotAPowerOfTwo() {
+        assertThatThrownBy(() -> new HashedWheelTimer<Integer>(Duration.ofMillis(1), 12, "test-wheel", batch -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,93 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import ch.battleship.battleshipbackend.cluster.ClusterMembership;
+import ch.battleship.battleshipbackend.repository.GameRepository;
+import ch.battleship.battleshipbackend.service.event.LobbyEvent;
+import ch.battleship.battleshipbackend.service.lobby.LobbyCursor;
+import ch.battleship.battleshipbackend.service.lobby.LobbyFeed;
+import ch.battleship.battleshipbackend.service.lobby.LobbyFilter;
+import ch.battleship.battleshipbackend.service.lobby.LobbyIndex;
+import ch.battleship.battleshipbackend.web.api.dto.LobbyGameDto;
+import ch.battleship.battleshipbackend.web.api.dto.LobbyPageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class LobbyIndexTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final LobbyFeed feed = new LobbyFeed(new ObjectMapper().registerModule(new JavaTimeModule()),
+            16, Duration.ofMillis(20), Duration.ofMillis(500));
+
+    private final LobbyIndex index = new LobbyIndex(
+            mock(GameRepository.class),
+            new ClusterMembership(false, "http://localhost:8080", List.of(), 16, "", event -> { }),
+            feed,
+            mock(PlatformTransactionManager.class));
+
+    @Test
+    void page_shouldWalkOpenGamesOldestFirst_withKeysetCursorAndFilter() {
+        for (int i = 0; i < 5; i++) {
+            index.onLobbyEvent(new LobbyEvent(LobbyEvent.Type.OPENED, game("G" + i, i, i % 2 == 0 ? 10 : 8)));
+        }
+
+        LobbyPageDto first = index.page(LobbyFilter.ANY, null, 2);
+        assertThat(first.games()).extracting(LobbyGameDto::gameCode).containsExactly("G0", "G1");
+
+        LobbyPageDto second = index.page(LobbyFilter.ANY, LobbyCursor.decode(first.next()), 2);
+        assertThat(second.games()).extracting(LobbyGameDto::gameCode).containsExactly("G2", "G3");
+
+        LobbyPageDto last = index.page(LobbyFilter.ANY, LobbyCursor.decode(second.next()), 2);
+        assertThat(last.games()).extracting(LobbyGameDto::gameCode).containsExactly("G4");
+        assertThat(last.next()).isNull();
+
+        LobbyPageDto small = index.page(new LobbyFilter(8, 8, null), null, 10);
+        assertThat(small.games()).extracting(LobbyGameDto::gameCode).containsExactly("G1", "G3");
+    }
+
+    @Test
+    void onLobbyEvent_shouldUpdateAndCloseGames_andNotifyFeed() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CompletableFuture<Void> stream = CompletableFuture.runAsync(() -> {
+            try {
+                feed.stream(LobbyFilter.ANY, out);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (feed.getSubscriberCount() == 0) {
+            Thread.sleep(5);
+        }
+
+        index.onLobbyEvent(new LobbyEvent(LobbyEvent.Type.OPENED, game("A", 0, 10)));
+        index.onLobbyEvent(new LobbyEvent(LobbyEvent.Type.UPDATED, game("A", 0, 10, "alice")));
+        assertThat(index.page(LobbyFilter.ANY, null, 10).games())
+                .singleElement().extracting(LobbyGameDto::players).isEqualTo(List.of("alice"));
+
+        index.onLobbyEvent(new LobbyEvent(LobbyEvent.Type.CLOSED, game("A", 0, 10, "alice", "bob")));
+        // schon geschlossen: kein zweites closed im Feed
+        index.onLobbyEvent(new LobbyEvent(LobbyEvent.Type.CLOSED, game("A", 0, 10, "alice", "bob")));
+        assertThat(index.size()).isZero();
+
+        stream.get();
+        String sse = out.toString(StandardCharsets.UTF_8);
+        assertThat(sse).contains("event: opened\ndata: {\"gameCode\":\"A\"", "event: updated\n")
+                .containsOnlyOnce("event: closed\n");
+    }
+
+    private static LobbyGameDto game(String code, int minute, int size, String... players) {
+        return new LobbyGameDto(code, T0.plusSeconds(60L * minute), size, size, "2x2,2x3,1x4,1x5", List.of(players));
+    }
+}
@@ -0,0 +1,154 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import ch.battleship.battleshipbackend.domain.PlayerStatistics;
+import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+import ch.battleship.battleshipbackend.repository.PlayerStatisticsRepository;
+import ch.battleship.battleshipbackend.service.event.GameFinishedEvent;
+import ch.battleship.battleshipbackend.service.event.ShotFiredEvent;
+import ch.battleship.battleshipbackend.service.stats.PlayerStatisticsService;
+import ch.battleship.battleshipbackend.web.api.dto.PlayerStatisticsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PlayerStatisticsServiceTest {
+
+    private PlayerStatisticsRepository repository;
+    private PlayerStatisticsService statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PlayerStatisticsRepository.class);
+        when(repository.findByOrderByWinsDescGamesPlayedAscUsernameAsc(any())).thenReturn(List.of());
+        when(repository.findByUsername(anyString())).thenReturn(Optional.empty());
+        when(repository.findByUsernameIn(anyCollection())).thenReturn(List.of());
+
+        statisticsService = new PlayerStatisticsService(repository, 10);
+        statisticsService.loadLeaderboard(); // sonst via @PostConstruct
+    }
+
+    private ShotFiredEvent shot(String username, ShotResult result) {
+        return new ShotFiredEvent("TEST-CODE", 1, UUID.randomUUID(), UUID.randomUUID(), username,
+                UUID.randomUUID(), 0, 0, result);
+    }
+
+    @Test
+    void onShotFired_shouldCountShotsHitsAndSunk() {
+        statisticsService.onShotFired(shot("Alice", ShotResult.MISS));
+        statisticsService.onShotFired(shot("Alice", ShotResult.HIT));
+        statisticsService.onShotFired(shot("Alice", ShotResult.SUNK));
+        statisticsService.onShotFired(shot("Alice", ShotResult.ALREADY_SHOT));
+
+        PlayerStatisticsDto stats = statisticsService.getStatistics("Alice").orElseThrow();
+
+        assertThat(stats.shotsFired()).isEqualTo(4);
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.sunk()).isEqualTo(1);
+        assertThat(stats.hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void flush_shouldAddDeltasToExistingRow() {
+        when(repository.addDeltas(eq("Alice"), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(1);
+
+        statisticsService.onGameFinished(new GameFinishedEvent("G1", 1, UUID.randomUUID(), "Alice", List.of("Alice")));
+        statisticsService.onShotFired(shot("Alice", ShotResult.HIT));
+        statisticsService.flush();
+
+        verify(repository).addDeltas(eq("Alice"), eq(1L), eq(1L), eq(1L), eq(1L), eq(0L), any());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void flush_shouldInsertRow_whenUsernameIsNew() {
+        when(repository.addDeltas(anyString(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(0);
+
+        statisticsService.onShotFired(shot("Bob", ShotResult.MISS));
+        statisticsService.flush();
+
+        verify(repository).save(argThat(row -> row.getUsername().equals("Bob") && row.getShotsFired() == 1));
+    }
+
+    @Test
+    void flush_shouldNotWriteWhenNothingChanged() {
+        when(repository.addDeltas(anyString(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(1);
+
+        statisticsService.onShotFired(shot("Alice", ShotResult.MISS));
+        statisticsService.flush();
+        statisticsService.flush();
+
+        verify(repository, times(1)).addDeltas(anyString(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void flush_shouldContinueWithOtherPlayers_andRetryFailedDelta() {
+        when(repository.addDeltas(eq("Alice"), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(1);
+        when(repository.addDeltas(eq("Bob"), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(1);
+
+        statisticsService.onShotFired(shot("Alice", ShotResult.HIT));
+        statisticsService.onShotFired(shot("Bob", ShotResult.MISS));
+        statisticsService.flush();
+        statisticsService.flush();
+
+        verify(repository).addDeltas(eq("Bob"), eq(0L), eq(0L), eq(1L), eq(0L), eq(0L), any());
+        verify(repository, times(2)).addDeltas(eq("Alice"), eq(0L), eq(0L), eq(1L), eq(1L), eq(0L), any());
+        // Leaderboard trotz Fehler nachgeladen (einmal in setUp, einmal pro Flush)
+        verify(repository, times(3)).findByOrderByWinsDescGamesPlayedAscUsernameAsc(any());
+    }
+
+    @Test
+    void flush_shouldEvictPlayersWithoutNewEvents() {
+        when(repository.addDeltas(anyString(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(1);
+        PlayerStatistics stored = new PlayerStatistics("Alice");
+        stored.setShotsFired(1);
+        when(repository.findByUsernameIn(anyCollection())).thenReturn(List.of(stored));
+        when(repository.findByUsername("Alice")).thenReturn(Optional.of(stored));
+
+        statisticsService.onShotFired(shot("Alice", ShotResult.MISS));
+        statisticsService.flush();
+        assertThat(statisticsService.getStatistics("Alice")).hasValueSatisfying(s -> assertThat(s.shotsFired()).isEqualTo(1));
+        verify(repository, never()).findByUsername("Alice");
+
+        statisticsService.flush(); // nichts Neues: Eintrag fällt aus dem Speicher
+
+        assertThat(statisticsService.getStatistics("Alice")).hasValueSatisfying(s -> assertThat(s.shotsFired()).isEqualTo(1));
+        verify(repository).findByUsername("Alice");
+    }
+
+    @Test
+    void getLeaderboard_shouldServeSnapshotLoadedOnFlush() {
+        PlayerStatistics bob = new PlayerStatistics("Bob");
+        bob.setWins(2);
+        bob.setGamesPlayed(3);
+        PlayerStatistics alice = new PlayerStatistics("Alice");
+        alice.setWins(1);
+        alice.setGamesPlayed(2);
+        when(repository.findByOrderByWinsDescGamesPlayedAscUsernameAsc(any())).thenReturn(List.of(bob, alice));
+
+        assertThat(statisticsService.getLeaderboard(10)).isEmpty();
+
+        statisticsService.flush();
+
+        List<PlayerStatisticsDto> top = statisticsService.getLeaderboard(1);
+        assertThat(top).extracting(PlayerStatisticsDto::username).containsExactly("Bob");
+        assertThat(top.get(0).winRatio()).isEqualTo(2.0 / 3);
+
+        // weitere Leseanfragen ohne Repository-Zugriff
+        statisticsService.getLeaderboard(10);
+        verify(repository, times(2)).findByOrderByWinsDescGamesPlayedAscUsernameAsc(any());
+    }
+}
@@ -0,0 +1,107 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import ch.battleship.battleshipbackend.datasource.ReadWriteRoutingDataSource;
+import ch.battleship.battleshipbackend.datasource.ReplicaReadPolicy;
+import ch.battleship.battleshipbackend.service.event.GameChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Zwei H2-Datenbanken als Primary und Replica; jede kennt nur ihren eigenen Namen
+class ReadWriteRoutingDataSourceTest {
+
+    private final ReplicaReadPolicy policy = new ReplicaReadPolicy("jdbc:h2:mem:replica", Duration.ofMinutes(1));
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransaction_shouldUseReplica_whenAllowed() {
+        String db = readOnly.execute(status -> {
+            policy.allowReplicaRead("TEST-CODE");
+            return currentDatabase();
+        });
+
+        assertThat(db).isEqualTo("replica");
+    }
+
+    @Test
+    void readOnlyTransaction_shouldUsePrimary_withoutExplicitAllowance() {
+        String db = readOnly.execute(status -> currentDatabase());
+
+        assertThat(db).isEqualTo("primary");
+    }
+
+    @Test
+    void readWriteTransaction_shouldUsePrimary_evenWhenAllowed() {
+        String db = readWrite.execute(status -> {
+            policy.allowReplicaRead("TEST-CODE");
+            return currentDatabase();
+        });
+
+        assertThat(db).isEqualTo("primary");
+    }
+
+    @Test
+    void recentlyChangedGame_shouldBeReadFromPrimary() {
+        policy.onGameChanged(new GameChangedEvent("TEST-CODE"));
+
+        String changed = readOnly.execute(status -> {
+            policy.allowReplicaRead("TEST-CODE");
+            return currentDatabase();
+        });
+        String other = readOnly.execute(status -> {
+            policy.allowReplicaRead("OTHER-CODE");
+            return currentDatabase();
+        });
+
+        assertThat(changed).isEqualTo("primary");
+        assertThat(other).isEqualTo("replica");
+    }
+
+    @Test
+    void allowance_shouldNotLeakIntoNextTransaction() {
+        readOnly.executeWithoutResult(status -> policy.allowReplicaRead("TEST-CODE"));
+
+        String db = readOnly.execute(status -> currentDatabase());
+
+        assertThat(db).isEqualTo("primary");
+    }
+
+    private String currentDatabase() {
+        return jdbc.queryForObject("SELECT name FROM db_name", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE db_name (name VARCHAR(20))");
+        jdbc.update("INSERT INTO db_name VALUES (?)", name);
+        return dataSource;
+    }
+}
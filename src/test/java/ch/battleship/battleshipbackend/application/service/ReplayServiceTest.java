@@ -0,0 +1,141 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import ch.battleship.battleshipbackend.datasource.ReplicaReadPolicy;
+import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+import ch.battleship.battleshipbackend.repository.GameRepository;
+import ch.battleship.battleshipbackend.service.archive.ArchivedGame;
+import ch.battleship.battleshipbackend.service.archive.GameArchiver;
+import ch.battleship.battleshipbackend.service.replay.ReplayService;
+import ch.battleship.battleshipbackend.web.api.dto.PlayerDto;
+import ch.battleship.battleshipbackend.web.api.dto.ReplayEventDto;
+import ch.battleship.battleshipbackend.web.api.dto.ShotDto;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplayServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private GameArchiver archiver;
+
+    @Mock
+    private ReplicaReadPolicy replicaReadPolicy;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReplayService replayService;
+
+    @BeforeEach
+    void setUp() {
+        replayService = new ReplayService(gameRepository, archiver, replicaReadPolicy,
+                JsonMapper.builder().findAndAddModules().build(), transactionManager,
+                2, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void write_shouldPageThroughShots_andNumberEventsInOrder() throws IOException {
+        Instant start = Instant.parse("2026-01-01T10:00:00Z");
+        List<ReplayEventDto> shots = List.of(shot(start), shot(start.plusSeconds(1)), shot(start.plusSeconds(2)));
+        when(gameRepository.existsByGameCode("TEST-CODE")).thenReturn(true);
+        when(gameRepository.streamShotHistory(eq("TEST-CODE"), any(), any(), any(Limit.class)))
+                .thenReturn(shots.subList(0, 2).stream())
+                .thenReturn(Stream.of(shots.get(2)));
+
+        String body = write(false);
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).contains("\"sequence\":1", shots.get(0).shotId().toString());
+        assertThat(lines.get(2)).contains("\"sequence\":3", shots.get(2).shotId().toString());
+        // zweite Seite beginnt nach dem letzten Schuss der ersten
+        verify(gameRepository).streamShotHistory("TEST-CODE", shots.get(1).firedAt(), shots.get(1).shotId(), Limit.of(2));
+        verify(replicaReadPolicy, times(2)).allowReplicaRead("TEST-CODE");
+    }
+
+    @Test
+    void write_shouldFrameServerSentEvents_andEmitEndEvent() throws IOException {
+        when(gameRepository.existsByGameCode("TEST-CODE")).thenReturn(true);
+        when(gameRepository.streamShotHistory(eq("TEST-CODE"), any(), any(), any(Limit.class)))
+                .thenReturn(Stream.of(shot(Instant.now())));
+
+        String body = write(true);
+
+        assertThat(body).startsWith("id: 1\nevent: shot\ndata: {");
+        assertThat(body).endsWith("event: end\ndata: {\"shots\":1}\n\n");
+    }
+
+    @Test
+    void write_shouldReplayArchivedGame_withoutTimestamps() throws IOException {
+        PlayerDto player = new PlayerDto(UUID.randomUUID(), "attacker");
+        UUID boardId = UUID.randomUUID();
+        ShotDto shot = new ShotDto(UUID.randomUUID(), player.id(), boardId, 3, 4, ShotResult.HIT);
+        ArchivedGame archived = new ArchivedGame(UUID.randomUUID(), "TEST-CODE", 1, 10, 10,
+                List.of(player), List.of(new ArchivedGame.Board(boardId, player.id(), List.of())),
+                List.of(new ArchivedGame.TimedShot(shot, null)), player.id());
+        when(gameRepository.existsByGameCode("TEST-CODE")).thenReturn(false);
+        when(archiver.find("TEST-CODE")).thenReturn(Optional.of(archived));
+
+        String body = write(false);
+
+        assertThat(body).contains("\"sequence\":1", shot.id().toString(), "\"firedAt\":null", "\"x\":3");
+        verify(gameRepository, never()).streamShotHistory(any(), any(), any(), any());
+    }
+
+    @Test
+    void write_shouldReplayArchivedGame_atOriginalPace() throws IOException {
+        PlayerDto player = new PlayerDto(UUID.randomUUID(), "attacker");
+        UUID boardId = UUID.randomUUID();
+        Instant start = Instant.parse("2026-01-01T10:00:00.000001Z");
+        ArchivedGame archived = new ArchivedGame(UUID.randomUUID(), "TEST-CODE", 1, 10, 10,
+                List.of(player), List.of(new ArchivedGame.Board(boardId, player.id(), List.of())),
+                List.of(new ArchivedGame.TimedShot(new ShotDto(UUID.randomUUID(), player.id(), boardId, 0, 0, ShotResult.MISS), start),
+                        new ArchivedGame.TimedShot(new ShotDto(UUID.randomUUID(), player.id(), boardId, 1, 0, ShotResult.MISS),
+                                start.plusMillis(400))),
+                player.id());
+        when(gameRepository.existsByGameCode("TEST-CODE")).thenReturn(false);
+        when(archiver.find("TEST-CODE")).thenReturn(Optional.of(archived));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long began = System.nanoTime();
+        replayService.write("TEST-CODE", false, 2.0, out);
+
+        // 400 ms Originalabstand bei doppelter Geschwindigkeit
+        assertThat(Duration.ofNanos(System.nanoTime() - began)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("\"firedAt\":1767261600.000001").doesNotContain("null");
+    }
+
+    private String write(boolean sse) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        replayService.write("TEST-CODE", sse, null, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static ReplayEventDto shot(Instant firedAt) {
+        return new ReplayEventDto(firedAt, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), 1, 2, ShotResult.MISS);
+    }
+}
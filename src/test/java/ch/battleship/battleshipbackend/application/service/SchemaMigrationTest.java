@@ -0,0 +1,239 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import ch.battleship.battleshipbackend.domain.Fleet;
+import ch.battleship.battleshipbackend.domain.ShipPlacement;
+import ch.battleship.battleshipbackend.domain.enums.Orientation;
+import ch.battleship.battleshipbackend.domain.enums.ShipType;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.BitSet;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SchemaMigrationTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.of(2026, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:migration-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void migrate_shouldUpgradeDatabaseFromBeforeFlyway() {
+        legacyDatabase();
+        UUID game = game("WAITING", 0);
+
+        migrate();
+
+        Map<String, Object> row = jdbc.queryForMap("select version, last_activity_at, updated_at from games where id = ?", game);
+        assertThat(row.get("version")).isEqualTo(0L);
+        assertThat(row.get("last_activity_at")).isEqualTo(row.get("updated_at"));
+        assertThat(jdbc.queryForObject("select count(*) from player_statistics", Integer.class)).isZero();
+    }
+
+    @Test
+    void migrate_shouldBackfillRemainingCellsTurnAndWinner() {
+        legacyDatabase();
+        // läuft noch: Bob hat zuletzt auf Alices Board geschossen
+        UUID running = game("RUNNING", 0);
+        UUID alice = player(running, "alice", 1);
+        UUID bob = player(running, "bob", 2);
+        UUID aliceBoard = board(running, alice);
+        UUID bobBoard = board(running, bob);
+        ship(aliceBoard, "CRUISER", 0, 0, 1);
+        ship(bobBoard, "DESTROYER", 0, 0, 1);
+        shot(running, alice, bobBoard, 0, 0, "HIT", 3);
+        shot(running, bob, aliceBoard, 5, 5, "MISS", 4);
+
+        // Daves Flotte ist schon zerstört, das alte Schema kannte kein Spielende
+        UUID over = game("RUNNING", 10);
+        UUID carol = player(over, "carol", 11);
+        UUID dave = player(over, "dave", 12);
+        UUID carolBoard = board(over, carol);
+        UUID daveBoard = board(over, dave);
+        ship(carolBoard, "DESTROYER", 0, 0, 11);
+        ship(daveBoard, "DESTROYER", 0, 0, 12);
+        shot(over, carol, daveBoard, 0, 0, "HIT", 13);
+        shot(over, dave, carolBoard, 9, 9, "MISS", 14);
+        shot(over, carol, daveBoard, 1, 0, "SUNK", 15);
+
+        // noch niemand hat geschossen: der erste Spieler beginnt
+        UUID fresh = game("RUNNING", 20);
+        UUID erin = player(fresh, "erin", 21);
+        player(fresh, "frank", 22);
+
+        migrate();
+
+        assertThat(remainingShipCells(aliceBoard)).isEqualTo(3);
+        assertThat(remainingShipCells(bobBoard)).isEqualTo(1);
+        assertThat(remainingShipCells(daveBoard)).isZero();
+
+        Map<String, Object> runningRow = gameRow(running);
+        assertThat(runningRow.get("status")).isEqualTo("RUNNING");
+        assertThat(runningRow.get("current_turn_player_id")).isEqualTo(alice);
+        assertThat(runningRow.get("winner_player_id")).isNull();
+
+        Map<String, Object> overRow = gameRow(over);
+        assertThat(overRow.get("status")).isEqualTo("FINISHED");
+        assertThat(overRow.get("current_turn_player_id")).isNull();
+        assertThat(overRow.get("winner_player_id")).isEqualTo(carol);
+
+        assertThat(gameRow(fresh).get("current_turn_player_id")).isEqualTo(erin);
+    }
+
+    @Test
+    void migrate_shouldPackShipPlacementsIntoFleetColumn() {
+        legacyDatabase();
+        UUID game = game("WAITING", 0);
+        UUID alice = player(game, "alice", 1);
+        UUID board = board(game, alice);
+        UUID empty = board(game, player(game, "bob", 2));
+        // absichtlich nicht in Einfügereihenfolge erstellt
+        ship(board, "CARRIER", 3, 4, 5);
+        ship(board, "DESTROYER", 0, 0, 2);
+        jdbc.update("update ship_placements set orientation = 'VERTICAL' where x = 3");
+
+        migrate();
+
+        byte[] fleet = jdbc.queryForObject("select fleet from boards where id = ?", byte[].class, board);
+        assertThat(fleet).containsExactly(
+                ShipType.DESTROYER.ordinal() << 1, 0, 0,
+                ShipType.CARRIER.ordinal() << 1 | 1, 3, 4);
+        assertThat(Fleet.decode(fleet)).extracting(p -> p.getShip().getType(), ShipPlacement::getOrientation)
+                .containsExactly(tuple(ShipType.DESTROYER, Orientation.HORIZONTAL),
+                        tuple(ShipType.CARRIER, Orientation.VERTICAL));
+        assertThat(jdbc.queryForObject("select fleet from boards where id = ?", byte[].class, empty)).isEmpty();
+        assertThat(jdbc.queryForObject("select count(*) from information_schema.tables "
+                + "where lower(table_name) in ('ships', 'ship_placements')", Integer.class)).isZero();
+    }
+
+    @Test
+    void migrate_shouldAssignSeatsByJoinOrderAndAlivePlayers() {
+        legacyDatabase();
+        UUID running = game("RUNNING", 0);
+        // in umgekehrter Reihenfolge eingefügt
+        UUID bob = player(running, "bob", 2);
+        UUID alice = player(running, "alice", 1);
+
+        UUID over = game("RUNNING", 10);
+        UUID carol = player(over, "carol", 11);
+        UUID dave = player(over, "dave", 12);
+        UUID carolBoard = board(over, carol);
+        UUID daveBoard = board(over, dave);
+        ship(carolBoard, "DESTROYER", 0, 0, 11);
+        ship(daveBoard, "DESTROYER", 0, 0, 12);
+        shot(over, dave, carolBoard, 0, 0, "HIT", 13);
+        shot(over, dave, carolBoard, 1, 0, "SUNK", 14);
+
+        migrate();
+
+        assertThat(seat(alice)).isZero();
+        assertThat(seat(bob)).isEqualTo(1);
+        assertThat(seat(carol)).isZero();
+        assertThat(seat(dave)).isEqualTo(1);
+
+        Map<String, Object> runningRow = gameRow(running);
+        assertThat(runningRow.get("alive_players")).isEqualTo(0b11L);
+        assertThat(runningRow.get("max_players")).isNull();
+        assertThat(runningRow.get("current_turn_player_id")).isEqualTo(alice);
+        assertThat(gameRow(over).get("alive_players")).isEqualTo(0b10L);
+        assertThat(gameRow(over).get("winner_player_id")).isEqualTo(dave);
+    }
+
+    @Test
+    void migrate_shouldStoreShotCellsPerBoard() {
+        legacyDatabase();
+        UUID game = game("RUNNING", 0);
+        UUID alice = player(game, "alice", 1);
+        UUID bob = player(game, "bob", 2);
+        UUID aliceBoard = board(game, alice);
+        UUID bobBoard = board(game, bob);
+        shot(game, bob, aliceBoard, 1, 0, "MISS", 3);
+        shot(game, bob, aliceBoard, 5, 5, "MISS", 4);
+        shot(game, bob, aliceBoard, 5, 5, "ALREADY_SHOT", 5);
+
+        migrate();
+
+        byte[] cells = jdbc.queryForObject("select shot_cells from boards where id = ?", byte[].class, aliceBoard);
+        // 10×10 = 100 Bits; (1,0) = Bit 1, (5,5) = Bit 55
+        assertThat(cells).hasSize(13);
+        assertThat(BitSet.valueOf(cells).stream()).containsExactly(1, 55);
+        assertThat(jdbc.queryForObject("select shot_cells from boards where id = ?", byte[].class, bobBoard))
+                .hasSize(13).containsOnly(0);
+    }
+
+    // Datenbank auf dem Stand von V1, wie sie vor Flyway per Hibernate entstanden ist
+    private void legacyDatabase() {
+        Flyway.configure().dataSource(dataSource).target("1").load().migrate();
+        jdbc.execute("drop table \"flyway_schema_history\"");
+    }
+
+    // wie im Profil prod: vorhandenes Schema als V1 übernehmen, danach alles Weitere
+    private void migrate() {
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+    }
+
+    private UUID game(String status, int minute) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("insert into games (id, created_at, updated_at, status, game_code, board_width, board_height, "
+                + "fleet_definition) values (?, ?, ?, ?, ?, 10, 10, '2x2')",
+                id, T0.plusMinutes(minute), T0.plusMinutes(minute + 5), status, id.toString().substring(0, 8));
+        return id;
+    }
+
+    private UUID player(UUID game, String username, int minute) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("insert into players (id, created_at, updated_at, username, game_id) values (?, ?, ?, ?, ?)",
+                id, T0.plusMinutes(minute), T0.plusMinutes(minute), username, game);
+        return id;
+    }
+
+    private UUID board(UUID game, UUID owner) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("insert into boards (id, created_at, updated_at, width, height, owner_id, game_id) "
+                + "values (?, ?, ?, 10, 10, ?, ?)", id, T0, T0, owner, game);
+        return id;
+    }
+
+    private void ship(UUID board, String type, int x, int y, int minute) {
+        UUID ship = UUID.randomUUID();
+        jdbc.update("insert into ships (id, created_at, updated_at, type) values (?, ?, ?, ?)",
+                ship, T0.plusMinutes(minute), T0.plusMinutes(minute), type);
+        jdbc.update("insert into ship_placements (id, created_at, updated_at, x, y, orientation, ship_id, board_id) "
+                + "values (?, ?, ?, ?, ?, 'HORIZONTAL', ?, ?)",
+                UUID.randomUUID(), T0.plusMinutes(minute), T0.plusMinutes(minute), x, y, ship, board);
+    }
+
+    private void shot(UUID game, UUID shooter, UUID board, int x, int y, String result, int minute) {
+        jdbc.update("insert into shots (id, created_at, updated_at, x, y, result, shooter_id, target_board_id, game_id) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                UUID.randomUUID(), T0.plusMinutes(minute), T0.plusMinutes(minute), x, y, result, shooter, board, game);
+    }
+
+    private int remainingShipCells(UUID board) {
+        return jdbc.queryForObject("select remaining_ship_cells from boards where id = ?", Integer.class, board);
+    }
+
+    private int seat(UUID player) {
+        return jdbc.queryForObject("select seat from players where id = ?", Integer.class, player);
+    }
+
+    private Map<String, Object> gameRow(UUID game) {
+        return jdbc.queryForMap("select * from games where id = ?", game);
+    }
+}
@@ -0,0 +1,113 @@
+package ch.battleship.battleshipbackend.application.service;
+
+import ch.battleship.battleshipbackend.domain.enums.ShotResult;
+import ch.battleship.battleshipbackend.service.event.ShotFiredEvent;
+import ch.battleship.battleshipbackend.service.spectator.SpectatorHub;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class SpectatorHubTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Executor, der Drain-Tasks erst auf Kommando ausführt (simuliert langsame Clients)
+    private final Queue<Runnable> pendingTasks = new ArrayDeque<>();
+
+    private void runPendingTasks() {
+        Runnable task;
+        while ((task = pendingTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private WebSocketSession openSession() {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    private ShotFiredEvent shot(int sequence) {
+        return new ShotFiredEvent("TEST-CODE", sequence, UUID.randomUUID(), UUID.randomUUID(), "Attacker",
+                UUID.randomUUID(), 1, 2, ShotResult.MISS);
+    }
+
+    private List<JsonNode> sentEvents(WebSocketSession session, int expected) throws Exception {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<WebSocketMessage<?>> captor = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session, times(expected)).sendMessage(captor.capture());
+        return captor.getAllValues().stream()
+                .map(m -> {
+                    ByteBuffer buffer = ((BinaryMessage) m).getPayload();
+                    byte[] bytes = new byte[buffer.remaining()];
+                    buffer.get(bytes);
+                    try {
+                        return objectMapper.readTree(bytes);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+
+    @Test
+    void onShotFired_shouldSendSameEventToAllSubscribers_withoutShipData() throws Exception {
+        SpectatorHub hub = new SpectatorHub(objectMapper, 8, Runnable::run);
+        WebSocketSession first = openSession();
+        WebSocketSession second = openSession();
+        hub.subscribe("TEST-CODE", first);
+        hub.subscribe("TEST-CODE", second);
+
+        hub.onShotFired(shot(1));
+
+        JsonNode a = sentEvents(first, 1).get(0);
+        JsonNode b = sentEvents(second, 1).get(0);
+        assertThat(a).isEqualTo(b);
+        assertThat(a.get("type").asText()).isEqualTo("SHOT");
+        assertThat(a.get("sequence").asInt()).isEqualTo(1);
+        assertThat(a.has("ships")).isFalse();
+    }
+
+    @Test
+    void onShotFired_shouldReplaceBacklogWithResync_whenSubscriberQueueOverflows() throws Exception {
+        SpectatorHub hub = new SpectatorHub(objectMapper, 2, pendingTasks::add);
+        WebSocketSession slow = openSession();
+        hub.subscribe("TEST-CODE", slow);
+
+        // Client liest nicht: 3 Events bei Kapazität 2
+        hub.onShotFired(shot(1));
+        hub.onShotFired(shot(2));
+        hub.onShotFired(shot(3));
+        runPendingTasks();
+
+        List<JsonNode> events = sentEvents(slow, 1);
+        assertThat(events.get(0).get("type").asText()).isEqualTo("RESYNC");
+        assertThat(events.get(0).get("sequence").asInt()).isEqualTo(3);
+    }
+
+    @Test
+    void unsubscribe_shouldStopDelivery() throws Exception {
+        SpectatorHub hub = new SpectatorHub(objectMapper, 8, Runnable::run);
+        WebSocketSession session = openSession();
+        var subscriber = hub.subscribe("TEST-CODE", session);
+
+        hub.unsubscribe("TEST-CODE", subscriber);
+        hub.onShotFired(shot(1));
+
+        assertThat(hub.getSubscriberCount("TEST-CODE")).isZero();
+        verify(session, never()).sendMessage(any());
+    }
+}